@@ -0,0 +1,200 @@
+package com.thepeoplescoder.snake;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.thepeoplescoder.snake.view.views.terminal.ColorEncoder;
+import com.thepeoplescoder.snake.view.views.terminal.TerminalIoEngine;
+import com.thepeoplescoder.snake.view.views.terminal.TerminalView;
+
+/**
+ * The options given on the command line.
+ */
+public class CommandLineConfig
+{
+    /** {@code true} if the game should be played on the terminal instead of a window. */
+    private final boolean terminal;
+    /** How the board is fitted onto the terminal. */
+    private final TerminalIoEngine.Layout terminalLayout;
+    /** How colors are sent to the terminal. */
+    private final ColorEncoder terminalColors;
+    /** {@code true} if the number of bytes sent to the terminal per frame should be reported. */
+    private final boolean measuringTerminalOutput;
+    /** {@code true} if input latency should be reported when the game ends. */
+    private final boolean measuringLatency;
+    /** The localhost port to serve metrics on, or {@code 0} if they shouldn't be served. */
+    private final int metricsPort;
+    /** Where to write a Flight Recorder recording, or {@code null} if there shouldn't be one. */
+    private final String flightRecording;
+    /** {@code true} if the game should quit as soon as its first frame has been shown. */
+    private final boolean exitingAfterFirstFrame;
+    /** {@code true} if the game should only be rehearsed, to train a class data sharing archive. */
+    private final boolean cdsTraining;
+    /** {@code true} if a scratch game should be played headless first, to warm up the JIT. */
+    private final boolean warmingUp;
+    /** The directory to load level files from, or {@code null} if only the built-in levels should be played. */
+    private final String levelDirectory;
+    /** {@code true} if the board should wrap around at its edges instead of being walled in. */
+    private final boolean wrapping;
+    /** How many apples every level starts with. */
+    private final int applesOnBoard;
+    /** How many moving walls every level starts with. */
+    private final int movingWalls;
+
+    private CommandLineConfig(String[] args)
+    {
+        final List<String> options = Arrays.asList(args);
+        terminal = options.contains("--terminal");
+        terminalLayout = options.contains("--half-blocks")
+            ? TerminalIoEngine.Layout.HALF_BLOCKS
+            : TerminalView.DEFAULT_LAYOUT;
+        terminalColors = options.contains("--256-colors")
+            ? ColorEncoder.PALETTE_256
+            : TerminalView.DEFAULT_COLORS;
+        measuringTerminalOutput = options.contains("--frame-stats");
+        measuringLatency = options.contains("--latency-stats");
+        metricsPort = Integer.parseInt(valueOf(options, "--metrics-port", "0"));
+        flightRecording = valueOf(options, "--jfr", null);
+        exitingAfterFirstFrame = options.contains("--exit-after-first-frame");
+        cdsTraining = options.contains("--cds-training");
+        warmingUp = options.contains("--warmup");
+        levelDirectory = valueOf(options, "--levels", null);
+        wrapping = options.contains("--wrap");
+        applesOnBoard = Integer.parseInt(valueOf(options, "--apples", "1"));
+        movingWalls = Integer.parseInt(valueOf(options, "--moving-walls", "0"));
+    }
+
+    /**
+     * @param options The options given on the command line.
+     * @param option An option that takes a value, e.g. {@code --metrics-port 9404}.
+     * @param defaultValue The value to use if the option isn't given.
+     * @return The value of the option.
+     */
+    private static String valueOf(List<String> options, String option, String defaultValue)
+    {
+        final int i = options.indexOf(option);
+        if (i < 0) { return defaultValue; }
+        if (i + 1 >= options.size())
+        {
+            throw new IllegalArgumentException(option + " needs a value.");
+        }
+        return options.get(i + 1);
+    }
+
+    public static CommandLineConfig parse(String[] args)
+    {
+        return new CommandLineConfig(args);
+    }
+
+    /**
+     * @return {@code true} if the game should be played on the terminal instead of a window.
+     */
+    public boolean isTerminal()
+    {
+        return terminal;
+    }
+
+    /**
+     * @return How the board is fitted onto the terminal.
+     */
+    public TerminalIoEngine.Layout getTerminalLayout()
+    {
+        return terminalLayout;
+    }
+
+    /**
+     * @return How colors are sent to the terminal.
+     */
+    public ColorEncoder getTerminalColors()
+    {
+        return terminalColors;
+    }
+
+    /**
+     * @return {@code true} if the number of bytes sent to the terminal per frame should be reported.
+     */
+    public boolean isMeasuringTerminalOutput()
+    {
+        return measuringTerminalOutput;
+    }
+
+    /**
+     * @return {@code true} if input latency should be reported when the game ends.
+     */
+    public boolean isMeasuringLatency()
+    {
+        return measuringLatency;
+    }
+
+    /**
+     * @return The localhost port to serve metrics on, or {@code 0} if they shouldn't be served.
+     */
+    public int getMetricsPort()
+    {
+        return metricsPort;
+    }
+
+    /**
+     * @return Where to write a Flight Recorder recording, or {@code null} if there shouldn't be one.
+     */
+    public String getFlightRecording()
+    {
+        return flightRecording;
+    }
+
+    /**
+     * @return {@code true} if the game should quit as soon as its first frame has been shown.
+     */
+    public boolean isExitingAfterFirstFrame()
+    {
+        return exitingAfterFirstFrame;
+    }
+
+    /**
+     * @return {@code true} if the game should only be rehearsed, to train a class data sharing archive.
+     */
+    public boolean isCdsTraining()
+    {
+        return cdsTraining;
+    }
+
+    /**
+     * @return {@code true} if a scratch game should be played headless first, to warm up the JIT.
+     */
+    public boolean isWarmingUp()
+    {
+        return warmingUp;
+    }
+
+    /**
+     * @return The directory to load level files from, or {@code null} if only the built-in levels should be played.
+     */
+    public String getLevelDirectory()
+    {
+        return levelDirectory;
+    }
+
+    /**
+     * @return {@code true} if the board should wrap around at its edges instead of being walled in.
+     */
+    public boolean isWrapping()
+    {
+        return wrapping;
+    }
+
+    /**
+     * @return How many apples every level starts with.
+     */
+    public int getApplesOnBoard()
+    {
+        return applesOnBoard;
+    }
+
+    /**
+     * @return How many moving walls every level starts with.
+     */
+    public int getMovingWalls()
+    {
+        return movingWalls;
+    }
+}
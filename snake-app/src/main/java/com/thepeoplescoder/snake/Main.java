@@ -0,0 +1,110 @@
+package com.thepeoplescoder.snake;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+
+import com.thepeoplescoder.snake.metrics.MetricsRegistry;
+import com.thepeoplescoder.snake.metrics.MetricsServer;
+import com.thepeoplescoder.snake.metrics.events.FlightRecording;
+import com.thepeoplescoder.snake.state.GameBoard;
+import com.thepeoplescoder.snake.state.GameState;
+import com.thepeoplescoder.snake.state.Level;
+import com.thepeoplescoder.snake.view.GameView;
+import com.thepeoplescoder.snake.view.views.swing.SwingView;
+import com.thepeoplescoder.snake.view.views.terminal.TerminalView;
+
+public class Main implements Runnable
+{
+    private final GameView view;
+
+    public static void main(String[] args)
+    {
+        final CommandLineConfig config = CommandLineConfig.parse(args);
+        if (config.getLevelDirectory() != null)
+        {
+            Level.setDirectory(Paths.get(config.getLevelDirectory()));
+        }
+        if (config.isWrapping())
+        {
+            Level.setTopology(GameBoard.Topology.TOROIDAL);
+        }
+        Level.setApplesOnBoard(config.getApplesOnBoard());
+        Level.setMovingWalls(config.getMovingWalls());
+        if (config.isCdsTraining())
+        {
+            Rehearsal.ofEveryView().play(Rehearsal.CDS_TRAINING_TICKS, null);
+            return;
+        }
+        // Started before the warm-up, so that the recording shows the JIT compiling the
+        // game and what it allocates meanwhile, as well as setting up the initial state.
+        if (config.getFlightRecording() != null)
+        {
+            startFlightRecording(config.getFlightRecording());
+        }
+        if (config.isWarmingUp())
+        {
+            Rehearsal.of(config).play(Shared.Settings.Game.warmupTicks, System.err);
+        }
+        new Main(config).run();
+    }
+
+    private Main(CommandLineConfig config)
+    {
+        view = config.isTerminal()
+            ? new TerminalView(GameState.initial(),
+                config.getTerminalLayout(), config.getTerminalColors(), config.isMeasuringTerminalOutput())
+            : new SwingView(GameState.initial());
+        view.setPrintingStatisticsOnExit(config.isMeasuringLatency());
+        if (config.isExitingAfterFirstFrame())
+        {
+            view.setFirstFrameListener(() -> {
+                System.err.println(Shared.Messages.firstFrameShown);
+                System.exit(0);
+            });
+        }
+        if (config.getMetricsPort() != 0)
+        {
+            serveMetrics(config.getMetricsPort());
+        }
+    }
+
+    /**
+     * Turns on metrics, and serves them at {@code http://localhost:<port>/metrics}.
+     * @param port The port to serve the metrics on.
+     */
+    private void serveMetrics(int port)
+    {
+        final MetricsRegistry registry = new MetricsRegistry();
+        view.enableMetrics(registry);
+        try
+        {
+            MetricsServer.start(registry, port);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("could not serve metrics on port " + port + ".", e);
+        }
+    }
+
+    /**
+     * Starts a Flight Recorder recording with the bundled settings, which is written out on exit.
+     * @param file Where to write the recording.
+     */
+    private static void startFlightRecording(String file)
+    {
+        try
+        {
+            FlightRecording.start(Paths.get(file));
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("could not start recording to " + file + ".", e);
+        }
+    }
+
+    public void run()
+    {
+        view.displayStateSequence();
+    }
+}
\ No newline at end of file
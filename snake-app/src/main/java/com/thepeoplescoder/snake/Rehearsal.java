@@ -0,0 +1,263 @@
+package com.thepeoplescoder.snake;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.thepeoplescoder.snake.cell.Apple;
+import com.thepeoplescoder.snake.input.GameInputEvent;
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.metrics.Histogram;
+import com.thepeoplescoder.snake.state.GameBoard;
+import com.thepeoplescoder.snake.state.GameState;
+import com.thepeoplescoder.snake.state.Snake;
+import com.thepeoplescoder.snake.view.Palette;
+import com.thepeoplescoder.snake.view.views.swing.SwingShared;
+import com.thepeoplescoder.snake.view.views.swing.SwingView;
+import com.thepeoplescoder.snake.view.views.terminal.ColorEncoder;
+import com.thepeoplescoder.snake.view.views.terminal.TerminalIoEngine;
+import com.thepeoplescoder.snake.view.views.terminal.TerminalScreen;
+import com.thepeoplescoder.snake.view.views.terminal.TerminalView;
+
+/**
+ * Plays a scratch game without showing it anywhere: ticking, steering, eating, crashing
+ * and restarting, and drawing every tick offscreen the way the real views would.<p>
+ *
+ * This is done for two reasons:
+ * <ul>
+ * <li>To load the classes a real game needs.  Running it under {@code -XX:ArchiveClassesAtExit}
+ *     (see the {@code cds} profile in the {@code snake-app} pom) records them into a class
+ *     data sharing archive, which the game can then start from.</li>
+ * <li>To warm up the JIT before the real game is shown ({@code --warmup}), so that
+ *     {@link GameState#nextState()} and the paint path are compiled by the first real frame,
+ *     instead of stuttering through the first seconds of play in the interpreter.</li>
+ * </ul>
+ */
+final class Rehearsal
+{
+    /** How many ticks {@code --cds-training} plays. */
+    static final int CDS_TRAINING_TICKS = 200;
+
+    /** How many ticks each line of the log covers. */
+    private static final int TICKS_PER_REPORT = 500;
+
+    /** On average, how many ticks go by between random turns. */
+    private static final int TICKS_PER_TURN = 8;
+
+    /** The input that turns the {@link Snake} in each of {@link IntVector2#DIRECTIONS}, in the same order. */
+    private static final GameInputEvent[] TURNS = {
+        GameInputEvent.Action.moveRight, GameInputEvent.Action.moveDown,
+        GameInputEvent.Action.moveLeft, GameInputEvent.Action.moveUp,
+    };
+
+    /** Picks the turns, the same ones every time. */
+    private final Random random = new Random(0);
+
+    /** The scratch game. */
+    private GameState state = GameState.initial();
+
+    /** Draws {@link #state} onto {@link #image}, or {@code null} if the window isn't rehearsed. */
+    private final SwingView swing;
+    /** What {@link #swing} draws onto. */
+    private final BufferedImage image;
+
+    /** Owns {@link #terminalEngines}, or {@code null} if the terminal isn't rehearsed. */
+    private final TerminalView terminal;
+    /** Draw {@link #state} onto screens whose output is thrown away. */
+    private final List<TerminalIoEngine> terminalEngines = new ArrayList<>();
+
+    /**
+     * @param inWindow {@code true} to draw the way the window does.
+     * @param layouts The ways of drawing on the terminal to rehearse; none for none.
+     * @param encoders The ways of sending colors to the terminal to rehearse, with each of the {@code layouts}.
+     */
+    private Rehearsal(boolean inWindow, TerminalIoEngine.Layout[] layouts, ColorEncoder[] encoders)
+    {
+        if (inWindow)
+        {
+            swing = new SwingView(state);
+            final Dimension pixels = swing.getPixelDimensions();
+            image = new BufferedImage(pixels.width, pixels.height, BufferedImage.TYPE_INT_RGB);
+        }
+        else
+        {
+            swing = null;
+            image = null;
+        }
+
+        terminal = layouts.length > 0 ? new TerminalView(state) : null;
+        final IntVector2 boardSize = state.getBoard().getSize();
+        for (TerminalIoEngine.Layout layout : layouts)
+        {
+            for (ColorEncoder colors : encoders)
+            {
+                final TerminalScreen screen = new TerminalScreen(layout.columnsFor(boardSize), layout.rowsFor(boardSize),
+                    Channels.newChannel(new ByteArrayOutputStream()), colors);
+                terminalEngines.add(new TerminalIoEngine(terminal, screen, layout, null));
+            }
+        }
+    }
+
+    /**
+     * @return A {@link Rehearsal} that draws every way the game can be drawn.
+     */
+    static Rehearsal ofEveryView()
+    {
+        return new Rehearsal(true, TerminalIoEngine.Layout.values(), ColorEncoder.values());
+    }
+
+    /**
+     * @param config The options given on the command line.
+     * @return A {@link Rehearsal} that only draws the way the game about to be played will be drawn.
+     */
+    static Rehearsal of(CommandLineConfig config)
+    {
+        return config.isTerminal()
+            ? new Rehearsal(false, new TerminalIoEngine.Layout[] { config.getTerminalLayout() },
+                new ColorEncoder[] { config.getTerminalColors() })
+            : new Rehearsal(true, new TerminalIoEngine.Layout[0], new ColorEncoder[0]);
+    }
+
+    /**
+     * Plays the scratch game, drawing every tick.
+     * @param ticks How many ticks to play.
+     * @param log Where to print how long ticks and frames took, every {@link #TICKS_PER_REPORT}
+     *            ticks, or {@code null} if nowhere.
+     */
+    void play(int ticks, PrintStream log)
+    {
+        Histogram tickNanos = new Histogram();
+        Histogram frameNanos = new Histogram();
+        int firstReported = 1;
+
+        for (int tick = 1; tick <= ticks; tick++)
+        {
+            steer();
+
+            long start = System.nanoTime();
+            state = state.nextState();
+            tickNanos.record(System.nanoTime() - start);
+
+            start = System.nanoTime();
+            draw();
+            frameNanos.record(System.nanoTime() - start);
+
+            if (log != null && (tick % TICKS_PER_REPORT == 0 || tick == ticks))
+            {
+                log.println("warm-up ticks " + firstReported + "-" + tick + ": " +
+                    "tick " + describe(tickNanos) + ", frame " + describe(frameNanos));
+                tickNanos = new Histogram();
+                frameNanos = new Histogram();
+                firstReported = tick + 1;
+            }
+        }
+    }
+
+    /**
+     * Queues the input for the next tick: playing again after a crash, turning away from
+     * whatever is straight ahead, and now and then turning towards the nearest {@link Apple},
+     * or somewhere else at random if that isn't safe.
+     */
+    private void steer()
+    {
+        if (state.isGameOver())
+        {
+            state.queueInputEvent(GameInputEvent.Action.playAgain);
+            return;
+        }
+
+        final Snake snake = state.getSnake();
+        if (isSafe(snake.getHead().plus(snake.getDirection())) && random.nextInt(TICKS_PER_TURN) != 0)
+        {
+            return;
+        }
+
+        final List<IntVector2> directions = new ArrayList<>(IntVector2.DIRECTIONS);
+        final Apple nearest = state.getBoard().getAppleIndex().nearestTo(snake.getHead());
+        if (nearest != null)
+        {
+            final IntVector2 towards = nearest.getPosition().minus(snake.getHead());
+            for (int d = 0; d < TURNS.length; d++)
+            {
+                final IntVector2 direction = directions.get(d);
+                if (direction.getX() * towards.getX() + direction.getY() * towards.getY() > 0 &&
+                    snake.isValidDirection(direction) && isSafe(snake.getHead().plus(direction)))
+                {
+                    state.queueInputEvent(TURNS[d]);
+                    return;
+                }
+            }
+        }
+
+        final int first = random.nextInt(TURNS.length);
+        for (int i = 0; i < TURNS.length; i++)
+        {
+            final int d = (first + i) % TURNS.length;
+            final IntVector2 direction = directions.get(d);
+            if (snake.isValidDirection(direction) && isSafe(snake.getHead().plus(direction)))
+            {
+                state.queueInputEvent(TURNS[d]);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param position A position on the board.
+     * @return {@code true} if moving there next doesn't crash.
+     */
+    private boolean isSafe(IntVector2 position)
+    {
+        final GameBoard board = state.getBoard();
+        return board.isInBounds(position) && !board.isWall(position) && !state.getSnake().contains(position);
+    }
+
+    /**
+     * Draws {@link #state} with every view being rehearsed.
+     */
+    private void draw()
+    {
+        if (swing != null)
+        {
+            swing.setGameState(state);
+            final Graphics2D g = image.createGraphics();
+            try
+            {
+                g.setColor(SwingShared.Colors.of(Palette.BACKGROUND));
+                g.fillRect(0, 0, image.getWidth(), image.getHeight());
+                swing.drawCurrentStateOn(g);
+            }
+            finally
+            {
+                g.dispose();
+            }
+        }
+
+        if (terminal != null)
+        {
+            terminal.setGameState(state);
+            for (TerminalIoEngine engine : terminalEngines)
+            {
+                engine.beginFrame();
+                state.draw(engine);
+                engine.endFrame();
+            }
+        }
+    }
+
+    /**
+     * @param h A histogram of nanoseconds.
+     * @return A one-line summary of it, in milliseconds.
+     */
+    private static String describe(Histogram h)
+    {
+        return String.format("p50=%.3fms p99=%.3fms max=%.3fms",
+            h.getPercentile(50) / 1e6, h.getPercentile(99) / 1e6, h.getMax() / 1e6);
+    }
+}
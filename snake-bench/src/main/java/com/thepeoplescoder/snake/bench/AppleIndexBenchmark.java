@@ -0,0 +1,125 @@
+package com.thepeoplescoder.snake.bench;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.thepeoplescoder.snake.cell.Apple;
+import com.thepeoplescoder.snake.cell.Cell;
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.state.AppleIndex;
+import com.thepeoplescoder.snake.state.GameBoard;
+import com.thepeoplescoder.snake.state.Snake;
+
+/**
+ * Boards with many {@link Apple}s on them: finding the nearest one through the
+ * {@link AppleIndex}, and by looking at every {@link Cell} on the board, finding the ones
+ * in an 80x80 viewport, and eating one and putting a new one down.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AppleIndexBenchmark
+{
+    /** The width and height of the board. */
+    @Param({ "1024" })
+    public int size;
+
+    /** The number of apples on the board. */
+    @Param({ "10", "1000", "100000" })
+    public int apples;
+
+    /** The width and height of the viewport. */
+    private static final int VIEWPORT = 80;
+
+    /** The number of positions {@link #from} cycles through. */
+    private static final int POSITIONS = 1024;
+
+    private GameBoard board;
+
+    /** A snake in the top left corner, for {@link #eatAndRespawn()} to keep clear of. */
+    private final Snake snake = Snake.baby(IntVector2.I, IntVector2.of(2, 1), IntVector2.of(1, 1));
+
+    /** Random positions to measure from. */
+    private final IntVector2[] from = new IntVector2[POSITIONS];
+
+    private int next = 0;
+
+    @Setup
+    public void fillBoard()
+    {
+        final Random random = new Random(Boards.SEED);
+        board = new GameBoard(IntVector2.of(size, size), Collections.<IntVector2>emptySet());
+        while (board.getAppleIndex().getAppleCount() < apples)
+        {
+            final IntVector2 pos = IntVector2.of(random.nextInt(size), random.nextInt(size));
+            if (board.isEmptyCell(pos) && !snake.contains(pos))
+            {
+                board.putCell(Apple.with().positionAs(pos).pointsAs(100).growthAmountAs(5).make());
+            }
+        }
+        for (int i = 0; i < POSITIONS; i++)
+        {
+            from[i] = IntVector2.of(random.nextInt(size), random.nextInt(size));
+        }
+    }
+
+    /**
+     * @return The next of the positions to measure from.
+     */
+    private IntVector2 from()
+    {
+        next = (next + 1) & (POSITIONS - 1);
+        return from[next];
+    }
+
+    @Benchmark
+    public Apple nearest()
+    {
+        return board.getAppleIndex().nearestTo(from());
+    }
+
+    @Benchmark
+    public Apple nearestByScan()
+    {
+        final IntVector2 pos = from();
+        return board.cells()
+            .filter(cell -> cell instanceof Apple)
+            .map(cell -> (Apple)cell)
+            .min(Comparator.comparingInt((Apple apple) ->
+                Math.abs(apple.getPosition().getX() - pos.getX()) + Math.abs(apple.getPosition().getY() - pos.getY())))
+            .orElse(null);
+    }
+
+    @Benchmark
+    public void viewport(Blackhole bh)
+    {
+        final IntVector2 pos = from();
+        board.getAppleIndex().forEachWithin(pos.getX(), pos.getY(),
+            pos.getX() + VIEWPORT - 1, pos.getY() + VIEWPORT - 1, bh::consume);
+    }
+
+    @Benchmark
+    public int eatAndRespawn()
+    {
+        board.eatApple(board.getAppleIndex().nearestTo(from()));
+        return board.respawnEatenApples(snake);
+    }
+}
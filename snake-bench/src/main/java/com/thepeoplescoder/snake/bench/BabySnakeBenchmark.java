@@ -0,0 +1,63 @@
+package com.thepeoplescoder.snake.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thepeoplescoder.snake.Shared;
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.state.GameBoard;
+import com.thepeoplescoder.snake.state.Snake;
+import com.thepeoplescoder.snake.state.SpawnIndex;
+
+/**
+ * How {@link GameBoard#babySnake()}, which picks a safe spot for a new {@link Snake} from
+ * the board's {@link SpawnIndex}, copes with bigger boards and denser walls, and how long
+ * building the {@link SpawnIndex} takes the first time a board needs one.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BabySnakeBenchmark
+{
+    /** The width and height of the board. */
+    @Param({ "40", "256", "1024" })
+    public int size;
+
+    /** The fraction of the board covered by walls.  At 0.5, a 40x40 board has no room for a new {@link Snake}. */
+    @Param({ "0.0", "0.15", "0.3" })
+    public double wallDensity;
+
+    private GameBoard board;
+
+    @Setup
+    public void makeBoard()
+    {
+        board = new GameBoard(IntVector2.of(size, size), Boards.randomWalls(size, wallDensity));
+    }
+
+    @Benchmark
+    public Snake babySnake()
+    {
+        return board.babySnake();
+    }
+
+    @Benchmark
+    public SpawnIndex buildSpawnIndex()
+    {
+        return new SpawnIndex(board, Shared.Settings.Game.initialSafetySpaces + 1);
+    }
+}
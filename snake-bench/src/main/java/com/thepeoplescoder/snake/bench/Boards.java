@@ -0,0 +1,109 @@
+package com.thepeoplescoder.snake.bench;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.state.GameBoard;
+
+/**
+ * Builds the boards that the benchmarks run on.
+ */
+final class Boards
+{
+    /** The seed for the positions of random walls, so that every run benchmarks the same boards. */
+    static final long SEED = 0x5EEDL;
+
+    private Boards() {}
+
+    /**
+     * @param size The width and height of the board.
+     * @return The positions of a square board's bounding walls.
+     */
+    static Set<IntVector2> boundingWalls(int size)
+    {
+        return GameBoard.boundingWalls(IntVector2.of(size, size));
+    }
+
+    /**
+     * Walls around the edge of a square board, and randomly placed ones inside it.
+     * @param size The width and height of the board.
+     * @param density The fraction of the cells inside the bounding walls that are walls,
+     *                from {@code 0} to {@code 1}.
+     * @return The positions of the walls.
+     */
+    static Set<IntVector2> randomWalls(int size, double density)
+    {
+        return randomWalls(size, density, Collections.<IntVector2>emptySet());
+    }
+
+    /**
+     * Walls around the edge of a square board, and randomly placed ones inside it,
+     * leaving some positions clear.
+     * @param size The width and height of the board.
+     * @param density The fraction of the cells inside the bounding walls that are walls,
+     *                from {@code 0} to {@code 1}.  There are fewer if not enough cells are left.
+     * @param clear The positions that must not be walls, e.g. where a {@link com.thepeoplescoder.snake.state.Snake} is.
+     * @return The positions of the walls.
+     */
+    static Set<IntVector2> randomWalls(int size, double density, Set<IntVector2> clear)
+    {
+        final int interior = (size - 2) * (size - 2);
+        final List<IntVector2> inside = new ArrayList<>(interior);
+        for (int y = 1; y < size - 1; y++)
+        {
+            for (int x = 1; x < size - 1; x++)
+            {
+                final IntVector2 pos = IntVector2.of(x, y);
+                if (!clear.contains(pos))
+                {
+                    inside.add(pos);
+                }
+            }
+        }
+        Collections.shuffle(inside, new Random(SEED));
+
+        final Set<IntVector2> walls = boundingWalls(size);
+        walls.addAll(inside.subList(0, Math.min(inside.size(), (int)(interior * density))));
+        return walls;
+    }
+
+    /**
+     * Positions going back and forth along the rows inside a square board's bounding walls,
+     * starting at the top left, e.g. for a long {@link com.thepeoplescoder.snake.state.Snake}.
+     * @param size The width and height of the board.
+     * @param length How many positions to make; at most {@code (size - 2) * (size - 2)}.
+     * @return The positions, each one next to the one before it.
+     */
+    static List<IntVector2> serpentine(int size, int length)
+    {
+        final int width = size - 2;
+        final List<IntVector2> positions = new ArrayList<>(length);
+        for (int i = 0; i < length; i++)
+        {
+            final int row = i / width;
+            final int column = row % 2 == 0 ? i % width : width - 1 - i % width;
+            positions.add(IntVector2.of(1 + column, 1 + row));
+        }
+        return positions;
+    }
+
+    /**
+     * @param size The width and height of the board.
+     * @param n How many positions to make.
+     * @return Random positions on a square board.
+     */
+    static IntVector2[] randomPositions(int size, int n)
+    {
+        final Random random = new Random(SEED + 1);
+        final IntVector2[] positions = new IntVector2[n];
+        for (int i = 0; i < n; i++)
+        {
+            positions[i] = IntVector2.of(random.nextInt(size), random.nextInt(size));
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,86 @@
+package com.thepeoplescoder.snake.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thepeoplescoder.snake.cell.Cell;
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.state.GameBoard;
+
+/**
+ * Looking up cells on a {@link GameBoard}, by vector and by coordinates, at random positions.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBoardBenchmark
+{
+    /** The number of random positions cycled through; a power of two. */
+    private static final int POSITIONS = 4096;
+
+    /** The width and height of the board. */
+    @Param({ "40", "1024" })
+    public int size;
+
+    /** The fraction of the board covered by walls. */
+    @Param({ "0.2" })
+    public double wallDensity;
+
+    private GameBoard board;
+    private IntVector2[] positions;
+    private int i = 0;
+
+    @Setup
+    public void makeBoard()
+    {
+        board = new GameBoard(IntVector2.of(size, size), Boards.randomWalls(size, wallDensity));
+        positions = Boards.randomPositions(size, POSITIONS);
+    }
+
+    /** @return The next random position. */
+    private IntVector2 next()
+    {
+        i = (i + 1) & (POSITIONS - 1);
+        return positions[i];
+    }
+
+    @Benchmark
+    public Cell getCellByVector()
+    {
+        return board.getCell(next());
+    }
+
+    @Benchmark
+    public Cell getCellByCoordinates()
+    {
+        final IntVector2 pos = next();
+        return board.getCell(pos.getX(), pos.getY());
+    }
+
+    @Benchmark
+    public boolean isWallByVector()
+    {
+        return board.isWall(next());
+    }
+
+    @Benchmark
+    public boolean isWallByCoordinates()
+    {
+        final IntVector2 pos = next();
+        return board.isWall(pos.getX(), pos.getY());
+    }
+}
@@ -0,0 +1,63 @@
+package com.thepeoplescoder.snake.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thepeoplescoder.snake.math.IntVector2;
+
+/**
+ * How {@link IntVector2#of(int, int)} scales with the number of cached vectors.
+ * The cache is global, so every set of parameters runs in its own fork.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntVector2Benchmark
+{
+    /** How many vectors are cached before measuring. */
+    @Param({ "5", "1000", "10000", "100000" })
+    public int cacheSize;
+
+    /** Cycles through the x components that are looked up. */
+    private int i = 0;
+
+    @Setup
+    public void cacheVectors()
+    {
+        // Row y = -1 is never part of a board, so it doesn't collide with anything looked up below.
+        for (int x = 0; x < cacheSize; x++)
+        {
+            IntVector2.of(x, -1).cache();
+        }
+    }
+
+    /** Looks up a vector that is in the cache. */
+    @Benchmark
+    public IntVector2 cached()
+    {
+        i = (i + 1) % cacheSize;
+        return IntVector2.of(i, -1);
+    }
+
+    /** Makes a vector that isn't in the cache, which has to be allocated. */
+    @Benchmark
+    public IntVector2 uncached()
+    {
+        i = (i + 1) % cacheSize;
+        return IntVector2.of(i, 1);
+    }
+}
@@ -0,0 +1,95 @@
+package com.thepeoplescoder.snake.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.state.Level;
+import com.thepeoplescoder.snake.state.LevelFile;
+
+/**
+ * How long it takes to load a {@link LevelFile} with randomly placed walls, and to turn it
+ * into a {@link Level} ready to be played, as the level grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class LevelFileBenchmark
+{
+    /** The width and height of the level. */
+    @Param({ "1024", "4096", "8192" })
+    public int size;
+
+    /** The fraction of the level covered by walls. */
+    @Param({ "0.2" })
+    public double wallDensity;
+
+    /** How many spawn hints the level has. */
+    private static final int SPAWN_HINTS = 64;
+
+    private Path file;
+
+    @Setup
+    public void writeLevel() throws IOException
+    {
+        final Random random = new Random(Boards.SEED);
+        final BitSet walls = new BitSet(size * size);
+        for (int y = 0; y < size; y++)
+        {
+            for (int x = 0; x < size; x++)
+            {
+                final boolean edge = x == 0 || y == 0 || x == size - 1 || y == size - 1;
+                if (edge || random.nextDouble() < wallDensity) { walls.set(y * size + x); }
+            }
+        }
+
+        final List<LevelFile.SpawnHint> hints = new ArrayList<>();
+        for (int n = 0; n < SPAWN_HINTS; n++)
+        {
+            hints.add(new LevelFile.SpawnHint(IntVector2.of(1 + random.nextInt(size - 2), 1 + random.nextInt(size - 2)), null));
+        }
+
+        file = Files.createTempFile("snake-bench-", ".level");
+        LevelFile.with().sizeAs(IntVector2.of(size, size)).wallsAs(walls).spawnHintsAs(hints).make().write(file);
+    }
+
+    @TearDown
+    public void deleteLevel() throws IOException
+    {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public LevelFile read() throws IOException
+    {
+        return LevelFile.read(file);
+    }
+
+    @Benchmark
+    public Level load() throws IOException
+    {
+        return Level.of(LevelFile.read(file), 2);
+    }
+}
@@ -0,0 +1,69 @@
+package com.thepeoplescoder.snake.bench;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.state.GameBoard;
+import com.thepeoplescoder.snake.state.LevelGenerator;
+
+/**
+ * How many boards a {@link LevelGenerator} makes up a second, in each style, as the board
+ * grows, on the common {@link java.util.concurrent.ForkJoinPool}.  Each board gets a new seed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class LevelGeneratorBenchmark
+{
+    /** The width and height of the board. */
+    @Param({ "256", "1024", "4096" })
+    public int size;
+
+    /** The kind of layout. */
+    @Param({ "PLUSES", "ROOMS", "MAZE" })
+    public LevelGenerator.Style style;
+
+    /** The fraction of the board covered by walls. */
+    @Param({ "0.2" })
+    public double wallDensity;
+
+    private LevelGenerator.Builder generator;
+    private long seed = Boards.SEED;
+
+    @Setup
+    public void makeGenerator()
+    {
+        generator = LevelGenerator.with()
+            .sizeAs(IntVector2.of(size, size))
+            .styleAs(style)
+            .densityAs(wallDensity);
+    }
+
+    @Benchmark
+    public BitSet walls()
+    {
+        return generator.seedAs(seed++).make().generateWalls();
+    }
+
+    @Benchmark
+    public GameBoard board()
+    {
+        return generator.seedAs(seed++).make().generate();
+    }
+}
@@ -0,0 +1,130 @@
+package com.thepeoplescoder.snake.bench;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thepeoplescoder.snake.cell.MovingWall;
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.state.GameBoard;
+import com.thepeoplescoder.snake.state.GameState;
+import com.thepeoplescoder.snake.state.Snake;
+
+/**
+ * An open world wrapping around at its edges, with {@link MovingWall}s patrolling it:
+ * ticking the game while they move, with the {@link com.thepeoplescoder.snake.state.SpawnIndex}
+ * kept up to date as they do, and checking whether the {@link Snake} has crashed, as the
+ * game does, and by looking through every {@link MovingWall} instead.<p>
+ *
+ * The {@link Snake} goes straight on along the top row, which the {@link MovingWall}s keep
+ * clear of, so the game never ends.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class MovingWallBenchmark
+{
+    /** The width and height of the board. */
+    @Param({ "1024" })
+    public int size;
+
+    /** The number of {@link MovingWall}s on the board. */
+    @Param({ "10", "1000", "10000" })
+    public int walls;
+
+    /** The most steps from one end of a patrol to the other. */
+    private static final int SPAN = 6;
+
+    /** The most ticks between steps. */
+    private static final int PERIOD = 4;
+
+    /** The current state of the game. */
+    private GameState state;
+
+    @Setup
+    public void startGame()
+    {
+        final Random random = new Random(Boards.SEED);
+        final List<IntVector2> directions = new ArrayList<>(IntVector2.DIRECTIONS);
+        final GameBoard board = new GameBoard(IntVector2.of(size, size),
+            Collections.<IntVector2>emptySet(), GameBoard.Topology.TOROIDAL);
+        board.getSpawnIndex();
+
+        final Snake snake = Snake.baby(IntVector2.I, IntVector2.of(2, 0), IntVector2.of(1, 0));
+        board.placeSnake(snake);
+        state = GameState.startWith(board, snake);
+
+        for (int n = 0; n < walls; )
+        {
+            final IntVector2 direction = directions.get(random.nextInt(directions.size()));
+            final IntVector2 origin = IntVector2.of(random.nextInt(size), 1 + random.nextInt(size - 1));
+            if (!isClear(board, origin, direction)) { continue; }
+
+            final MovingWall wall = MovingWall.with()
+                .originAs(origin)
+                .directionAs(direction)
+                .spanAs(SPAN)
+                .periodAs(1 + random.nextInt(PERIOD))
+                .stepAs(random.nextInt(2 * SPAN))
+                .make();
+            board.putCell(wall);
+            state.schedulePatrolOf(wall);
+            n++;
+        }
+    }
+
+    /**
+     * @param board The board.
+     * @param origin One end of a patrol.
+     * @param direction The direction to its other end.
+     * @return {@code true} if the whole patrol is on empty cells of the board, below its top row.
+     */
+    private static boolean isClear(GameBoard board, IntVector2 origin, IntVector2 direction)
+    {
+        for (int i = 0; i <= SPAN; i++)
+        {
+            final IntVector2 pos = origin.plus(direction.times(i));
+            if (pos.getY() < 1 || !board.isEmptyCell(pos)) { return false; }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public GameState nextState()
+    {
+        state = state.nextState();
+        return state;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean isGameOver()
+    {
+        return state.isGameOver();
+    }
+
+    @Benchmark
+    public boolean isGameOverByScan()
+    {
+        final IntVector2 head = state.getSnake().getHead();
+        return state.getBoard().cells()
+            .anyMatch(cell -> cell instanceof MovingWall && cell.getPosition().equals(head));
+    }
+}
@@ -0,0 +1,70 @@
+package com.thepeoplescoder.snake.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.state.GameBoard;
+import com.thepeoplescoder.snake.state.GameState;
+import com.thepeoplescoder.snake.state.Snake;
+
+/**
+ * How {@link GameState#nextState()} scales with the size of the {@link GameBoard}.<p>
+ *
+ * The board has no apples, since eating the last one moves on to the next level,
+ * swapping in that level's (already built) {@link GameBoard} and {@link Snake} in place of
+ * the ones being measured.  Instead, the {@link Snake} turns clockwise whenever it is about
+ * to run into a wall, so it keeps going around the board forever.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NextStateBenchmark
+{
+    /** The width and height of the board. */
+    @Param({ "40", "256", "1024" })
+    public int size;
+
+    /** The current state of the game. */
+    private GameState state;
+
+    @Setup
+    public void startGame()
+    {
+        state = GameState.startWith(IntVector2.of(size, size), Boards.boundingWalls(size));
+    }
+
+    @Benchmark
+    public GameState nextState()
+    {
+        final GameBoard board = state.getBoard();
+        final Snake snake = state.getSnake();
+        final IntVector2 direction = snake.getDirection();
+        final IntVector2 ahead = snake.getHead().plus(direction);
+        if (!board.isInBounds(ahead) || board.isWall(ahead))
+        {
+            state = state.withSnake(snake.withDirection(IntVector2.of(-direction.getY(), direction.getX())));
+        }
+
+        state = state.nextState();
+        if (state.isGameOver())
+        {
+            startGame();
+        }
+        return state;
+    }
+}
@@ -0,0 +1,63 @@
+package com.thepeoplescoder.snake.bench;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.state.GameBoard;
+import com.thepeoplescoder.snake.state.GameState;
+import com.thepeoplescoder.snake.state.Snake;
+
+/**
+ * How {@link GameState#getRandomEmptyCell()}, which picks random positions until one is
+ * empty, slows down as the board fills up.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RandomEmptyCellBenchmark
+{
+    /** The width and height of the board. */
+    @Param({ "256" })
+    public int size;
+
+    /** The fraction of the board covered by walls. */
+    @Param({ "0.1", "0.5", "0.9", "0.99" })
+    public double fillRatio;
+
+    private GameState state;
+
+    @Setup
+    public void startGame()
+    {
+        // A crowded board has no room for GameBoard.babySnake(),
+        // so the snake is put in the top left corner instead.
+        final IntVector2 head = IntVector2.of(2, 1);
+        final IntVector2 tail = IntVector2.of(1, 1);
+        final Set<IntVector2> walls = Boards.randomWalls(size, fillRatio);
+        walls.remove(head);
+        walls.remove(tail);
+        state = GameState.startWith(new GameBoard(IntVector2.of(size, size), walls), Snake.baby(IntVector2.I, head, tail));
+    }
+
+    @Benchmark
+    public IntVector2 getRandomEmptyCell()
+    {
+        return state.getRandomEmptyCell();
+    }
+}
@@ -0,0 +1,116 @@
+package com.thepeoplescoder.snake.bench;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thepeoplescoder.snake.Shared;
+import com.thepeoplescoder.snake.cell.Apple;
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.state.GameBoard;
+import com.thepeoplescoder.snake.state.GameState;
+import com.thepeoplescoder.snake.state.Snake;
+import com.thepeoplescoder.snake.view.Palette;
+import com.thepeoplescoder.snake.view.views.swing.SwingIoEngine;
+import com.thepeoplescoder.snake.view.views.swing.SwingShared;
+import com.thepeoplescoder.snake.view.views.swing.SwingView;
+
+/**
+ * The cost of drawing one frame with {@link SwingIoEngine}, on an offscreen {@link BufferedImage}
+ * instead of a window, so that it runs headless.<p>
+ *
+ * Every frame goes through {@link SwingView#drawCurrentStateOn(java.awt.Graphics)}, exactly like
+ * the game's window, and shows the same {@link GameState}, so what is measured is the steady
+ * state of the renderer and its caches.  The board is viewed either the way the game starts
+ * ({@code fit}: scrolling at the default scale if it doesn't fit), or zoomed all the way out
+ * ({@code whole}), which switches large boards to their level of detail rendering.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Djava.awt.headless=true", "-Xmx2g" })
+@State(Scope.Thread)
+public class RenderBenchmark
+{
+    /** The width and height of the board. */
+    @Param({ "40", "256", "1024" })
+    public int size;
+
+    /** The fraction of the board covered by walls, besides the bounding walls. */
+    @Param({ "0.0", "0.2" })
+    public double wallDensity;
+
+    /**
+     * The fraction of the space inside the bounding walls taken up by the {@link Snake},
+     * e.g. {@code 0.5} on a 40x40 board is a length of 722.  {@code 0} is a new {@link Snake}.
+     */
+    @Param({ "0.0", "0.1", "0.5" })
+    public double snakeFill;
+
+    /** How the board is viewed: {@code fit} or {@code whole}. */
+    @Param({ "fit", "whole" })
+    public String zoom;
+
+    private SwingView view;
+    private BufferedImage image;
+
+    @Setup
+    public void startGame()
+    {
+        final int length = Math.max(2, (int)((size - 2) * (size - 2) * snakeFill));
+        final List<IntVector2> body = Boards.serpentine(size, length);
+        final Snake snake = Snake.along(IntVector2.MINUS_I, body);
+        final GameBoard board = new GameBoard(IntVector2.of(size, size),
+            Boards.randomWalls(size, wallDensity, new HashSet<>(body)));
+        board.placeSnake(snake);
+
+        final GameState state = GameState.startWith(board, snake);
+        board.putCell(Apple.with().positionAs(state.getRandomEmptyCell())
+            .pointsAs(100)
+            .growthAmountAs(Shared.Settings.Game.growthStepsPerApple)
+            .make());
+
+        view = new SwingView(state);
+        if (zoom.equals("whole"))
+        {
+            view.getCamera().zoomTo(0, board.getSize());
+        }
+
+        final Dimension pixels = view.getPixelDimensions();
+        image = new BufferedImage(pixels.width, pixels.height, BufferedImage.TYPE_INT_RGB);
+    }
+
+    /** Clears the image, the way Swing clears a window before painting it, and draws a frame. */
+    @Benchmark
+    public BufferedImage drawFrame()
+    {
+        final Graphics2D g = image.createGraphics();
+        try
+        {
+            g.setColor(SwingShared.Colors.of(Palette.BACKGROUND));
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            view.drawCurrentStateOn(g);
+        }
+        finally
+        {
+            g.dispose();
+        }
+        return image;
+    }
+}
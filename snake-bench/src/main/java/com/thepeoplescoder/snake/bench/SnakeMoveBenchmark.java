@@ -0,0 +1,63 @@
+package com.thepeoplescoder.snake.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.state.Snake;
+
+/**
+ * How {@link Snake#move()} scales with the length of the {@link Snake}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class SnakeMoveBenchmark
+{
+    /** The width of the area the {@link Snake} is coiled up in. */
+    private static final int WIDTH = 1024;
+
+    /** The length of the {@link Snake}. */
+    @Param({ "10", "1000", "100000", "1000000" })
+    public int length;
+
+    /** The {@link Snake} that is moved. */
+    private Snake snake;
+
+    @Setup
+    public void makeSnake()
+    {
+        // Back and forth along rows, starting at the top left, with the head heading off to the left.
+        final List<IntVector2> body = new ArrayList<>(length);
+        for (int i = 0; i < length; i++)
+        {
+            final int row = i / WIDTH;
+            final int column = row % 2 == 0 ? i % WIDTH : WIDTH - 1 - i % WIDTH;
+            body.add(IntVector2.of(column, row));
+        }
+        snake = Snake.along(IntVector2.MINUS_I, body);
+    }
+
+    /** Moves the same {@link Snake} forward every time, since every move copies its whole body anyway. */
+    @Benchmark
+    public Snake move()
+    {
+        return snake.move();
+    }
+}
@@ -0,0 +1,155 @@
+package com.thepeoplescoder.snake.bench;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.thepeoplescoder.snake.Shared;
+
+/**
+ * Measures how long the game takes from starting its JVM to showing its first frame,
+ * by starting the executable jar with {@code --exit-after-first-frame} over and over,
+ * and printing the results as CSV.<p>
+ *
+ * Each run is timed from just before its JVM is started until it prints
+ * {@link Shared.Messages#firstFrameShown}.  The game is started three ways:
+ * without class data sharing ({@code -Xshare:off}), with only the JDK's own archive
+ * (the default), and with the game's AppCDS archive, if there is one.  Standard input
+ * and output are handed to the game, so {@code --terminal} runs need a terminal, and
+ * window runs need a display.  Options:
+ * <ul>
+ * <li>{@code --jar snake-app/target/snake-1.0-SNAPSHOT.jar}: the game.</li>
+ * <li>{@code --archive snake-app/target/snake.jsa}: the game's AppCDS archive.</li>
+ * <li>{@code --runs 10}: how many times to start the game each way.</li>
+ * <li>{@code --game "--terminal"}: options to start the game with.</li>
+ * </ul>
+ */
+public class StartupBenchmark
+{
+    /** The columns of the CSV. */
+    static final String CSV_HEADER = "sharing,runs,minMillis,medianMillis,maxMillis";
+
+    /** How many seconds a run may take before it is given up on. */
+    private static final long TIMEOUT_SECONDS = 60;
+
+    public static void main(String[] args) throws IOException, InterruptedException
+    {
+        final List<String> options = Arrays.asList(args);
+        final String jar = valueOf(options, "--jar", "snake-app/target/snake-1.0-SNAPSHOT.jar");
+        final String archive = valueOf(options, "--archive", "snake-app/target/snake.jsa");
+        final int runs = Integer.parseInt(valueOf(options, "--runs", "10"));
+        final String game = valueOf(options, "--game", "");
+
+        System.out.println(CSV_HEADER);
+        System.out.println(measure("off", runs, jar, game, "-Xshare:off"));
+        System.out.println(measure("jdk", runs, jar, game));
+        if (new File(archive).isFile())
+        {
+            System.out.println(measure("app", runs, jar, game, "-XX:SharedArchiveFile=" + archive));
+        }
+        else
+        {
+            System.err.println("no AppCDS archive at " + archive + "; build with mvn package -Pcds, on a JDK 13 or later, to get one.");
+        }
+    }
+
+    /**
+     * Starts the game a number of times, the same way each time.
+     * @param sharing What to call this way of starting the game in the CSV.
+     * @param runs How many times to start it.
+     * @param jar The game.
+     * @param game Options to start the game with, separated by spaces.
+     * @param jvmOptions Options to start its JVM with.
+     * @return The CSV row of the timings.
+     */
+    private static String measure(String sharing, int runs, String jar, String game, String... jvmOptions)
+        throws IOException, InterruptedException
+    {
+        final List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(Arrays.asList(jvmOptions));
+        command.add("-jar");
+        command.add(jar);
+        command.add("--exit-after-first-frame");
+        if (!game.trim().isEmpty())
+        {
+            command.addAll(Arrays.asList(game.trim().split("\\s+")));
+        }
+
+        final List<Double> millis = new ArrayList<>();
+        for (int i = 0; i < runs; i++)
+        {
+            System.err.println(sharing + ": run " + (i + 1) + " of " + runs + "...");
+            millis.add(timeToFirstFrame(command));
+        }
+        Collections.sort(millis);
+        return String.format("%s,%d,%.1f,%.1f,%.1f",
+            sharing, runs, millis.get(0), millis.get(millis.size() / 2), millis.get(millis.size() - 1));
+    }
+
+    /**
+     * Starts the game once.
+     * @param command How to start it.
+     * @return How many milliseconds it took to show its first frame.
+     */
+    private static double timeToFirstFrame(List<String> command) throws IOException, InterruptedException
+    {
+        final long start = System.nanoTime();
+        final Process process = new ProcessBuilder(command)
+            .redirectInput(ProcessBuilder.Redirect.INHERIT)
+            .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+            .start();
+
+        long shown = -1;
+        final List<String> errors = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8)))
+        {
+            String line;
+            while ((line = in.readLine()) != null)
+            {
+                if (shown < 0 && line.equals(Shared.Messages.firstFrameShown))
+                {
+                    shown = System.nanoTime();
+                }
+                else
+                {
+                    errors.add(line);
+                }
+            }
+        }
+
+        if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+        {
+            process.destroyForcibly().waitFor();
+        }
+        if (shown < 0)
+        {
+            throw new IllegalStateException("the game never showed a frame: " + String.join("\n", errors));
+        }
+        return (shown - start) / 1e6;
+    }
+
+    /**
+     * @param options The options given on the command line.
+     * @param option An option that takes a value, e.g. {@code --runs 10}.
+     * @param defaultValue The value to use if the option isn't given.
+     * @return The value of the option.
+     */
+    private static String valueOf(List<String> options, String option, String defaultValue)
+    {
+        final int i = options.indexOf(option);
+        if (i < 0) { return defaultValue; }
+        if (i + 1 >= options.size())
+        {
+            throw new IllegalArgumentException(option + " needs a value.");
+        }
+        return options.get(i + 1);
+    }
+}
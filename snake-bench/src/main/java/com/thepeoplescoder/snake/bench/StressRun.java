@@ -0,0 +1,326 @@
+package com.thepeoplescoder.snake.bench;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+import com.thepeoplescoder.snake.cell.Wall;
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.metrics.GameMetrics;
+import com.thepeoplescoder.snake.state.GameBoard;
+import com.thepeoplescoder.snake.state.GameState;
+import com.thepeoplescoder.snake.state.Snake;
+
+/**
+ * One run of the {@link StressTest}: sets up a board and a {@link Snake}, ticks the game
+ * headless for a while, and prints one CSV row of measurements.<p>
+ *
+ * The board has walls around it, and a band of randomly placed, plus shaped obstacles
+ * along the bottom, walled off from the rest.  The {@link Snake} lies along a cycle that
+ * visits every cell above the band (along the top row, back and forth across the rows
+ * below it, and back up the leftmost column), and is steered along it every tick, so it
+ * never crashes, however much of the board it fills.  There are no apples, since eating
+ * the last one of a level moves on to the next level, whose {@link GameBoard} and
+ * {@link Snake} would replace the ones being measured; spawning them is measured
+ * separately, by picking random empty cells the way a new apple does.<p>
+ *
+ * Arguments: the width (and height) of the board, which must be even, the fraction of the
+ * cycle the {@link Snake} takes up, and how many seconds to tick for.
+ */
+public class StressRun
+{
+    /** The names of the columns printed. */
+    static final String CSV_HEADER = "size,fill,snakeLength,walls,status,setupMillis,ticks,ticksPerSecond," +
+        "allocatedBytesPerTick,gcMillis,gcCount,stateRetainedBytes,bytesPerAdditionalState,spawnsPerSecond";
+
+    /** The fraction of the rows inside the bounding walls that the cycle runs through. */
+    private static final double CYCLE_ROWS = 7.0 / 8.0;
+    /** The fraction of the obstacle band's cells that obstacles are centered on. */
+    private static final double OBSTACLE_DENSITY = 1.0 / 16.0;
+    /** How many states are kept alive at once, to measure what each one costs. */
+    private static final int STATES_KEPT = 4;
+    /** For how long, at most, random empty cells are picked. */
+    private static final long SPAWN_NANOS = GameMetrics.NANOS_PER_SECOND;
+
+    /** The width and height of the board. */
+    private final int size;
+    /** The x coordinate of the rightmost column inside the bounding walls. */
+    private final int right;
+    /** The y coordinate of the bottom row of the cycle; always even. */
+    private final int bottom;
+
+    /**
+     * @param size The width and height of the board; even, and at least 8.
+     */
+    private StressRun(int size)
+    {
+        this.size = size;
+        this.right = size - 2;
+        this.bottom = Math.max(2, (int)((size - 2) * CYCLE_ROWS) & ~1);
+    }
+
+    public static void main(String[] args)
+    {
+        final int size = Integer.parseInt(args[0]);
+        final double fill = Double.parseDouble(args[1]);
+        final double seconds = Double.parseDouble(args[2]);
+        if (size < 8 || size % 2 != 0)
+        {
+            throw new IllegalArgumentException("the size must be even, and at least 8.");
+        }
+        System.out.println(new StressRun(size).run(fill, (long)(seconds * GameMetrics.NANOS_PER_SECOND)));
+    }
+
+    /**
+     * @param fill The fraction of the cycle the {@link Snake} takes up.
+     * @param tickNanos How long to tick for.
+     * @return The CSV row of measurements.
+     */
+    private String run(double fill, long tickNanos)
+    {
+        warmUp();
+        final long setupStart = System.nanoTime();
+
+        final int length = Math.max(2, Math.min(cycleLength() - 1, (int)(cycleLength() * fill)));
+        GameState state = setUp(length);
+        final int wallCount = wallCount(state.getBoard());
+        final long setupMillis = (System.nanoTime() - setupStart) / 1_000_000;
+
+        // Tick for as long as we were told to.
+        final long gcMillisBefore = gcMillis(), gcCountBefore = gcCount();
+        final long allocatedBefore = GameMetrics.currentThreadAllocatedBytes();
+        final long tickStart = System.nanoTime();
+        long ticks = 0;
+        String status = "ok";
+        while (System.nanoTime() - tickStart < tickNanos)
+        {
+            state = steer(state).nextState();
+            ticks++;
+            if (state.isGameOver())
+            {
+                status = "crashed";
+                break;
+            }
+        }
+        final double tickSeconds = (double)(System.nanoTime() - tickStart) / GameMetrics.NANOS_PER_SECOND;
+        final long allocated = allocatedBefore < 0 ? -1 : GameMetrics.currentThreadAllocatedBytes() - allocatedBefore;
+        final long gcMillis = gcMillis() - gcMillisBefore, gcCount = gcCount() - gcCountBefore;
+
+        // Keep a few consecutive states alive; each one holds on to its own copy of the snake.
+        final List<GameState> kept = new ArrayList<>(STATES_KEPT);
+        kept.add(state);
+        final long oneState = usedHeapAfterGc();
+        while (kept.size() < STATES_KEPT && !state.isGameOver())
+        {
+            state = steer(state).nextState();
+            kept.add(state);
+        }
+        final long perAdditionalState = (usedHeapAfterGc() - oneState) / Math.max(1, kept.size() - 1);
+        kept.clear();
+
+        // Pick random empty cells the way a new apple does, for up to a second.
+        final long spawnStart = System.nanoTime();
+        long spawns = 0;
+        while (System.nanoTime() - spawnStart < SPAWN_NANOS)
+        {
+            state.getRandomEmptyCell();
+            spawns++;
+        }
+        final double spawnSeconds = (double)(System.nanoTime() - spawnStart) / GameMetrics.NANOS_PER_SECOND;
+
+        // Whatever is freed by letting go of the last state (and everything it shares with
+        // the ones before it, like the board) is what a single state retains.
+        state = null;
+        final long stateRetained = oneState - usedHeapAfterGc();
+
+        return String.format(Locale.ROOT, "%d,%s,%d,%d,%s,%d,%d,%.1f,%d,%d,%d,%d,%d,%.1f",
+            size, fill, length, wallCount, status, setupMillis, ticks, ticks / tickSeconds,
+            allocated < 0 || ticks == 0 ? -1 : allocated / ticks, gcMillis, gcCount,
+            stateRetained, perAdditionalState, spawns / spawnSeconds);
+    }
+
+    /**
+     * @param length The length of the {@link Snake}.
+     * @return A new game on this run's board, with a {@link Snake} of the given length lying along the cycle.
+     */
+    private GameState setUp(int length)
+    {
+        final Snake snake = snakeAlongCycle(length);
+        final GameBoard board = new GameBoard(IntVector2.of(size, size), walls());
+        board.placeSnake(snake);
+        return GameState.startWith(board, snake);
+    }
+
+    /**
+     * @param board A {@link GameBoard}.
+     * @return The number of {@link Wall}s on it.
+     */
+    private static int wallCount(GameBoard board)
+    {
+        return (int)board.cells().filter(cell -> cell instanceof Wall).count();
+    }
+
+    /**
+     * Sets up and ticks a tiny game, so that the classes involved are loaded and initialized
+     * before heap usage is measured.
+     */
+    private static void warmUp()
+    {
+        final StressRun tiny = new StressRun(8);
+        final GameState state = tiny.setUp(2);
+        wallCount(state.getBoard());
+        tiny.steer(state).nextState().getRandomEmptyCell();
+    }
+
+    /**
+     * @param size The width and height of the board.
+     * @param fill The fraction of the board the {@link Snake} was to take up.
+     * @param status Why the run didn't produce any measurements.
+     * @return A CSV row with no measurements.
+     */
+    static String failedRow(int size, double fill, String status)
+    {
+        return String.format(Locale.ROOT, "%d,%s,,,%s,,,,,,,,,", size, fill, status);
+    }
+
+    /**
+     * @return The number of cells on the cycle.
+     */
+    private int cycleLength()
+    {
+        return right * bottom;
+    }
+
+    /**
+     * The cycle the {@link Snake} travels along: right along the top row, then back and forth
+     * across the rows below it (leaving out the leftmost column), and back up the leftmost
+     * column.  The number of rows is even, so the last row ends next to the leftmost column.
+     * @param x The x coordinate of a cell on the cycle.
+     * @param y The y coordinate of a cell on the cycle.
+     * @return The next cell on the cycle.
+     */
+    private IntVector2 next(int x, int y)
+    {
+        if (y == 1)
+        {
+            return x < right ? IntVector2.of(x + 1, 1) : IntVector2.of(right, 2);
+        }
+        if (x == 1)
+        {
+            return IntVector2.of(1, y - 1);
+        }
+        if (y % 2 == 0)
+        {
+            if (x > 2)      { return IntVector2.of(x - 1, y); }
+            return y < bottom ? IntVector2.of(2, y + 1) : IntVector2.of(1, bottom);
+        }
+        return x < right ? IntVector2.of(x + 1, y) : IntVector2.of(right, y + 1);
+    }
+
+    /**
+     * @param length The length of the {@link Snake}.
+     * @return A {@link Snake} lying along the cycle, from the top left corner onwards,
+     *         heading along it.
+     */
+    private Snake snakeAlongCycle(int length)
+    {
+        final List<IntVector2> body = new ArrayList<>(length);
+        IntVector2 pos = IntVector2.of(1, 1);
+        for (int i = 0; i < length; i++)
+        {
+            body.add(pos);
+            pos = next(pos.getX(), pos.getY());
+        }
+        Collections.reverse(body);
+        return Snake.along(pos.minus(body.get(0)), body);
+    }
+
+    /**
+     * @param state A {@link GameState}.
+     * @return The {@link GameState}, with its {@link Snake} turned to keep following the cycle.
+     */
+    private GameState steer(GameState state)
+    {
+        final Snake snake = state.getSnake();
+        final IntVector2 head = snake.getHead();
+        final IntVector2 direction = next(head.getX(), head.getY()).minus(head);
+        return direction.equals(snake.getDirection()) ? state : state.withSnake(snake.withDirection(direction));
+    }
+
+    /**
+     * @return The positions of the walls: around the board, between the cycle and the
+     *         obstacle band, and the obstacles.
+     */
+    private Set<IntVector2> walls()
+    {
+        final Set<IntVector2> walls = GameBoard.boundingWalls(IntVector2.of(size, size));
+        final int divider = bottom + 1;
+        for (int x = 1; x <= right; x++)
+        {
+            walls.add(IntVector2.of(x, divider));
+        }
+
+        final int bandTop = divider + 1, bandBottom = size - 2;
+        if (bandTop > bandBottom) { return walls; }
+
+        final Random random = new Random(Boards.SEED);
+        final int obstacles = (int)(right * (bandBottom - bandTop + 1) * OBSTACLE_DENSITY);
+        for (int i = 0; i < obstacles; i++)
+        {
+            final IntVector2 center = IntVector2.of(1 + random.nextInt(right), bandTop + random.nextInt(bandBottom - bandTop + 1));
+            walls.add(center);
+            for (IntVector2 d : IntVector2.DIRECTIONS)
+            {
+                final IntVector2 arm = center.plus(d);
+                if (arm.getX() >= 1 && arm.getX() <= right && arm.getY() >= bandTop && arm.getY() <= bandBottom)
+                {
+                    walls.add(arm);
+                }
+            }
+        }
+        return walls;
+    }
+
+    /**
+     * @return The total time spent on garbage collection so far, in milliseconds.
+     */
+    private static long gcMillis()
+    {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    /**
+     * @return The number of garbage collections so far.
+     */
+    private static long gcCount()
+    {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    /**
+     * @return The number of bytes in use on the heap, after collecting as much garbage as possible.
+     */
+    private static long usedHeapAfterGc()
+    {
+        for (int i = 0; i < 3; i++)
+        {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
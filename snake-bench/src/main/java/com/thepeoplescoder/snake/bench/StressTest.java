@@ -0,0 +1,150 @@
+package com.thepeoplescoder.snake.bench;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds out where the game falls over, by running it headless on ever larger boards
+ * with ever longer {@link com.thepeoplescoder.snake.state.Snake}s, and printing the
+ * results as a CSV scaling curve.<p>
+ *
+ * Every combination of board size and fill ratio is run by a {@link StressRun} in a JVM
+ * of its own, so one run's garbage doesn't slow down the next, and a run that takes too
+ * long or runs out of memory still shows up in the curve, as {@code timeout} or
+ * {@code out-of-memory}.  Options:
+ * <ul>
+ * <li>{@code --sizes 40,256,1024}: the widths (and heights) of the boards; even numbers.</li>
+ * <li>{@code --fills 0.1,0.5,0.95}: how much of the board's free space the snake takes up.</li>
+ * <li>{@code --seconds 3}: how long each run ticks for, once it is set up.</li>
+ * <li>{@code --timeout 120}: how many seconds each run may take altogether.</li>
+ * <li>{@code --heap 4g}: the maximum heap size of each run.</li>
+ * </ul>
+ */
+public class StressTest
+{
+    /** The board sizes tried, if none are given. */
+    private static final String DEFAULT_SIZES = "40,64,128,256,512,1024,2048,4096,8192";
+    /** The fill ratios tried, if none are given. */
+    private static final String DEFAULT_FILLS = "0.1,0.25,0.5,0.75,0.95";
+
+    /** The exit code of a JVM started with {@code -XX:+ExitOnOutOfMemoryError} that ran out of memory. */
+    private static final int OUT_OF_MEMORY_EXIT_CODE = 3;
+
+    public static void main(String[] args) throws IOException, InterruptedException
+    {
+        final List<String> options = Arrays.asList(args);
+        final String[] sizes = valueOf(options, "--sizes", DEFAULT_SIZES).split(",");
+        final String[] fills = valueOf(options, "--fills", DEFAULT_FILLS).split(",");
+        final String seconds = valueOf(options, "--seconds", "3");
+        final long timeout = Long.parseLong(valueOf(options, "--timeout", "120"));
+        final String heap = valueOf(options, "--heap", "4g");
+
+        System.out.println(StressRun.CSV_HEADER);
+        for (String size : sizes)
+        {
+            for (String fill : fills)
+            {
+                System.err.println("board " + size + "x" + size + ", snake filling " + fill + "...");
+                System.out.println(run(size.trim(), fill.trim(), seconds, timeout, heap));
+                System.out.flush();
+            }
+        }
+    }
+
+    /**
+     * Runs a {@link StressRun} in a JVM of its own.
+     * @param size The width and height of the board.
+     * @param fill How much of the board's free space the snake takes up.
+     * @param seconds How long to tick for.
+     * @param timeout How many seconds the run may take altogether.
+     * @param heap The maximum heap size of the JVM.
+     * @return The run's CSV row, or one saying why there isn't one.
+     */
+    private static String run(String size, String fill, String seconds, long timeout, String heap)
+        throws IOException, InterruptedException
+    {
+        final List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("-Xmx" + heap);
+        command.add("-XX:+ExitOnOutOfMemoryError");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(StressRun.class.getName());
+        command.add(size);
+        command.add(fill);
+        command.add(seconds);
+
+        final Process process = new ProcessBuilder(command)
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+        final List<String> output = new ArrayList<>();
+        final Thread reader = new Thread(() -> {
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8)))
+            {
+                String line;
+                while ((line = in.readLine()) != null)
+                {
+                    synchronized (output) { output.add(line); }
+                }
+            }
+            catch (IOException e)
+            {
+                // The process was killed; whatever was read so far is all there is.
+            }
+        });
+        reader.start();
+
+        final String status;
+        if (!process.waitFor(timeout, TimeUnit.SECONDS))
+        {
+            process.destroyForcibly().waitFor();
+            status = "timeout";
+        }
+        else if (process.exitValue() == OUT_OF_MEMORY_EXIT_CODE)
+        {
+            status = "out-of-memory";
+        }
+        else if (process.exitValue() != 0)
+        {
+            status = "failed (exit code " + process.exitValue() + ")";
+        }
+        else
+        {
+            status = null;
+        }
+        reader.join();
+
+        synchronized (output)
+        {
+            if (status == null && !output.isEmpty())
+            {
+                return output.get(output.size() - 1);
+            }
+        }
+        return StressRun.failedRow(Integer.parseInt(size), Double.parseDouble(fill), status == null ? "no output" : status);
+    }
+
+    /**
+     * @param options The options given on the command line.
+     * @param option An option that takes a value, e.g. {@code --seconds 3}.
+     * @param defaultValue The value to use if the option isn't given.
+     * @return The value of the option.
+     */
+    private static String valueOf(List<String> options, String option, String defaultValue)
+    {
+        final int i = options.indexOf(option);
+        if (i < 0) { return defaultValue; }
+        if (i + 1 >= options.size())
+        {
+            throw new IllegalArgumentException(option + " needs a value.");
+        }
+        return options.get(i + 1);
+    }
+}
@@ -0,0 +1,106 @@
+package com.thepeoplescoder.snake.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thepeoplescoder.snake.state.TimingWheel;
+
+/**
+ * One tick with a number of timed effects running, each lasting up to {@link #MAX_TICKS}
+ * ticks, and starting again as soon as it is over: on a {@link TimingWheel}, and by counting
+ * every effect down on every tick, which is what queueing a game event per effect per tick
+ * would amount to.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimingWheelBenchmark
+{
+    /** The number of effects running. */
+    @Param({ "100", "10000", "1000000" })
+    public int effects;
+
+    /** The longest an effect lasts, in ticks. */
+    private static final int MAX_TICKS = 1000;
+
+    /** The number of entries in {@link #lifetimes}. */
+    private static final int LIFETIMES = 4096;
+
+    /** How long each effect lasts, picked from in turn. */
+    private final int[] lifetimes = new int[LIFETIMES];
+    private int nextLifetime = 0;
+
+    private TimingWheel<Integer> wheel;
+
+    /** How many ticks each effect has left, for {@link #countdown()}. */
+    private int[] remaining;
+
+    @Setup
+    public void startEffects()
+    {
+        final Random random = new Random(Boards.SEED);
+        for (int i = 0; i < LIFETIMES; i++)
+        {
+            lifetimes[i] = 1 + random.nextInt(MAX_TICKS);
+        }
+        wheel = new TimingWheel<>();
+        remaining = new int[effects];
+        for (int i = 0; i < effects; i++)
+        {
+            wheel.schedule(lifetime(), i);
+            remaining[i] = lifetime();
+        }
+    }
+
+    /**
+     * @return How long the next effect lasts.
+     */
+    private int lifetime()
+    {
+        nextLifetime = (nextLifetime + 1) & (LIFETIMES - 1);
+        return lifetimes[nextLifetime];
+    }
+
+    @Benchmark
+    public int wheel()
+    {
+        int fired = 0;
+        wheel.advance();
+        for (Integer effect = wheel.pollDue(); effect != null; effect = wheel.pollDue())
+        {
+            wheel.schedule(lifetime(), effect);
+            fired++;
+        }
+        return fired;
+    }
+
+    @Benchmark
+    public int countdown()
+    {
+        int fired = 0;
+        for (int i = 0; i < remaining.length; i++)
+        {
+            if (--remaining[i] == 0)
+            {
+                remaining[i] = lifetime();
+                fired++;
+            }
+        }
+        return fired;
+    }
+}
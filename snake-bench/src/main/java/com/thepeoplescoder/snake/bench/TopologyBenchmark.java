@@ -0,0 +1,90 @@
+package com.thepeoplescoder.snake.bench;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.state.GameBoard;
+import com.thepeoplescoder.snake.state.GameState;
+import com.thepeoplescoder.snake.state.Snake;
+
+/**
+ * An open world, walled in ({@link GameBoard.Topology#BOUNDED}), or wrapping around at its
+ * edges instead ({@link GameBoard.Topology#TOROIDAL}): how long it takes to build its
+ * {@link GameBoard}, and to tick the game on it.<p>
+ *
+ * On the walled board, the {@link Snake} turns clockwise whenever it is about to run into
+ * a wall, the same as in {@link NextStateBenchmark}; on the wrapping one, it goes straight
+ * on across the seams.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class TopologyBenchmark
+{
+    /** The width and height of the board. */
+    @Param({ "1024", "8192" })
+    public int size;
+
+    /** How the edges of the board behave. */
+    @Param({ "BOUNDED", "TOROIDAL" })
+    public GameBoard.Topology topology;
+
+    /** The walls of the board: its bounding walls, or none at all. */
+    private Set<IntVector2> walls;
+
+    /** The current state of the game. */
+    private GameState state;
+
+    @Setup
+    public void startGame()
+    {
+        walls = topology == GameBoard.Topology.BOUNDED
+            ? Boards.boundingWalls(size)
+            : Collections.<IntVector2>emptySet();
+        state = GameState.startWith(newBoard());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public GameBoard newBoard()
+    {
+        return new GameBoard(IntVector2.of(size, size), walls, topology);
+    }
+
+    @Benchmark
+    public GameState nextState()
+    {
+        final GameBoard board = state.getBoard();
+        final Snake snake = state.getSnake();
+        final IntVector2 direction = snake.getDirection();
+        final IntVector2 ahead = snake.getHead().plus(direction);
+        if (!board.isToroidal() && (!board.isInBounds(ahead) || board.isWall(ahead)))
+        {
+            state = state.withSnake(snake.withDirection(IntVector2.of(-direction.getY(), direction.getX())));
+        }
+
+        state = state.nextState();
+        if (state.isGameOver())
+        {
+            state = GameState.startWith(newBoard());
+        }
+        return state;
+    }
+}
@@ -1,11 +1,7 @@
 package com.thepeoplescoder.snake;
 
-import java.awt.Color;
-import java.awt.Font;
 import java.util.Random;
 
-import com.thepeoplescoder.snake.view.views.swing.LazyFont;
-
 public class Shared
 {
     public static final Random random = new Random();
@@ -23,7 +19,16 @@ public class Shared
             public static final int initialSafetySpaces = 10;
             public static final int delayMillis = 100;
             public static final int growthStepsPerApple = 5;
-            public static final int applesPerLevel = 999;
+            public static final int applesPerLevel = 10;
+            public static final int lives = 3;
+            public static final int spawnIndexMaxCells = 1 << 20;
+            public static final int respawnSamples = 1000;
+            public static final int appleBucketSize = 16;
+            public static final int appleSizes = 3;
+            public static final int bonusAppleLifetime = 200;
+            public static final int movingWallSpan = 6;
+            public static final int movingWallPeriod = 3;
+            public static final int warmupTicks = 3000;
             public static class Board
             {
                 public static final int width = 40;
@@ -33,54 +38,40 @@ public class Shared
 
         public static class View
         {
+            public static final int occupancyBaseMaxSide = 1024;
+            public static final int minimapMinimumBoardSide = 128;
             public static class Swing
             {
                 public static final int cellToPixelScale = 12;
                 public static final int cellWidth = cellToPixelScale;
                 public static final int cellHeight = cellToPixelScale;
                 public static final int scoreHeight = 20;
+                public static final int minimapSize = 160;
+                public static final int minimapMargin = 8;
+                public static final int maxViewportWidth = 960;
+                public static final int maxViewportHeight = 960;
+                public static final double maxZoomScale = 48;
+                public static final double zoomStep = 1.25;
+                public static final double levelOfDetailThreshold = 4;
+                public static final int headMarkerSize = 5;
+                public static final long scaledImageCacheBytes = 64L << 20;
             }
             public static class Terminal
             {
+                public static final int columnsPerCell = 2;
+                public static final boolean halfBlocks = false;
+                public static final boolean trueColor = true;
             }
         }
     }
 
-    public static class Colors
-    {
-        public static final Color snakeHead = Color.green;
-        public static final Color snakeTail = snakeHead.darker();
-        public static final Color background = Color.black;
-        public static final Color wall = Color.blue;
-        public static final Color apple = Color.red;
-        public static final Color grid = background;
-        public static final Color scoreColor = Color.yellow.brighter();
-        public static final Color gameOverColor = Color.red;
-        public static final Color littleGameOverColor = Color.cyan.brighter();
-    }
-
-    public static class Fonts
-    {
-        public static class LazyLoaded
-        {
-            // Use LazyFont instead of Font so that the fonts
-            // aren't loaded if they aren't needed.
-
-            public static final LazyFont little =
-                new LazyFont().nameAs("Monospaced").styleAs(Font.PLAIN).sizeAs(20);
-            public static final LazyFont big =
-                new LazyFont().nameAs("Monospaced").styleAs(Font.BOLD).sizeAs(50);
-
-            public static final LazyFont score = little;
-            public static final LazyFont gameOver = big;
-            public static final LazyFont littleGameOver = little;
-        }
-    }
-
     public static class Messages
     {
         public static final String gameOver = "Game Over!";
 
+        /** Printed to standard error by {@code --exit-after-first-frame}, for startup benchmarks to wait for. */
+        public static final String firstFrameShown = "snake: first frame shown";
+
         /**
          * Some insulting game over messages.
          * I was playing a bit of Risk of Rain 2 when I wrote this,
@@ -1,11 +1,9 @@
 package com.thepeoplescoder.snake.cell;
 
-import java.awt.Color;
-
 import com.thepeoplescoder.snake.math.IntVector2;
-import com.thepeoplescoder.snake.Shared;
 import com.thepeoplescoder.snake.state.GameState;
 import com.thepeoplescoder.snake.view.IoEngine;
+import com.thepeoplescoder.snake.view.Palette;
 
 /**
  * A class representing an apple.<br>
@@ -20,6 +18,8 @@ public class Apple extends Cell
     private final int points;
     /** The number of growth steps a {@link Snake} will go through upon eating this {@link Apple}. */
     private final int growthAmount;
+    /** The number of ticks this {@link Apple} stays in place uneaten, or {@code 0} for as long as it takes. */
+    private final int lifetime;
 
     /**
      * Constructs a new {@link Apple}.  Deliberately private to avoid direct
@@ -32,6 +32,7 @@ public class Apple extends Cell
         position     = builder.position;
         points       = builder.points;
         growthAmount = builder.growthAmount;
+        lifetime     = builder.lifetime;
     }
 
     /**
@@ -59,6 +60,16 @@ public class Apple extends Cell
         return growthAmount;
     }
 
+    /**
+     * @return The number of ticks this {@link Apple} stays in place uneaten before it moves
+     *         somewhere else, or {@code 0} if it stays until it is eaten.
+     * @see GameState#scheduleExpiryOf(Apple)
+     */
+    public int getLifetime()
+    {
+        return lifetime;
+    }
+
     /**
      * @return {@code true}, because {@link Apple}s are always safe.
      */
@@ -69,6 +80,9 @@ public class Apple extends Cell
     }
 
     /**
+     * Eats this {@link Apple}.  It is taken off the {@link GameBoard} straight away, and
+     * replaced along with any others eaten in the same tick, by
+     * {@link com.thepeoplescoder.snake.state.GameBoard#respawnEatenApples(com.thepeoplescoder.snake.state.Snake)}.
      * @param gs The {@link GameState} upon the {@link Snake} touching this {@link Apple}.
      * @return
      */
@@ -76,12 +90,7 @@ public class Apple extends Cell
     public GameState onTouch(GameState gs)
     {
         gs.queueGameEvent(_gs -> {
-            _gs.getBoard().removeCell(getPosition());
-            _gs.getBoard().putCell(Apple.with()
-                    .positionAs(_gs.getRandomEmptyCell())
-                    .pointsAs(getPoints())
-                    .growthAmountAs(getGrowthAmount())
-                .make());
+            _gs.getBoard().eatApple(this);
 
             return GameState.from(_gs)
                     .scoreAs(score -> score.plus(getPoints()))
@@ -103,7 +112,7 @@ public class Apple extends Cell
     }
 
     /** The color of each {@link Apple}. */
-    private static final Color color = Shared.Colors.apple;
+    private static final Palette color = Palette.APPLE;
 
     /**
      * @return An {@link Apple.Builder} to build an {@link Apple}.
@@ -123,6 +132,8 @@ public class Apple extends Cell
         private int points = 0;
         /** The number of growth steps a {@link Snake} will go through upon eating this {@link Apple}. */
         private int growthAmount = 0;
+        /** The number of ticks the {@link Apple} stays in place uneaten, or {@code 0} for as long as it takes. */
+        private int lifetime = 0;
 
         /**
          * Default constructor.  Deliberately private to disallow direct instantiation.
@@ -153,5 +164,12 @@ public class Apple extends Cell
          * @return This {@link Builder}.
          */
         public Builder growthAmountAs(int growthAmount) { this.growthAmount = growthAmount; return this; }
+
+        /**
+         * @param lifetime The number of ticks the {@link Apple} will stay in place uneaten,
+         *                 or {@code 0} for as long as it takes.
+         * @return This {@link Builder}.
+         */
+        public Builder lifetimeAs(int lifetime) { this.lifetime = lifetime; return this; }
     }
 }
@@ -0,0 +1,215 @@
+package com.thepeoplescoder.snake.cell;
+
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.state.GameState;
+
+/**
+ * A {@link Wall} that patrols back and forth along a straight line, one step every
+ * {@link #getPeriod()} ticks.<p>
+ *
+ * Like every {@link Cell}, a {@link MovingWall} never changes: each step puts a new one,
+ * one cell further along, on the {@link com.thepeoplescoder.snake.state.GameBoard} in place
+ * of the old one.  Being a {@link Wall}, the {@link Snake} crashes into it the same as any
+ * other, and everything that keeps track of the {@link Wall}s on the board keeps track of
+ * it too, one step at a time.
+ * @see GameState#schedulePatrolOf(MovingWall)
+ */
+public class MovingWall extends Wall
+{
+    /** The position at one end of the patrol. */
+    private final IntVector2 origin;
+    /** The direction from {@link #origin} to the other end of the patrol. */
+    private final IntVector2 direction;
+    /** The number of steps from one end of the patrol to the other. */
+    private final int span;
+    /** The number of ticks between steps. */
+    private final int period;
+    /** How far along the way there and back this {@link MovingWall} is, from {@code 0} to {@code 2 * span - 1}. */
+    private final int step;
+
+    /**
+     * Constructs a new {@link MovingWall}.  Deliberately private to avoid direct
+     * instantiation.
+     * @param builder The {@link MovingWall.Builder} used to build this {@link MovingWall}.
+     * @throws IllegalArgumentException If the span or the period is less than 1.
+     * @see MovingWall.Builder
+     */
+    private MovingWall(MovingWall.Builder builder)
+    {
+        super(positionAt(builder.origin, builder.direction, builder.span, builder.step));
+        if (builder.span < 1 || builder.period < 1)
+        {
+            throw new IllegalArgumentException("span and period must be at least 1.");
+        }
+        origin    = builder.origin;
+        direction = builder.direction;
+        span      = builder.span;
+        period    = builder.period;
+        step      = Math.floorMod(builder.step, 2 * builder.span);
+    }
+
+    /**
+     * @param origin The position at one end of a patrol.
+     * @param direction The direction to its other end.
+     * @param span The number of steps to its other end.
+     * @param step How far along the way there and back.
+     * @return The position that far along the patrol.
+     */
+    private static IntVector2 positionAt(IntVector2 origin, IntVector2 direction, int span, int step)
+    {
+        final int s = Math.floorMod(step, 2 * Math.max(1, span));
+        final int offset = s <= span ? s : 2 * span - s;
+        return origin.plus(direction.getX() * offset, direction.getY() * offset);
+    }
+
+    /**
+     * @return The position at one end of this {@link MovingWall}'s patrol.
+     */
+    public IntVector2 getOrigin()
+    {
+        return origin;
+    }
+
+    /**
+     * @return The direction from {@link #getOrigin()} to the other end of the patrol.
+     */
+    public IntVector2 getDirection()
+    {
+        return direction;
+    }
+
+    /**
+     * @return The number of steps from one end of the patrol to the other.
+     */
+    public int getSpan()
+    {
+        return span;
+    }
+
+    /**
+     * @return The number of ticks between this {@link MovingWall}'s steps.
+     */
+    public int getPeriod()
+    {
+        return period;
+    }
+
+    /**
+     * @return How far along the way there and back this {@link MovingWall} is, from
+     *         {@code 0} to {@code 2 * getSpan() - 1}.
+     */
+    public int getStep()
+    {
+        return step;
+    }
+
+    /**
+     * @return The position this {@link MovingWall}'s next step takes it to.
+     */
+    public IntVector2 getNextPosition()
+    {
+        return positionAt(origin, direction, span, step + 1);
+    }
+
+    /**
+     * @return The {@link MovingWall} one step further along the patrol, at {@link #getNextPosition()}.
+     */
+    public MovingWall next()
+    {
+        return withStep(step + 1);
+    }
+
+    /**
+     * @return A {@link MovingWall} in the same place, heading back the way this one came,
+     *         e.g. because its way is blocked.  At either end of the patrol there is only one
+     *         way to go, so that is this {@link MovingWall} itself, waiting for its way to clear.
+     */
+    public MovingWall turnedAround()
+    {
+        final int back = (2 * span - step) % (2 * span);
+        return back == step ? this : withStep(back);
+    }
+
+    /**
+     * @param step How far along the way there and back.
+     * @return A {@link MovingWall} on the same patrol as this one, that far along it.
+     */
+    private MovingWall withStep(int step)
+    {
+        return MovingWall.with()
+            .originAs(origin)
+            .directionAs(direction)
+            .spanAs(span)
+            .periodAs(period)
+            .stepAs(step)
+            .make();
+    }
+
+    /**
+     * @return A {@link MovingWall.Builder} to build a {@link MovingWall}.
+     * @see MovingWall.Builder
+     */
+    public static MovingWall.Builder with() { return new MovingWall.Builder(); }
+
+    /**
+     * A class used to create {@link MovingWall}s.
+     * The builder pattern is used for readability over using a constructor directly.
+     */
+    public static class Builder
+    {
+        /** The position at one end of the patrol. */
+        private IntVector2 origin = IntVector2.ZERO;
+        /** The direction from the origin to the other end of the patrol. */
+        private IntVector2 direction = IntVector2.I;
+        /** The number of steps from one end of the patrol to the other. */
+        private int span = 1;
+        /** The number of ticks between steps. */
+        private int period = 1;
+        /** How far along the way there and back the {@link MovingWall} starts. */
+        private int step = 0;
+
+        /**
+         * Default constructor.  Deliberately private to disallow direct instantiation.
+         * @see MovingWall#with()
+         */
+        private Builder() {}
+
+        /**
+         * @return A new {@link MovingWall} with the properties of this {@link Builder}.
+         * @throws IllegalArgumentException If the span or the period is less than 1.
+         */
+        public MovingWall make() { return new MovingWall(this); }
+
+        /**
+         * @param origin The position at one end of the patrol.
+         * @return This {@link Builder}.
+         */
+        public Builder originAs(IntVector2 origin) { this.origin = origin; return this; }
+
+        /**
+         * @param direction The direction from the origin to the other end of the patrol,
+         *                  one of {@link IntVector2#DIRECTIONS}.
+         * @return This {@link Builder}.
+         */
+        public Builder directionAs(IntVector2 direction) { this.direction = direction; return this; }
+
+        /**
+         * @param span The number of steps from one end of the patrol to the other.
+         * @return This {@link Builder}.
+         */
+        public Builder spanAs(int span) { this.span = span; return this; }
+
+        /**
+         * @param period The number of ticks between steps.
+         * @return This {@link Builder}.
+         */
+        public Builder periodAs(int period) { this.period = period; return this; }
+
+        /**
+         * @param step How far along the way there and back the {@link MovingWall} starts,
+         *             from {@code 0} (at the origin) to {@code 2 * span - 1}.
+         * @return This {@link Builder}.
+         */
+        public Builder stepAs(int step) { this.step = step; return this; }
+    }
+}
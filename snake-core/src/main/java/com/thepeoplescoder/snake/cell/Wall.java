@@ -1,11 +1,9 @@
 package com.thepeoplescoder.snake.cell;
 
-import java.awt.Color;
-
 import com.thepeoplescoder.snake.math.IntVector2;
-import com.thepeoplescoder.snake.Shared;
 import com.thepeoplescoder.snake.state.GameState;
 import com.thepeoplescoder.snake.view.IoEngine;
+import com.thepeoplescoder.snake.view.Palette;
 
 /**
  * A class representing a wall.
@@ -41,9 +39,21 @@ public class Wall extends Cell
     {
         io.setColor(Wall.color).drawCellAt(getPosition());
     }
+
+    /**
+     * Draws a {@link Wall} without a {@link Wall} object, e.g. one of the walls a
+     * {@link com.thepeoplescoder.snake.state.GameBoard} keeps packed one bit per cell.
+     * @param io The {@link IoEngine} used to draw it.
+     * @param x The x coordinate of the {@link Wall}.
+     * @param y The y coordinate of the {@link Wall}.
+     */
+    public static void drawAt(IoEngine io, int x, int y)
+    {
+        io.setColor(Wall.color).drawCellAt(x, y);
+    }
     
     /** The color of every {@link Wall}. */
-    private static final Color color = Shared.Colors.wall;
+    private static final Palette color = Palette.WALL;
 
     /**
      * @return {@code false}, because {@link Wall}s are always unsafe.
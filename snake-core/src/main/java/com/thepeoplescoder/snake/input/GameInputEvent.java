@@ -18,6 +18,9 @@ public class GameInputEvent
 
     public static final GameInputEvent noAction = GameInputEvent.withHandler(Function.identity());
 
+    /** The capture time of an event that was never captured, e.g. one of the {@link Action}s themselves. */
+    public static final long NOT_CAPTURED = Long.MIN_VALUE;
+
     /**
      * A namespace for input actions and their corresponding handlers.
      * This style of handling events is used in order to decouple the raw
@@ -84,14 +87,22 @@ public class GameInputEvent
      */
     private final Function<? super GameState, ? extends GameState> handler;
 
+    /**
+     * When the input that caused this event was captured, as a {@link System#nanoTime()}
+     * value, or {@link #NOT_CAPTURED}.
+     */
+    private final long capturedAtNanos;
+
     /**
      * Constructs a {@link GameInputEvent}.
      * @param handler A {@link java.util.function.Function} that takes a {@link GameState}
      *                and returns a {@link GameState}.
+     * @param capturedAtNanos When the input was captured, or {@link #NOT_CAPTURED}.
      */
-    private GameInputEvent(Function<? super GameState, ? extends GameState> handler)
+    private GameInputEvent(Function<? super GameState, ? extends GameState> handler, long capturedAtNanos)
     {
         this.handler = handler;
+        this.capturedAtNanos = capturedAtNanos;
     }
     
     /**
@@ -116,7 +127,27 @@ public class GameInputEvent
     
     public static GameInputEvent withHandler(Function<? super GameState, ? extends GameState> handler)
     {
-        return new GameInputEvent(handler);
+        return new GameInputEvent(handler, NOT_CAPTURED);
+    }
+
+    /**
+     * Creates a copy of this {@link GameInputEvent}, stamped with the time its input was captured.
+     * Events that do nothing aren't stamped.
+     * @param nanoTime When the input was captured, as a {@link System#nanoTime()} value.
+     * @return The stamped copy.
+     */
+    public GameInputEvent capturedAt(long nanoTime)
+    {
+        return doesNothing(this) ? this : new GameInputEvent(handler, nanoTime);
+    }
+
+    /**
+     * @return When the input that caused this event was captured, as a {@link System#nanoTime()}
+     *         value, or {@link #NOT_CAPTURED}.
+     */
+    public long getCapturedAtNanos()
+    {
+        return capturedAtNanos;
     }
     
     /**
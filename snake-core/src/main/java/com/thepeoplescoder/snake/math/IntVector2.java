@@ -1,7 +1,5 @@
 package com.thepeoplescoder.snake.math;
 
-import java.awt.Dimension;
-import java.awt.Point;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
@@ -103,6 +101,34 @@ public class IntVector2
         return IntVector2.of(this.getX() - x, this.getY() - y);
     }
     
+    /**
+     * Adds a vector to this vector, wrapping the sum around a torus of the given size,
+     * e.g. moving right off the right edge of a board comes back in from its left edge.
+     * @param other The other vector; each component must be between {@code -size} and {@code size}.
+     * @param size The size of the torus.
+     * @return A (possibly) new vector representing the sum of both vectors, within {@code size}.
+     * @see #wrap(int, int)
+     */
+    public IntVector2 plusWrapped(IntVector2 other, IntVector2 size)
+    {
+        return IntVector2.of(wrap(x + other.x, size.x), wrap(y + other.y, size.y));
+    }
+
+    /**
+     * Wraps a coordinate that is at most one length out of range back into it, without
+     * branching or dividing: the sign bit of {@code value}, or of {@code length - 1 - value},
+     * is smeared into a mask that adds or takes away {@code length}.
+     * @param value The coordinate, between {@code -length} and {@code 2 * length - 1}.
+     * @param length The length of the range, which starts at {@code 0}.
+     * @return The coordinate, between {@code 0} and {@code length - 1}.
+     */
+    public static int wrap(int value, int length)
+    {
+        value += length & (value >> 31);
+        value -= length & ((length - 1 - value) >> 31);
+        return value;
+    }
+
     /**
      * Multiplies this vector by an {@code int} scalar.
      * @param n The scalar value to multiply by.
@@ -217,12 +243,15 @@ public class IntVector2
     }
     
     /**
-     * @return A hash code for this vector.
+     * @return A hash code for this vector.  The x component is multiplied by a large odd
+     *         number first, so that the positions on a {@link com.thepeoplescoder.snake.state.GameBoard}
+     *         spread out over a hash table: {@code x ^ y} gives all of the positions on an
+     *         {@code n x n} board only {@code n} hash codes between them.
      */
     @Override
     public int hashCode()
     {
-        return x ^ y;
+        return x * 0x9E3779B1 + y;
     }
     
     /**
@@ -269,22 +298,6 @@ public class IntVector2
         return this.x == x && this.y == y;
     }
     
-    /**
-     * @return A new {@link java.awt.Point} that is representative of this vector.
-     */
-    public Point toPoint()
-    {
-        return new Point(x, y);
-    }
-    
-    /**
-     * @return A new {@link java.awt.Dimension} that is representative of this vector.
-     */
-    public Dimension toDimension()
-    {
-        return new Dimension(x, y);
-    }
-    
     /**
      * Caches this vector, so that other calculations that result in other vectors of this value
      * use this one, instead of allocating memory for a brand new one.
@@ -0,0 +1,131 @@
+package com.thepeoplescoder.snake.metrics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.ThreadMXBean;
+
+/**
+ * The metrics the game records every tick and every frame.<p>
+ *
+ * Everything is a {@link Histogram}, whose {@code _count} and {@code _sum} double as
+ * counters (e.g. the number of ticks, and the number of events handled).  Recording
+ * a tick is wait-free and takes a few tens of nanoseconds; reading the clock and the
+ * thread's allocation counter around {@link com.thepeoplescoder.snake.state.GameState#nextState()}
+ * is left to the caller, so that nothing is measured at all when metrics are turned off.<p>
+ *
+ * Ticks and frames must be recorded on one thread, i.e. the game loop's.
+ */
+public class GameMetrics
+{
+    /** Where the allocation counter of the current thread is read from, or {@code null} if it can't be. */
+    private static final ThreadMXBean threads = threadMXBeanIfAllocationIsMeasured();
+
+    /** For writing out nanoseconds as seconds. */
+    public static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Histogram tickDuration;
+    private final Histogram paintDuration;
+    private final Histogram eventsDrainedPerTick;
+    private final Histogram inputQueueDepth;
+    private final Histogram allocatedBytesPerTick;
+    private final Histogram gcPause;
+
+    /**
+     * Registers the game's metrics, and starts listening for garbage collections.
+     * @param registry Where to register the metrics.
+     */
+    public GameMetrics(MetricsRegistry registry)
+    {
+        tickDuration          = registry.histogram("snake_tick_duration_seconds", "Time spent in GameState.nextState.", NANOS_PER_SECOND);
+        paintDuration         = registry.histogram("snake_paint_duration_seconds", "Time spent drawing a frame.", NANOS_PER_SECOND);
+        eventsDrainedPerTick  = registry.histogram("snake_tick_events_drained", "Input and game events handled per tick.", 1);
+        inputQueueDepth       = registry.histogram("snake_input_queue_depth", "Input events waiting after each tick.", 1);
+        allocatedBytesPerTick = registry.histogram("snake_tick_allocated_bytes", "Bytes allocated by GameState.nextState.", 1);
+        gcPause               = registry.histogram("snake_gc_pause_seconds", "Garbage collection pauses.", NANOS_PER_SECOND);
+
+        listenForGarbageCollections();
+    }
+
+    /**
+     * Records a tick.
+     * @param nanos How long {@link com.thepeoplescoder.snake.state.GameState#nextState()} took.
+     * @param drained The number of input and game events it handled.
+     * @param queueDepth The number of input events still waiting afterwards.
+     * @param allocatedBytes The number of bytes it allocated, or a negative number if unknown.
+     */
+    public void recordTick(long nanos, int drained, int queueDepth, long allocatedBytes)
+    {
+        tickDuration.record(nanos);
+        eventsDrainedPerTick.record(drained);
+        inputQueueDepth.record(queueDepth);
+        if (allocatedBytes >= 0)
+        {
+            allocatedBytesPerTick.record(allocatedBytes);
+        }
+    }
+
+    /**
+     * Records a frame.
+     * @param nanos How long it took to draw.
+     */
+    public void recordFrame(long nanos)
+    {
+        paintDuration.record(nanos);
+    }
+
+    /**
+     * @return The number of bytes the current thread has allocated so far, or {@code -1} if unknown.
+     */
+    public static long currentThreadAllocatedBytes()
+    {
+        return threads == null ? -1 : threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * @return The JVM's {@link ThreadMXBean}, with allocation measuring turned on,
+     *         or {@code null} if this JVM can't measure allocation.
+     */
+    private static ThreadMXBean threadMXBeanIfAllocationIsMeasured()
+    {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof ThreadMXBean)) { return null; }
+
+        final ThreadMXBean threads = (ThreadMXBean)bean;
+        if (!threads.isThreadAllocatedMemorySupported()) { return null; }
+
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+
+    /**
+     * Records the duration of every stop-the-world garbage collection from now on, as the JVM reports them.
+     * The JVM reports them in milliseconds.
+     */
+    private void listenForGarbageCollections()
+    {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            if (!(gc instanceof NotificationEmitter)) { continue; }
+
+            ((NotificationEmitter)gc).addNotificationListener((notification, handback) -> {
+                if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType()))
+                {
+                    return;
+                }
+                final GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData)notification.getUserData());
+
+                // Concurrent collectors report whole cycles, most of which run alongside the game.
+                if (!info.getGcName().contains("Concurrent"))
+                {
+                    gcPause.record(info.getGcInfo().getDuration() * 1_000_000L);
+                }
+            }, null, null);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.thepeoplescoder.snake.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of non-negative {@code long} values (usually nanoseconds), with
+ * logarithmic buckets in the style of an HDR histogram.<p>
+ *
+ * Every power of two is split into {@link #SUB_BUCKETS} equal buckets, so any
+ * value is off by at most about 6% once it is bucketed, over the whole range of
+ * {@code long}, in a fixed amount of memory.<p>
+ *
+ * Each histogram has a single writer (e.g. the game loop's thread, or the thread
+ * the JVM reports garbage collections on), and any number of readers.  That makes
+ * recording wait-free and cheap: a handful of arithmetic instructions and a few
+ * ordered stores, with no locks, no atomic read-modify-write instructions, and no
+ * allocation.  Readers may see a value's bucket before its sum, but never a torn
+ * count.  The number of values is worked out from the buckets when it is read.
+ */
+public class Histogram
+{
+    /** The number of bits that pick a bucket within a power of two. */
+    private static final int SUB_BUCKET_BITS = 4;
+    /** The number of buckets each power of two is split into. */
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /** The number of buckets, enough for any non-negative {@code long}. */
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /** The number of values recorded in each bucket. */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    /** The sum of the values recorded. */
+    private final AtomicLong sum = new AtomicLong();
+    /** The largest value recorded. */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value.  Negative values are recorded as {@code 0}.
+     * Only the histogram's single writer thread may call this.
+     * @param value The value.
+     */
+    public void record(long value)
+    {
+        final long v = Math.max(0, value);
+        final int bucket = bucketOf(v);
+        counts.lazySet(bucket, counts.get(bucket) + 1);
+        sum.lazySet(sum.get() + v);
+        if (v > max.get())
+        {
+            max.lazySet(v);
+        }
+    }
+
+    /**
+     * @return The number of values recorded.
+     */
+    public long getCount()
+    {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * @return The sum of the values recorded.
+     */
+    public long getSum()
+    {
+        return sum.get();
+    }
+
+    /**
+     * @return The largest value recorded, or {@code 0} if there are none.
+     */
+    public long getMax()
+    {
+        return max.get();
+    }
+
+    /**
+     * @return The mean of the values recorded, or {@code 0} if there are none.
+     */
+    public double getMean()
+    {
+        final long n = getCount();
+        return n == 0 ? 0 : (double)sum.get() / n;
+    }
+
+    /**
+     * Estimates a percentile of the values recorded.  The result is the upper
+     * bound of the bucket the percentile falls into, so it never under-reports.
+     * @param percentile The percentile, from {@code 0} to {@code 100}.
+     * @return The estimate, or {@code 0} if there are no values.
+     */
+    public long getPercentile(double percentile)
+    {
+        final long total = getCount();
+        if (total == 0) { return 0; }
+
+        final long rank = Math.max(1, (long)Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            seen += counts.get(i);
+            if (seen >= rank)
+            {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Calls the given consumer with the upper bound and count of every bucket that has values,
+     * in increasing order.
+     * @param consumer Receives the upper bound of each bucket, and the number of values in it.
+     */
+    public void forEachBucket(BucketConsumer consumer)
+    {
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            final long n = counts.get(i);
+            if (n != 0)
+            {
+                consumer.accept(upperBoundOf(i), n);
+            }
+        }
+    }
+
+    /**
+     * Receives the buckets of a {@link Histogram}.
+     * @see Histogram#forEachBucket(BucketConsumer)
+     */
+    @FunctionalInterface
+    public static interface BucketConsumer
+    {
+        /**
+         * @param upperBound The largest value that falls into the bucket.
+         * @param count The number of values in the bucket.
+         */
+        void accept(long upperBound, long count);
+    }
+
+    /**
+     * @param value A non-negative value.
+     * @return The index of the bucket the value falls into.
+     */
+    static int bucketOf(long value)
+    {
+        if (value < SUB_BUCKETS) { return (int)value; }
+
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int)(value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @param bucket The index of a bucket.
+     * @return The largest value that falls into it.
+     */
+    static long upperBoundOf(int bucket)
+    {
+        if (bucket < SUB_BUCKETS) { return bucket; }
+
+        final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long width = 1L << (exponent - SUB_BUCKET_BITS);
+        final long lowerBound = (SUB_BUCKETS + bucket % SUB_BUCKETS) * width;
+        return lowerBound + width - 1;
+    }
+}
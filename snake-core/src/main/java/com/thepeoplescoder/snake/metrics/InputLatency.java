@@ -0,0 +1,91 @@
+package com.thepeoplescoder.snake.metrics;
+
+import com.thepeoplescoder.snake.input.GameInputEvent;
+import com.thepeoplescoder.snake.state.GameState;
+
+/**
+ * Measures how long it takes for input to take effect.<p>
+ *
+ * Every {@link GameInputEvent} is stamped with the time it was captured.  When a
+ * tick applies it, the resulting {@link GameState} carries the event along (see
+ * {@link GameState#getLastCapturedInput()}), and this class records:
+ * <ul>
+ * <li><b>input-to-tick</b> latency, once the tick that applied the input is done, and</li>
+ * <li><b>input-to-frame</b> latency, once the first frame showing its effect has been drawn.</li>
+ * </ul>
+ * The same input is never recorded twice, even though later {@link GameState}s keep it.
+ */
+public class InputLatency
+{
+    /** The time from capturing an input to the end of the tick that applied it, in nanoseconds. */
+    private final Histogram inputToTick = new Histogram();
+    /** The time from capturing an input to the end of the first frame that shows it, in nanoseconds. */
+    private final Histogram inputToFrame = new Histogram();
+
+    /** The input most recently recorded by {@link #tickApplied(GameState)}. */
+    private volatile GameInputEvent lastTickInput = null;
+    /** The input most recently recorded by {@link #frameFinished(GameState)}. */
+    private volatile GameInputEvent lastFrameInput = null;
+
+    /**
+     * To be called once a tick is done.
+     * @param state The {@link GameState} the tick produced.
+     */
+    public void tickApplied(GameState state)
+    {
+        final GameInputEvent input = state.getLastCapturedInput();
+        if (input != null && input != lastTickInput)
+        {
+            lastTickInput = input;
+            inputToTick.record(System.nanoTime() - input.getCapturedAtNanos());
+        }
+    }
+
+    /**
+     * To be called once a frame has been drawn.
+     * @param state The {@link GameState} the frame shows.
+     */
+    public void frameFinished(GameState state)
+    {
+        final GameInputEvent input = state.getLastCapturedInput();
+        if (input != null && input != lastFrameInput)
+        {
+            lastFrameInput = input;
+            inputToFrame.record(System.nanoTime() - input.getCapturedAtNanos());
+        }
+    }
+
+    /**
+     * @return The time from capturing an input to the end of the tick that applied it, in nanoseconds.
+     */
+    public Histogram getInputToTick()
+    {
+        return inputToTick;
+    }
+
+    /**
+     * @return The time from capturing an input to the end of the first frame that shows it, in nanoseconds.
+     */
+    public Histogram getInputToFrame()
+    {
+        return inputToFrame;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "input-to-tick:  " + describe(inputToTick) + System.lineSeparator() +
+               "input-to-frame: " + describe(inputToFrame);
+    }
+
+    /**
+     * @param h A histogram of nanoseconds.
+     * @return A one-line summary of it, in milliseconds.
+     */
+    private static String describe(Histogram h)
+    {
+        return String.format("n=%d p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+            h.getCount(), h.getPercentile(50) / 1e6, h.getPercentile(95) / 1e6,
+            h.getPercentile(99) / 1e6, h.getMax() / 1e6);
+    }
+}
@@ -0,0 +1,90 @@
+package com.thepeoplescoder.snake.metrics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A set of named metrics, which can be written out in the Prometheus text format.<p>
+ *
+ * Metrics are registered once, up front; after that, recording into them never
+ * touches the registry, so it stays lock-free.  Only {@link #writeTo(StringBuilder)}
+ * walks the registry, and it reads each metric without stopping the threads that
+ * record into it.
+ */
+public class MetricsRegistry
+{
+    /** Something that can be written out in the Prometheus text format. */
+    private static interface Metric
+    {
+        /**
+         * @param out Where to write the metric, including its {@code HELP} and {@code TYPE} lines.
+         */
+        void writeTo(StringBuilder out);
+    }
+
+    /** The registered metrics, in the order they were registered. */
+    private final List<Metric> metrics = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers a new {@link Histogram}.
+     * @param name The name of the histogram, which should include its unit, e.g. {@code _seconds}.
+     * @param help A description of the histogram.
+     * @param valuesPerUnit What the recorded values are divided by when they are written out,
+     *                      e.g. {@code 1_000_000_000} for nanoseconds written out as seconds.
+     * @return The histogram.
+     */
+    public Histogram histogram(String name, String help, long valuesPerUnit)
+    {
+        final Histogram histogram = new Histogram();
+        register(name, help, histogram, valuesPerUnit);
+        return histogram;
+    }
+
+    /**
+     * Registers an existing {@link Histogram}.
+     * @param name The name of the histogram, which should include its unit, e.g. {@code _seconds}.
+     * @param help A description of the histogram.
+     * @param histogram The histogram.
+     * @param valuesPerUnit What the recorded values are divided by when they are written out,
+     *                      e.g. {@code 1_000_000_000} for nanoseconds written out as seconds.
+     */
+    public void register(String name, String help, Histogram histogram, long valuesPerUnit)
+    {
+        final double unit = valuesPerUnit;
+        metrics.add(out -> {
+            header(out, name, help, "histogram");
+
+            // Only the buckets that have values are written; Prometheus doesn't need the rest.
+            final long[] cumulative = { 0 };
+            histogram.forEachBucket((upperBound, count) -> {
+                cumulative[0] += count;
+                out.append(name).append("_bucket{le=\"").append(upperBound / unit).append("\"} ")
+                   .append(cumulative[0]).append('\n');
+            });
+            out.append(name).append("_bucket{le=\"+Inf\"} ").append(cumulative[0]).append('\n');
+            out.append(name).append("_sum ").append(histogram.getSum() / unit).append('\n');
+            out.append(name).append("_count ").append(cumulative[0]).append('\n');
+        });
+    }
+
+    /**
+     * Writes out every registered metric in the Prometheus text format.
+     * @param out Where to write the metrics.
+     */
+    public void writeTo(StringBuilder out)
+    {
+        metrics.forEach(metric -> metric.writeTo(out));
+    }
+
+    /**
+     * @param out Where to write the header.
+     * @param name The name of the metric.
+     * @param help A description of the metric.
+     * @param type The type of the metric.
+     */
+    private static void header(StringBuilder out, String name, String help, String type)
+    {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+}
@@ -0,0 +1,83 @@
+package com.thepeoplescoder.snake.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Serves a {@link MetricsRegistry} over HTTP, in the Prometheus text format, at
+ * {@code http://localhost:<port>/metrics}.<p>
+ *
+ * The server only listens on the loopback interface, and handles requests on a
+ * single low-priority thread, so scraping never competes with the game loop for
+ * more than one core.
+ */
+public class MetricsServer
+{
+    /** The content type of the Prometheus text format. */
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /** The underlying server. */
+    private final HttpServer server;
+
+    /**
+     * @param server The underlying server.
+     */
+    private MetricsServer(HttpServer server)
+    {
+        this.server = server;
+    }
+
+    /**
+     * Starts serving a {@link MetricsRegistry}.
+     * @param registry The metrics to serve.
+     * @param port The port to listen on, on the loopback interface.
+     * @return The running server.
+     * @throws IOException If the server couldn't be started, e.g. because the port is taken.
+     */
+    public static MetricsServer start(MetricsRegistry registry, int port) throws IOException
+    {
+        final HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            final StringBuilder text = new StringBuilder(4096);
+            registry.writeTo(text);
+            final byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody())
+            {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newSingleThreadExecutor(r -> {
+            final Thread t = new Thread(r, "snake-metrics");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        }));
+        server.start();
+        return new MetricsServer(server);
+    }
+
+    /**
+     * @return The port the server is listening on.
+     */
+    public int getPort()
+    {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server.
+     */
+    public void stop()
+    {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,46 @@
+package com.thepeoplescoder.snake.metrics.events;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Whether the game's JDK Flight Recorder events should be created.<p>
+ *
+ * Flight Recorder isn't part of every JDK 8, so every place that creates an event
+ * checks {@link #isRecording()} first.  Loading the first event class starts up Flight
+ * Recorder's own machinery, which takes a few hundred milliseconds, so events are only
+ * created once Flight Recorder has been started, by {@code --jfr},
+ * {@code -XX:StartFlightRecording} or {@code jcmd JFR.start}.  From then on an event
+ * costs next to nothing unless a recording that enables it is running: creating it is
+ * optimized away, and {@code shouldCommit()} is a single check.
+ */
+public final class FlightEvents
+{
+    /** {@code true} if this JVM has Flight Recorder. */
+    public static final boolean AVAILABLE = isFlightRecorderPresent();
+
+    private FlightEvents() {}
+
+    /**
+     * @return {@code true} if this JVM has Flight Recorder, and it has been started.
+     */
+    public static boolean isRecording()
+    {
+        return AVAILABLE && FlightRecorder.isInitialized();
+    }
+
+    /**
+     * @return {@code true} if this JVM has Flight Recorder.
+     */
+    private static boolean isFlightRecorderPresent()
+    {
+        try
+        {
+            Class.forName("jdk.jfr.FlightRecorder");
+            return true;
+        }
+        catch (ClassNotFoundException | LinkageError e)
+        {
+            return false;
+        }
+    }
+}
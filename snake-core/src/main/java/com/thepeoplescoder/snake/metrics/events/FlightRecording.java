@@ -0,0 +1,60 @@
+package com.thepeoplescoder.snake.metrics.events;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Starts a Flight Recorder recording with the bundled {@code snake.jfc} settings, which
+ * turn on the game's own events along with garbage collection, safepoint, and
+ * sampling events, so that stutter can be lined up with its causes in JDK Mission Control.<p>
+ *
+ * The same settings can be used without this class, once extracted from the jar:
+ * {@code java -XX:StartFlightRecording:settings=snake.jfc,filename=snake.jfr -jar ...}
+ */
+public final class FlightRecording
+{
+    /** The bundled settings. */
+    public static final String SETTINGS = "/snake.jfc";
+
+    private FlightRecording() {}
+
+    /**
+     * Starts recording.  The recording is written out when the JVM exits.
+     * @param destination Where to write the recording.
+     * @throws IOException If the settings couldn't be read, or the destination can't be written.
+     * @throws IllegalStateException If this JVM has no Flight Recorder.
+     */
+    public static void start(Path destination) throws IOException
+    {
+        if (!FlightEvents.AVAILABLE)
+        {
+            throw new IllegalStateException("this JVM has no Flight Recorder.");
+        }
+
+        final Configuration configuration;
+        try (InputStream in = FlightRecording.class.getResourceAsStream(SETTINGS);
+             Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8))
+        {
+            configuration = Configuration.create(reader);
+        }
+        catch (ParseException e)
+        {
+            throw new IOException("could not parse " + SETTINGS + ".", e);
+        }
+
+        final Recording recording = new Recording(configuration);
+        recording.setName("snake");
+        recording.setDestination(destination);
+        recording.setToDisk(true);
+        recording.setDumpOnExit(true);
+        recording.start();
+    }
+}
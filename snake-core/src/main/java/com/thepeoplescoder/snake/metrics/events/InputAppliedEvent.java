@@ -0,0 +1,30 @@
+package com.thepeoplescoder.snake.metrics.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Recorded whenever a {@link com.thepeoplescoder.snake.input.GameInputEvent} is applied to a
+ * {@link com.thepeoplescoder.snake.state.GameState}.
+ */
+@Name("com.thepeoplescoder.snake.InputApplied")
+@Label("Input Applied")
+@Category({ "Snake", "Input" })
+@Description("Applying a queued input event to the game")
+@StackTrace(false)
+public class InputAppliedEvent extends Event
+{
+    @Label("Waited")
+    @Description("Time from capturing the input to applying it, or -1 if it wasn't captured")
+    @Timespan(Timespan.NANOSECONDS)
+    public long waited;
+
+    @Label("Still Queued")
+    @Description("Input events still waiting after this one")
+    public int stillQueued;
+}
@@ -0,0 +1,25 @@
+package com.thepeoplescoder.snake.metrics.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded for every frame drawn by {@link com.thepeoplescoder.snake.view.GameView#drawCurrentState()}.
+ */
+@Name("com.thepeoplescoder.snake.Render")
+@Label("Render")
+@Category({ "Snake", "Rendering" })
+@Description("Drawing one frame")
+@StackTrace(false)
+public class RenderEvent extends Event
+{
+    @Label("View")
+    public String view;
+
+    @Label("Snake Length")
+    public int snakeLength;
+}
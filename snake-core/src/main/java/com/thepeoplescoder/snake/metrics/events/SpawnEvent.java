@@ -0,0 +1,35 @@
+package com.thepeoplescoder.snake.metrics.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded whenever a random place is found for something new on the board, i.e. by
+ * {@link com.thepeoplescoder.snake.state.GameState#getRandomEmptyCell()} and
+ * {@link com.thepeoplescoder.snake.state.GameBoard#babySnake()}, or for every {@code Apple}
+ * eaten in a tick at once, by
+ * {@link com.thepeoplescoder.snake.state.GameBoard#respawnEatenApples(com.thepeoplescoder.snake.state.Snake)}.
+ */
+@Name("com.thepeoplescoder.snake.Spawn")
+@Label("Spawn")
+@Category({ "Snake", "Game Loop" })
+@Description("Finding a random place for an apple or a snake")
+@StackTrace(false)
+public class SpawnEvent extends Event
+{
+    @Label("What")
+    @Description("What was placed, e.g. \"apple\" or \"snake\"")
+    public String what;
+
+    @Label("Attempts")
+    @Description("Random positions tried")
+    public int attempts;
+
+    @Label("Candidates")
+    @Description("Positions that passed the first check, and were looked at more closely; for a snake, the safe tails it was picked from")
+    public int candidates;
+}
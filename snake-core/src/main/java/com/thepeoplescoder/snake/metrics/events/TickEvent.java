@@ -0,0 +1,29 @@
+package com.thepeoplescoder.snake.metrics.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded for every call to {@link com.thepeoplescoder.snake.state.GameState#nextState()}.
+ */
+@Name("com.thepeoplescoder.snake.Tick")
+@Label("Tick")
+@Category({ "Snake", "Game Loop" })
+@Description("Advancing the game by one step")
+@StackTrace(false)
+public class TickEvent extends Event
+{
+    @Label("Snake Length")
+    public int snakeLength;
+
+    @Label("Events Processed")
+    @Description("Input and game events handled during the tick")
+    public int eventsProcessed;
+
+    @Label("Level")
+    public int level;
+}
@@ -0,0 +1,228 @@
+package com.thepeoplescoder.snake.state;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import com.thepeoplescoder.snake.Shared;
+import com.thepeoplescoder.snake.cell.Apple;
+import com.thepeoplescoder.snake.cell.Cell;
+import com.thepeoplescoder.snake.math.IntVector2;
+
+/**
+ * A spatial index of the {@link Apple}s on a {@link GameBoard}, for when there are
+ * hundreds or thousands of them.<p>
+ *
+ * The {@link GameBoard} is divided into square buckets of {@link #getBucketSize()} cells
+ * a side, and each bucket keeps the {@link Apple}s within it.  {@link #nearestTo(IntVector2)}
+ * looks through the buckets in rings around where it starts from, and stops as soon as no
+ * ring further out can hold anything closer; {@link #forEachWithin(int, int, int, int, Consumer)}
+ * only looks at the buckets that overlap the region.  Neither of them looks at the
+ * {@link GameBoard} itself.<p>
+ *
+ * The index is kept up to date incrementally through {@link GameBoard.Listener}, so putting
+ * or removing an {@link Apple} costs a look through one bucket.
+ */
+public class AppleIndex implements GameBoard.Listener
+{
+    /** The width of the {@link GameBoard}. */
+    private final int width;
+    /** The height of the {@link GameBoard}. */
+    private final int height;
+
+    /** log2 of the bucket size. */
+    private final int shift;
+    /** The width of the grid of buckets. */
+    private final int bucketsX;
+    /** The height of the grid of buckets. */
+    private final int bucketsY;
+
+    /** The {@link Apple}s in each bucket, in the first {@link #counts} elements, or {@code null} for none yet. */
+    private final Apple[][] buckets;
+    /** The number of {@link Apple}s in each bucket. */
+    private final int[] counts;
+    /** The number of {@link Apple}s in the whole index. */
+    private int appleCount = 0;
+
+    /**
+     * Builds the index of a {@link GameBoard} as it is now.  Add it as a
+     * {@link GameBoard.Listener} to keep it that way.
+     * @param board The {@link GameBoard}.
+     * @see GameBoard#getAppleIndex()
+     */
+    public AppleIndex(GameBoard board)
+    {
+        Objects.requireNonNull(board, "board cannot be null.");
+        width    = board.getWidth();
+        height   = board.getHeight();
+        shift    = Integer.numberOfTrailingZeros(Shared.Settings.Game.appleBucketSize);
+        bucketsX = (width  + getBucketSize() - 1) >> shift;
+        bucketsY = (height + getBucketSize() - 1) >> shift;
+        buckets  = new Apple[bucketsX * bucketsY][];
+        counts   = new int[bucketsX * bucketsY];
+
+        // Packed walls are the only cells that aren't in there, and they're never apples.
+        board.unpackedCells()
+            .filter(cell -> cell instanceof Apple)
+            .forEach(cell -> add((Apple)cell));
+    }
+
+    /**
+     * @return The width (and height) of a bucket, in {@link Cell}s.
+     */
+    public int getBucketSize()
+    {
+        return 1 << shift;
+    }
+
+    /**
+     * @return The number of {@link Apple}s on the {@link GameBoard}.
+     */
+    public int getAppleCount()
+    {
+        return appleCount;
+    }
+
+    /**
+     * @param x An x coordinate on the {@link GameBoard}.
+     * @param y A y coordinate on the {@link GameBoard}.
+     * @return The index of the bucket holding that position.
+     */
+    private int bucketOf(int x, int y)
+    {
+        return (y >> shift) * bucketsX + (x >> shift);
+    }
+
+    /**
+     * @param apple The {@link Apple} to add.
+     */
+    private void add(Apple apple)
+    {
+        final IntVector2 pos = apple.getPosition();
+        final int b = bucketOf(pos.getX(), pos.getY());
+        if (buckets[b] == null)
+        {
+            buckets[b] = new Apple[4];
+        }
+        else if (counts[b] == buckets[b].length)
+        {
+            buckets[b] = Arrays.copyOf(buckets[b], counts[b] * 2);
+        }
+        buckets[b][counts[b]++] = apple;
+        appleCount++;
+    }
+
+    /**
+     * @param apple The {@link Apple} to remove, by identity.
+     */
+    private void remove(Apple apple)
+    {
+        final IntVector2 pos = apple.getPosition();
+        final int b = bucketOf(pos.getX(), pos.getY());
+        final Apple[] bucket = buckets[b];
+        for (int i = 0; i < counts[b]; i++)
+        {
+            if (bucket[i] == apple)
+            {
+                bucket[i] = bucket[--counts[b]];
+                bucket[counts[b]] = null;
+                appleCount--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Finds the {@link Apple} the fewest moves away, ignoring anything in the way, and
+     * measuring straight across the {@link GameBoard} even if it
+     * {@link GameBoard#isToroidal() wraps around} at its edges.
+     * @param from Where to measure from.
+     * @return The nearest {@link Apple}, or {@code null} if there aren't any.  Of
+     *         {@link Apple}s that are equally near, any one of them may be returned.
+     */
+    public Apple nearestTo(IntVector2 from)
+    {
+        if (appleCount == 0) { return null; }
+
+        final int fx = from.getX();
+        final int fy = from.getY();
+        final int bx = Math.max(0, Math.min(fx >> shift, bucketsX - 1));
+        final int by = Math.max(0, Math.min(fy >> shift, bucketsY - 1));
+
+        Apple nearest = null;
+        int nearestDistance = Integer.MAX_VALUE;
+        final int rings = Math.max(Math.max(bx, bucketsX - 1 - bx), Math.max(by, bucketsY - 1 - by));
+        for (int r = 0; r <= rings; r++)
+        {
+            // Every cell of a bucket r rings out is more than r - 1 buckets away along one axis.
+            if (r > 0 && (long)(r - 1) * getBucketSize() + 1 > nearestDistance) { break; }
+
+            for (int y = Math.max(0, by - r); y <= Math.min(bucketsY - 1, by + r); y++)
+            {
+                final boolean edgeRow = y == by - r || y == by + r;
+                final int step = edgeRow ? 1 : Math.max(1, 2 * r);
+                for (int x = bx - r; x <= bx + r; x += step)
+                {
+                    if (x < 0 || x >= bucketsX) { continue; }
+
+                    final int b = y * bucketsX + x;
+                    for (int i = 0; i < counts[b]; i++)
+                    {
+                        final IntVector2 pos = buckets[b][i].getPosition();
+                        final int distance = Math.abs(pos.getX() - fx) + Math.abs(pos.getY() - fy);
+                        if (distance < nearestDistance)
+                        {
+                            nearest = buckets[b][i];
+                            nearestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Goes through the {@link Apple}s within a rectangular region of the {@link GameBoard},
+     * in no particular order.  The cost is bounded by the number of buckets the region
+     * overlaps, and the {@link Apple}s in them.
+     * @param x0 The x coordinate of the left edge of the region (inclusive).
+     * @param y0 The y coordinate of the top edge of the region (inclusive).
+     * @param x1 The x coordinate of the right edge of the region (inclusive).
+     * @param y1 The y coordinate of the bottom edge of the region (inclusive).
+     * @param action What to do with each {@link Apple}.
+     */
+    public void forEachWithin(int x0, int y0, int x1, int y1, Consumer<? super Apple> action)
+    {
+        final int left   = Math.max(x0, 0);
+        final int top    = Math.max(y0, 0);
+        final int right  = Math.min(x1, width - 1);
+        final int bottom = Math.min(y1, height - 1);
+        if (left > right || top > bottom || appleCount == 0) { return; }
+
+        for (int by = top >> shift; by <= bottom >> shift; by++)
+        {
+            for (int bx = left >> shift; bx <= right >> shift; bx++)
+            {
+                final int b = by * bucketsX + bx;
+                for (int i = 0; i < counts[b]; i++)
+                {
+                    final Apple apple = buckets[b][i];
+                    final int x = apple.getPosition().getX();
+                    final int y = apple.getPosition().getY();
+                    if (left <= x && x <= right && top <= y && y <= bottom)
+                    {
+                        action.accept(apple);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void cellChanged(IntVector2 position, Cell before, Cell after)
+    {
+        if (before instanceof Apple) { remove((Apple)before); }
+        if (after instanceof Apple)  { add((Apple)after); }
+    }
+}
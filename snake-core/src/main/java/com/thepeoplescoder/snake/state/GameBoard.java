@@ -0,0 +1,869 @@
+package com.thepeoplescoder.snake.state;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.thepeoplescoder.snake.Shared;
+import com.thepeoplescoder.snake.cell.Apple;
+import com.thepeoplescoder.snake.cell.Cell;
+import com.thepeoplescoder.snake.cell.MovingWall;
+import com.thepeoplescoder.snake.cell.Wall;
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.metrics.events.FlightEvents;
+import com.thepeoplescoder.snake.metrics.events.SpawnEvent;
+import com.thepeoplescoder.snake.view.IoEngine;
+
+/**
+ * This represents the game board.<p>
+ * 
+ * This is a mutable object.
+ */
+public class GameBoard implements IoEngine.Drawable
+{
+    /**
+     * An interface for objects that need to follow changes to a {@link GameBoard}
+     * as they happen, instead of rescanning the whole {@link GameBoard}.
+     */
+    public static interface Listener
+    {
+        /**
+         * Called after the {@link Cell} at a position has changed.
+         * @param position The position of the change.
+         * @param before The {@link Cell} that was there ({@link Cell#EMPTY} if there was none).
+         * @param after The {@link Cell} that is there now ({@link Cell#EMPTY} if there is none).
+         */
+        default void cellChanged(IntVector2 position, Cell before, Cell after) {}
+
+        /**
+         * Called after a {@link Snake} segment starts occupying a position.
+         * @param position The newly occupied position.
+         */
+        default void snakeEntered(IntVector2 position) {}
+
+        /**
+         * Called after a {@link Snake} segment stops occupying a position.
+         * @param position The position that is no longer occupied.
+         */
+        default void snakeLeft(IntVector2 position) {}
+    }
+
+    /**
+     * Receives positions on a {@link GameBoard} as coordinates, without an {@link IntVector2} for each.
+     * @see GameBoard#forEachWall(PositionConsumer)
+     */
+    @FunctionalInterface
+    public static interface PositionConsumer
+    {
+        /**
+         * @param x The x coordinate.
+         * @param y The y coordinate.
+         */
+        void accept(int x, int y);
+    }
+
+    /**
+     * The ways the edges of a {@link GameBoard} can behave.
+     */
+    public static enum Topology
+    {
+        /** Moving off an edge leaves the {@link GameBoard}, which is a crash. */
+        BOUNDED,
+        /**
+         * Moving off an edge comes back in from the opposite one, so a {@link Snake} never
+         * leaves the {@link GameBoard}, and it needs no {@link Wall}s around it.
+         */
+        TOROIDAL;
+    }
+
+    /** The random number generator for all {@link GameBoard}s.*/
+    private static final Random random = Shared.random;
+
+    /** A map of all nonempty {@link Cell}s, apart from the {@link #packedWalls}. */
+    private final Map<IntVector2, Cell> cells = new HashMap<>();
+
+    /**
+     * {@link Wall}s loaded in bulk, e.g. from a {@link LevelFile}, kept as one bit per cell
+     * at {@code y * width + x} instead of as {@link Wall} objects in {@link #cells}.  They only
+     * become {@link Wall} objects when they are looked at, or taken off the board.
+     */
+    private final BitSet packedWalls;
+    /** The number of {@link #packedWalls}. */
+    private int packedWallCount;
+
+    /** The size of this {@link GameBoard} in {@link Cell} dimensions. */
+    private final IntVector2 size;
+
+    /** How the edges of this {@link GameBoard} behave. */
+    private final Topology topology;
+
+    /** Everything that follows changes to this {@link GameBoard}. */
+    private final List<GameBoard.Listener> listeners = new ArrayList<>();
+
+    /** Occupancy counts of this {@link GameBoard} at multiple resolutions. */
+    private final OccupancyPyramid occupancy;
+
+    /** Where a new {@link Snake} can safely start, or {@code null} until it is first needed. */
+    private SpawnIndex spawnIndex = null;
+
+    /** Where the {@link Apple}s are, or {@code null} until it is first needed. */
+    private AppleIndex appleIndex = null;
+
+    /** The {@link Apple}s eaten since they were last {@link #respawnEatenApples(Snake) respawned}. */
+    private final List<Apple> eatenApples = new ArrayList<>();
+
+    /**
+     * Constructs a {@link GameBoard}.
+     * @param size The dimensions of the {@link GameBoard}, in {@link Cell}s, as an {@link IntVector2}.
+     * @param wallPositions A {@link Set} of {@link IntVector2}s specifying the positions of all of the 
+     *                      {@link Wall}s on the {@link GameBoard}.
+     */
+    public GameBoard(IntVector2 size, Set<IntVector2> wallPositions)
+    {
+        this(size, wallPositions, Topology.BOUNDED);
+    }
+
+    /**
+     * Constructs a {@link GameBoard}.
+     * @param size The dimensions of the {@link GameBoard}, in {@link Cell}s, as an {@link IntVector2}.
+     * @param wallPositions A {@link Set} of {@link IntVector2}s specifying the positions of all of the 
+     *                      {@link Wall}s on the {@link GameBoard}.
+     * @param topology How the edges of the {@link GameBoard} behave.
+     */
+    public GameBoard(IntVector2 size, Set<IntVector2> wallPositions, Topology topology)
+    {
+        this(size, new BitSet(), topology);
+        Objects.requireNonNull(wallPositions, "wallPositions cannot be null.")
+            .stream().forEach(position -> putCell(new Wall(position)));
+    }
+
+    /**
+     * Constructs a {@link GameBoard} from {@link Wall}s packed one bit per cell, without
+     * creating a {@link Wall} (or an {@link IntVector2}) for each of them.
+     * @param size The dimensions of the {@link GameBoard}, in {@link Cell}s, as an {@link IntVector2}.
+     * @param walls The positions of all of the {@link Wall}s, as bit {@code y * width + x}.
+     *              The {@link GameBoard} takes it over, and changes it as {@link Wall}s are removed.
+     * @throws IllegalArgumentException If {@code walls} has bits past the end of the {@link GameBoard}.
+     */
+    public GameBoard(IntVector2 size, BitSet walls)
+    {
+        this(size, walls, Topology.BOUNDED);
+    }
+
+    /**
+     * Constructs a {@link GameBoard} from {@link Wall}s packed one bit per cell, without
+     * creating a {@link Wall} (or an {@link IntVector2}) for each of them.
+     * @param size The dimensions of the {@link GameBoard}, in {@link Cell}s, as an {@link IntVector2}.
+     * @param walls The positions of all of the {@link Wall}s, as bit {@code y * width + x}.
+     *              The {@link GameBoard} takes it over, and changes it as {@link Wall}s are removed.
+     * @param topology How the edges of the {@link GameBoard} behave.
+     * @throws IllegalArgumentException If {@code walls} has bits past the end of the {@link GameBoard}.
+     */
+    public GameBoard(IntVector2 size, BitSet walls, Topology topology)
+    {
+        this.size = Objects.requireNonNull(size, "size cannot be null.");
+        this.topology = Objects.requireNonNull(topology, "topology cannot be null.");
+        this.packedWalls = Objects.requireNonNull(walls, "walls cannot be null.");
+        if (walls.length() > (long)size.getX() * size.getY())
+        {
+            throw new IllegalArgumentException("walls has bits past the end of the board.");
+        }
+        this.packedWallCount = walls.cardinality();
+        this.occupancy = new OccupancyPyramid(size);
+        occupancy.addAll(OccupancyPyramid.Layer.WALL, walls);
+        addListener(occupancy);
+    }
+
+    /**
+     * 
+     * @param size
+     * @return
+     */
+    public static Set<IntVector2> boundingWalls(IntVector2 size)
+    {
+        Set<IntVector2> walls = new HashSet<>();
+        IntStream.range(0, size.getX()).forEach(x -> {
+            walls.add(IntVector2.of(x, 0));
+            walls.add(IntVector2.of(x, size.getY() - 1));
+        });
+        IntStream.range(1, size.getY() - 1).forEach(y -> {
+            walls.add(IntVector2.of(0, y));
+            walls.add(IntVector2.of(size.getX() - 1, y));
+        });
+        return walls;
+    }
+
+    /**
+     * @return The size of this {@link GameBoard} in {@link Cell} dimensions.
+     */
+    public IntVector2 getSize()
+    {
+        return size;
+    }
+    
+    /**
+     * @return How the edges of this {@link GameBoard} behave.
+     */
+    public Topology getTopology()
+    {
+        return topology;
+    }
+
+    /**
+     * @return {@code true} if moving off an edge of this {@link GameBoard} comes back in from
+     *         the opposite one.
+     * @see Topology#TOROIDAL
+     */
+    public boolean isToroidal()
+    {
+        return topology == Topology.TOROIDAL;
+    }
+
+    /**
+     * @return The occupancy counts of this {@link GameBoard}, kept up to date as it changes.
+     */
+    public OccupancyPyramid getOccupancy()
+    {
+        return occupancy;
+    }
+
+    /**
+     * Starts notifying the given {@link GameBoard.Listener} of changes to this {@link GameBoard}.
+     * @param listener The {@link GameBoard.Listener} to add.
+     */
+    public void addListener(GameBoard.Listener listener)
+    {
+        listeners.add(Objects.requireNonNull(listener, "listener cannot be null."));
+    }
+
+    /**
+     * Stops notifying the given {@link GameBoard.Listener} of changes to this {@link GameBoard}.
+     * @param listener The {@link GameBoard.Listener} to remove.
+     */
+    public void removeListener(GameBoard.Listener listener)
+    {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Records that a {@link Snake} now occupies this {@link GameBoard}.
+     * @param snake The {@link Snake} being placed.
+     */
+    public void placeSnake(Snake snake)
+    {
+        snake.getTail().stream().forEach(this::snakeEntered);
+        snakeEntered(snake.getHead());
+    }
+
+    /**
+     * Records that a {@link Snake} no longer occupies this {@link GameBoard}.
+     * @param snake The {@link Snake} being removed.
+     */
+    public void removeSnake(Snake snake)
+    {
+        snake.getTail().stream().forEach(this::snakeLeft);
+        snakeLeft(snake.getHead());
+    }
+
+    /**
+     * Records the effects of a single {@link Snake#move()} on this {@link GameBoard}.
+     * Only the new head and the vacated tail segment change, so this is constant time.
+     * @param moved The {@link Snake} that was returned by {@link Snake#move()}.
+     */
+    public void snakeMoved(Snake moved)
+    {
+        snakeEntered(moved.getHead());
+        if (moved.getVacated() != null)
+        {
+            snakeLeft(moved.getVacated());
+        }
+    }
+
+    /**
+     * @param pos The position that a {@link Snake} segment now occupies.
+     */
+    private void snakeEntered(IntVector2 pos)
+    {
+        if (isInBounds(pos)) { listeners.forEach(l -> l.snakeEntered(pos)); }
+    }
+
+    /**
+     * @param pos The position that a {@link Snake} segment no longer occupies.
+     */
+    private void snakeLeft(IntVector2 pos)
+    {
+        if (isInBounds(pos)) { listeners.forEach(l -> l.snakeLeft(pos)); }
+    }
+
+    /**
+     * @return The width of this {@link GameBoard} in {@link Cell} dimensions.
+     * @see #getSize()
+     * @see IntVector2#getX()
+     */
+    public int getWidth()
+    {
+        return getSize().getX();
+    }
+    
+    /**
+     * @return The height of this {@link GameBoard} in {@link Cell} dimensions.
+     * @see #getSize()
+     * @see IntVector2#getY()
+     */
+    public int getHeight()
+    {
+        return getSize().getY();
+    }
+    
+    /**
+     * @return A random x position within the bounds of this {@link GameBoard}.
+     * @see java.util.Random#nextInt(int)
+     * @see #getWidth()
+     */
+    public int getRandomX()
+    {
+        return GameBoard.random.nextInt(getWidth());
+    }
+    
+    /**
+     * @return A random y position within the bounds of this {@link GameBoard}.
+     * @see java.util.Random#nextInt(int)
+     * @see #getHeight()
+     */
+    public int getRandomY()
+    {
+        return GameBoard.random.nextInt(getHeight());
+    }
+
+    /**
+     * @return A random {@link IntVector2} within the bounds of this {@link GameBoard}.
+     */
+    public IntVector2 getRandomVector()
+    {
+        return IntVector2.of(getRandomX(), getRandomY());
+    }
+
+    /**
+     * Is this X value in bounds?
+     * @param x The x value to check.
+     * @return {@code true} if it is, otherwise {@code false}.
+     */
+    private boolean _isInBoundsX(int x)
+    {
+        return 0 <= x && x < getWidth();
+    }
+
+    /**
+     * Is this Y value in bounds?
+     * @param y The y value to check.
+     * @return {@code true} if it is, otherwise {@code false}.
+     */
+    private boolean _isInBoundsY(int y)
+    {
+        return 0 <= y && y < getHeight();
+    }
+
+    /**
+     * Is this position in bounds?
+     * @param pos The position to check, as an {@link IntVector2}.
+     * @return {@code true} if it is, otherwise {@code false}.
+     */
+    public boolean isInBounds(IntVector2 pos)
+    {
+        return _isInBoundsX(pos.getX()) && _isInBoundsY(pos.getY());
+    }
+
+    /**
+     * Throws an exception if the coordinates are out of bounds.
+     * @param x The x coordinate to check.
+     * @param y The y coordinate to check.
+     * @return If the coordinates are in bounds, this {@link GameBoard}.
+     * @throws IndexOutOfBoundsException
+     */
+    private GameBoard _thisOrThrowIfOutOfBounds(int x, int y)
+    {
+        if (!_isInBoundsX(x))
+        {
+            throw new IndexOutOfBoundsException(String.format("x is %d - allowed range is 0 to %d", x, getWidth() - 1));
+        }
+        if (!_isInBoundsY(y))
+        {
+            throw new IndexOutOfBoundsException(String.format("y is %d - allowed range is 0 to %d", y, getHeight() - 1));
+        }
+        return this;
+    }
+
+    /**
+     * Throws an exception if the coordinates are out of bounds.
+     * @param pos The position to check, as an {@link IntVector2}.
+     * @return If the coordinates are in bounds, this {@link GameBoard}.
+     * @throws IndexOutOfBoundsException
+     */
+    private GameBoard _thisOrThrowIfOutOfBounds(IntVector2 pos)
+    {
+        Objects.requireNonNull(pos, "position vector cannot be null.");
+        return _thisOrThrowIfOutOfBounds(pos.getX(), pos.getY());
+    }
+
+    /**
+     * Puts the given cell on this {@link GameBoard}.
+     * @param cell The {@link Cell} to put on the board.
+     */
+    public void putCell(Cell cell)
+    {
+        final IntVector2 pos = cell.getPosition();
+        if (cell != Cell.EMPTY)
+        {
+            final Cell replaced = _thisOrThrowIfOutOfBounds(pos).cells.put(pos, cell);
+            final Cell before = replaced != null ? replaced : unpack(pos);
+            listeners.forEach(l -> l.cellChanged(pos, before == null ? Cell.EMPTY : before, cell));
+        }
+        else
+        {
+            removeCell(pos);
+        }
+    }
+
+    /**
+     * Gets the requested cell from the board.
+     * @param pos The board position, as an {@link IntVector2}.
+     * @return The {@link Cell} at the requested position.
+     * @throws IndexOutOfBoundsException
+     */
+    public Cell getCell(IntVector2 pos)
+    {
+        final Cell cell = _thisOrThrowIfOutOfBounds(pos).cells.get(pos);
+        if (cell != null) { return cell; }
+        return isPackedWall(pos.getX(), pos.getY()) ? new Wall(pos) : Cell.EMPTY;
+    }
+
+    /**
+     * @param x The x coordinate, in bounds.
+     * @param y The y coordinate, in bounds.
+     * @return {@code true} if there's one of the {@link #packedWalls} there.
+     */
+    private boolean isPackedWall(int x, int y)
+    {
+        return packedWallCount > 0 && packedWalls.get(y * getWidth() + x);
+    }
+
+    /**
+     * Takes one of the {@link #packedWalls} off the board, without notifying anyone.
+     * @param pos The board position, in bounds.
+     * @return The {@link Wall} that was there, or {@code null} if there wasn't one.
+     */
+    private Wall unpack(IntVector2 pos)
+    {
+        if (!isPackedWall(pos.getX(), pos.getY())) { return null; }
+        packedWalls.clear(pos.getY() * getWidth() + pos.getX());
+        packedWallCount--;
+        return new Wall(pos);
+    }
+
+    /**
+     * Removes the cell from the board at the requested position.
+     * @param pos The board position, as an {@link IntVector2}.
+     */
+    public void removeCell(IntVector2 pos)
+    {
+        final Cell removed = _thisOrThrowIfOutOfBounds(pos).cells.remove(pos);
+        final Cell before = removed != null ? removed : unpack(pos);
+        if (before != null)
+        {
+            listeners.forEach(l -> l.cellChanged(pos, before, Cell.EMPTY));
+        }
+    }
+
+    /**
+     * Replaces a {@link Cell} on this {@link GameBoard} with one that may be somewhere else,
+     * e.g. a {@link MovingWall} with the one a step further along its patrol: the old
+     * position is emptied and the new one filled, so each {@link Listener} hears about the
+     * two cells that changed, and nothing else.
+     * @param from The {@link Cell}, on this {@link GameBoard}.
+     * @param to The {@link Cell} to put in its place.
+     * @throws IndexOutOfBoundsException If either position is out of bounds.
+     */
+    public void moveCell(Cell from, Cell to)
+    {
+        if (from == to) { return; }
+        if (!from.getPosition().equals(to.getPosition()))
+        {
+            removeCell(from.getPosition());
+        }
+        putCell(to);
+    }
+
+    /**
+     * Gets the requested cell from the {@link GameBoard}.
+     * @param x The X coordinate.
+     * @param y The Y coordinate.
+     * @return The {@link Cell} at the requested position.
+     */
+    public Cell getCell(int x, int y)
+    {
+        return getCell(IntVector2.of(x, y));
+    }
+    
+    public void removeCell(int x, int y)
+    {
+        removeCell(IntVector2.of(x, y));
+    }
+    
+    public boolean isWall(int x, int y)
+    {
+        return isWall(IntVector2.of(x, y));
+    }
+    
+    public boolean isWall(IntVector2 pos)
+    {
+        _thisOrThrowIfOutOfBounds(pos);
+        return isPackedWall(pos.getX(), pos.getY()) || cells.get(pos) instanceof Wall;
+    }
+    
+    /**
+     * Draws every {@link Cell} on this {@link GameBoard}.  The {@link #packedWalls} are drawn
+     * straight from their bits, without a {@link Wall} object for each of them.
+     * @param io The {@link IoEngine} used to draw the {@link Cell}s.
+     */
+    public void draw(IoEngine io)
+    {
+        forEachPackedWall((x, y) -> Wall.drawAt(io, x, y));
+        unpackedCells().forEach(io::draw);
+    }
+
+    /**
+     * Visits the position of every {@link Wall} on this {@link GameBoard}, in no particular
+     * order, without creating a {@link Wall} for any of the {@link #packedWalls}.
+     * @param action What to do with each position.
+     */
+    public void forEachWall(PositionConsumer action)
+    {
+        forEachPackedWall(action);
+        for (Cell cell : cells.values())
+        {
+            if (cell instanceof Wall)
+            {
+                action.accept(cell.getPosition().getX(), cell.getPosition().getY());
+            }
+        }
+    }
+
+    /**
+     * Visits the position of every one of the {@link #packedWalls}.
+     * @param action What to do with each position.
+     */
+    private void forEachPackedWall(PositionConsumer action)
+    {
+        final int width = getWidth();
+        for (int i = packedWalls.nextSetBit(0); i >= 0; i = packedWalls.nextSetBit(i + 1))
+        {
+            action.accept(i % width, i / width);
+        }
+    }
+
+    /**
+     * @return A {@link Stream} of all nonempty {@link Cell}s on this {@link GameBoard}.
+     *         Any {@link #packedWalls} are turned into {@link Wall}s as they are streamed,
+     *         so code that runs every tick or every frame should use
+     *         {@link #forEachWall(PositionConsumer)} or {@link #draw(IoEngine)} instead.
+     */
+    public Stream<Cell> cells()
+    {
+        if (packedWallCount == 0) { return unpackedCells(); }
+
+        final int width = getWidth();
+        return Stream.concat(
+            packedWalls.stream().mapToObj(i -> new Wall(IntVector2.of(i % width, i / width))),
+            unpackedCells());
+    }
+
+    /**
+     * @return A {@link Stream} of all nonempty {@link Cell}s on this {@link GameBoard},
+     *         apart from the {@link #packedWalls}.
+     */
+    Stream<Cell> unpackedCells()
+    {
+        return cells.values().stream();
+    }
+
+    /**
+     * @return The {@link #packedWalls}, one bit per cell at {@code y * width + x}.  Not to be changed.
+     */
+    BitSet packedWalls()
+    {
+        return packedWalls;
+    }
+
+    /**
+     * Draws only the {@link Cell}s within a rectangular region of this {@link GameBoard}.
+     * When the region holds fewer positions than there are nonempty {@link Cell}s, the
+     * region is scanned, so the cost is bounded by the size of the region instead of the
+     * size of the {@link GameBoard}.
+     * @param io The {@link IoEngine} used to draw the {@link Cell}s.
+     * @param x0 The x coordinate of the left edge of the region (inclusive).
+     * @param y0 The y coordinate of the top edge of the region (inclusive).
+     * @param x1 The x coordinate of the right edge of the region (inclusive).
+     * @param y1 The y coordinate of the bottom edge of the region (inclusive).
+     */
+    public void drawRegion(IoEngine io, int x0, int y0, int x1, int y1)
+    {
+        final int left   = Math.max(x0, 0);
+        final int top    = Math.max(y0, 0);
+        final int right  = Math.min(x1, getWidth() - 1);
+        final int bottom = Math.min(y1, getHeight() - 1);
+        if (left > right || top > bottom) { return; }
+
+        if ((long)(right - left + 1) * (bottom - top + 1) >= cells.size() + packedWallCount)
+        {
+            draw(io);
+            return;
+        }
+        for (int y = top; y <= bottom; y++)
+        {
+            for (int x = left; x <= right; x++)
+            {
+                if (isPackedWall(x, y))
+                {
+                    Wall.drawAt(io, x, y);
+                    continue;
+                }
+                final Cell cell = cells.get(IntVector2.of(x, y));
+                if (cell != null) { io.draw(cell); }
+            }
+        }
+    }
+    
+    public boolean isEmptyCell(IntVector2 pos)
+    {
+        return isInBounds(pos) && !isPackedWall(pos.getX(), pos.getY()) && !cells.containsKey(pos);
+    }
+
+    /**
+     * @return The index of where a new {@link Snake} can safely start on this {@link GameBoard},
+     *         built the first time it is asked for, and kept up to date as this
+     *         {@link GameBoard} changes from then on.
+     */
+    public SpawnIndex getSpawnIndex()
+    {
+        if (spawnIndex == null)
+        {
+            spawnIndex = new SpawnIndex(this, Shared.Settings.Game.initialSafetySpaces + 1);
+            addListener(spawnIndex);
+        }
+        return spawnIndex;
+    }
+
+    /**
+     * @return The index of where the {@link Apple}s on this {@link GameBoard} are, built the
+     *         first time it is asked for, and kept up to date as this {@link GameBoard}
+     *         changes from then on.
+     */
+    public AppleIndex getAppleIndex()
+    {
+        if (appleIndex == null)
+        {
+            appleIndex = new AppleIndex(this);
+            addListener(appleIndex);
+        }
+        return appleIndex;
+    }
+
+    /**
+     * Takes an eaten {@link Apple} off this {@link GameBoard}, to be replaced by the next
+     * {@link #respawnEatenApples(Snake)}.
+     * @param apple The {@link Apple}.
+     */
+    public void eatApple(Apple apple)
+    {
+        removeCell(apple.getPosition());
+        eatenApples.add(apple);
+    }
+
+    /**
+     * Takes an {@link Apple} that has been in place for its {@link Apple#getLifetime() lifetime}
+     * off this {@link GameBoard}, to be put somewhere else by the next
+     * {@link #respawnEatenApples(Snake)}, the same as if it had been eaten.
+     * @param apple The {@link Apple}.
+     */
+    public void expireApple(Apple apple)
+    {
+        eatApple(apple);
+    }
+
+    /**
+     * @return {@code true} if there are {@link Apple}s waiting for {@link #respawnEatenApples(Snake)}.
+     */
+    public boolean hasEatenApples()
+    {
+        return !eatenApples.isEmpty();
+    }
+
+    /**
+     * Replaces every {@link Apple} {@link #eatApple(Apple) eaten} since the last time, in one
+     * go, with one worth the same at a random empty position the {@link Snake} isn't on.<p>
+     *
+     * Each replacement gets up to {@link Shared.Settings.Game#respawnSamples} random
+     * positions; one that doesn't find room in that many waits for the next call, so a
+     * {@link GameBoard} that is nearly full neither hangs the game nor loses the {@link Apple}.
+     * @param snake The {@link Snake} on this {@link GameBoard}.
+     * @return The number of {@link Apple}s put back.
+     */
+    public int respawnEatenApples(Snake snake)
+    {
+        return respawnEatenApples(snake, apple -> {});
+    }
+
+    /**
+     * Replaces every {@link Apple} {@link #eatApple(Apple) eaten} since the last time, as
+     * {@link #respawnEatenApples(Snake)} does.
+     * @param snake The {@link Snake} on this {@link GameBoard}.
+     * @param placed What to do with each new {@link Apple}, once it is on this {@link GameBoard}.
+     * @return The number of {@link Apple}s put back.
+     */
+    public int respawnEatenApples(Snake snake, Consumer<? super Apple> placed)
+    {
+        if (eatenApples.isEmpty()) { return 0; }
+
+        final SpawnEvent event = FlightEvents.isRecording() ? new SpawnEvent() : null;
+        if (event != null) { event.begin(); }
+
+        int attempts = 0, respawned = 0;
+        for (Iterator<Apple> it = eatenApples.iterator(); it.hasNext(); )
+        {
+            final Apple eaten = it.next();
+            for (int n = 0; n < Shared.Settings.Game.respawnSamples; n++)
+            {
+                final IntVector2 pos = getRandomVector();
+                attempts++;
+                if (isEmptyCell(pos) && !snake.contains(pos))
+                {
+                    final Apple apple = Apple.with().positionAs(pos)
+                        .pointsAs(eaten.getPoints())
+                        .growthAmountAs(eaten.getGrowthAmount())
+                        .lifetimeAs(eaten.getLifetime())
+                        .make();
+                    putCell(apple);
+                    placed.accept(apple);
+                    it.remove();
+                    respawned++;
+                    break;
+                }
+            }
+        }
+
+        if (event != null && event.shouldCommit())
+        {
+            event.what = "apple";
+            event.attempts = attempts;
+            event.candidates = respawned;
+            event.commit();
+        }
+        return respawned;
+    }
+
+    /**
+     * Creates an initial snake for the board.
+     * The {@link Snake} returned is guaranteed to be positioned and moving
+     * in a direction such that it won't immediately crash into an obstacle,
+     * i.e. it can move forward {@link Shared.Settings.Game#initialSafetySpaces} times.<p>
+     *
+     * The tail is picked uniformly from the {@link SpawnIndex}'s safe tails, and the
+     * direction uniformly from the safe directions out of it.
+     * @return The initial {@link Snake}.
+     * @throws IllegalStateException If there's no room for a {@link Snake} anywhere.
+     */
+    public Snake babySnake()
+    {
+        final SpawnEvent event = FlightEvents.isRecording() ? new SpawnEvent() : null;
+        if (event != null) { event.begin(); }
+
+        final SpawnIndex index = getSpawnIndex();
+        final IntVector2 tail = index.randomSafeTail(random);
+        if (tail == null)
+        {
+            throw new IllegalStateException("there is no room for a snake on this board.");
+        }
+        final List<IntVector2> directions = index.safeDirectionsFrom(tail);
+        final IntVector2 direction = directions.get(random.nextInt(directions.size()));
+
+        if (event != null && event.shouldCommit())
+        {
+            event.what = "snake";
+            event.attempts = 1;
+            event.candidates = index.getSafeTailCount();
+            event.commit();
+        }
+
+        return babySnake(direction, tail);
+    }
+
+    /**
+     * Creates a {@link Snake} to replace one that crashed, on this {@link GameBoard} as it is,
+     * once the crashed one has been {@link #removeSnake(Snake) removed}.<p>
+     *
+     * This is {@link #babySnake()}, unless this {@link GameBoard} is too big for its
+     * {@link SpawnIndex} to be worth building, and it hasn't been built yet (e.g. for a big
+     * {@link LevelFile}).  Then random tails and directions are tried until one has room,
+     * which doesn't take long unless there's hardly any room anywhere.
+     * @return The new {@link Snake}.
+     * @throws IllegalStateException If there's no room for a {@link Snake} anywhere.
+     * @see Shared.Settings.Game#spawnIndexMaxCells
+     */
+    public Snake respawnSnake()
+    {
+        if (spawnIndex == null && (long)getWidth() * getHeight() > Shared.Settings.Game.spawnIndexMaxCells)
+        {
+            final List<IntVector2> directions = new ArrayList<>(IntVector2.DIRECTIONS);
+            for (int n = 0; n < Shared.Settings.Game.respawnSamples; n++)
+            {
+                final IntVector2 tail = getRandomVector();
+                final IntVector2 direction = directions.get(random.nextInt(directions.size()));
+                if (hasRoomFor(tail, direction))
+                {
+                    return babySnake(direction, tail);
+                }
+            }
+        }
+        return babySnake();
+    }
+
+    /**
+     * @param tail Where the tail of a {@link Snake} would start.
+     * @param direction Which way it would head.
+     * @return {@code true} if the tail is empty, and the {@link Snake} can move as far as a
+     *         {@link SpawnIndex} requires of a safe tail without crashing.
+     */
+    boolean hasRoomFor(IntVector2 tail, IntVector2 direction)
+    {
+        if (!isEmptyCell(tail)) { return false; }
+        for (int n = 1; n <= Shared.Settings.Game.initialSafetySpaces + 1; n++)
+        {
+            final IntVector2 ahead = tail.plus(direction.times(n));
+            if (!isInBounds(ahead) || isWall(ahead)) { return false; }
+        }
+        return true;
+    }
+
+    /**
+     * @param direction Which way the {@link Snake} heads.
+     * @param tail Where its tail is; its head is the next cell in {@code direction}, which
+     *             must be on this {@link GameBoard}.
+     * @return A baby {@link Snake}, which {@link Snake#wrappingAround(IntVector2) wraps around}
+     *         this {@link GameBoard} if it is {@link #isToroidal() toroidal}.
+     */
+    Snake babySnake(IntVector2 direction, IntVector2 tail)
+    {
+        final Snake snake = Snake.baby(direction, tail.plus(direction), tail);
+        return isToroidal() ? snake.wrappingAround(size) : snake;
+    }
+}
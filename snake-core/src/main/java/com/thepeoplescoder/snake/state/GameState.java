@@ -6,20 +6,24 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.Random;
 import java.util.Set;
-import java.util.function.BiConsumer;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntUnaryOperator;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import com.thepeoplescoder.snake.Shared;
 import com.thepeoplescoder.snake.cell.Apple;
 import com.thepeoplescoder.snake.cell.Cell;
+import com.thepeoplescoder.snake.cell.MovingWall;
 import com.thepeoplescoder.snake.input.GameInputEvent;
 import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.metrics.events.FlightEvents;
+import com.thepeoplescoder.snake.metrics.events.InputAppliedEvent;
+import com.thepeoplescoder.snake.metrics.events.SpawnEvent;
+import com.thepeoplescoder.snake.metrics.events.TickEvent;
 import com.thepeoplescoder.snake.view.IoEngine;
 
 /**
@@ -29,7 +33,9 @@ import com.thepeoplescoder.snake.view.IoEngine;
  * The game state can only be advanced by creating new {@link GameState} objects.<p>
  * 
  * Any mutable objects that the state holds onto, get mutated by posting events to
- * a game event queue, which then gets processed by {@link #nextState()}.
+ * a game event queue, which then gets processed by {@link #nextState()}.  Events can also be
+ * {@link #schedule(int, Function) scheduled} a number of ticks ahead, on a {@link TimingWheel},
+ * so that timed effects cost nothing on the ticks in between.
  */
 public class GameState implements IoEngine.Drawable
 {
@@ -57,6 +63,10 @@ public class GameState implements IoEngine.Drawable
     private final int level;
     /** The number of apples remaining to reach the next level. */
     private final int applesRemaining;
+    /** The number of lives left, counting the one being played. */
+    private final int lives;
+    /** The next {@link Level}, being prepared in the background, or {@code null} to build it when it's reached. */
+    private final CompletableFuture<Level> upcomingLevel;
 
     /** This is {@code true} if the game loop should end, and the application should terminate. */
     private final boolean done;
@@ -66,10 +76,21 @@ public class GameState implements IoEngine.Drawable
     /** The little game over message. */
     private final String littleGameOverMessage;
 
+    /**
+     * The captured input most recently applied to this sequence of states, or {@code null}.
+     * It gets passed from state to state.
+     */
+    private final GameInputEvent lastCapturedInput;
+
     /** The input queue for the entire game.  It gets passed from state to state. */
     private final Queue<GameInputEvent> sharedInputQueue;
     /** The queue for other game events that modify mutable state. It gets passed from state to state.*/
     private final Queue<Function<? super GameState, ? extends GameState>> sharedGameEventQueue;
+    /** Game events scheduled for later ticks.  It gets passed from state to state. */
+    private final TimingWheel<Function<? super GameState, ? extends GameState>> sharedTimers;
+
+    /** The number of ticks played, not counting paused ones, when this state was made. */
+    private final long tick;
 
     /**
      * General constructor for a {@code GameState}.
@@ -87,6 +108,7 @@ public class GameState implements IoEngine.Drawable
     {
         Objects.requireNonNull(gsb.inputQueue, "input queue cannot be null.");
         Objects.requireNonNull(gsb.gameEventQueue, "game event queue cannot be null.");
+        Objects.requireNonNull(gsb.timers, "timers cannot be null.");
 
         if (gsb.paused) { gsb.inputQueue.clear(); }
 
@@ -97,9 +119,14 @@ public class GameState implements IoEngine.Drawable
         this.score                 = Objects.requireNonNull(gsb.score, "score cannot be null.");
         this.level                 = gsb.level;
         this.applesRemaining       = gsb.applesRemaining;
+        this.lives                 = gsb.lives;
+        this.upcomingLevel         = gsb.upcomingLevel;
         this.sharedInputQueue            = gsb.inputQueue;
         this.sharedGameEventQueue        = gsb.gameEventQueue;
+        this.sharedTimers          = gsb.timers;
+        this.tick                  = gsb.timers.getTick();
         this.littleGameOverMessage = gsb.littleGameOverMessage;
+        this.lastCapturedInput     = gsb.lastCapturedInput;
     }
     
     public String getLittleGameOverMessage()
@@ -110,13 +137,15 @@ public class GameState implements IoEngine.Drawable
     public static GameState startWith(GameBoard board, Snake snake)
     {
         return GameState.with().boardAs(board).snakeAs(snake).aNewScore()
-            .anEmptyInputQueue().anEmptyGameEventQueue()
+            .anEmptyInputQueue().anEmptyGameEventQueue().anEmptyTimingWheel()
             .make();
     }
     
     public static GameState startWith(GameBoard board)
     {
-        return GameState.startWith(board, board.babySnake());
+        final Snake snake = board.babySnake();
+        board.placeSnake(snake);
+        return GameState.startWith(board, snake);
     }
     
     public static GameState startWith(IntVector2 size, Set<IntVector2> walls)
@@ -130,36 +159,17 @@ public class GameState implements IoEngine.Drawable
     }
     
     /**
-     * @return The initial {@link GameState}.
+     * @return The initial {@link GameState}, on level 1, with level 2 already being prepared.
      */
     public static GameState initial()
     {
-        IntVector2 size = IntVector2.of(40, 40).cache();
-        IntVector2 center = IntVector2.of(size.getX() / 2, size.getY() / 2);
-
-        Set<IntVector2> walls = GameBoard.boundingWalls(size);
-
-        BiConsumer<IntVector2, Integer> placePlusOnBoard =
-            (pos, length) -> {
-                walls.add(pos);
-                IntStream.range(1, length).forEach(n ->
-                    IntVector2.DIRECTIONS.stream()
-                        .map(d -> d.times(n).plus(pos))
-                        .forEach(walls::add));
-            };
-
-        placePlusOnBoard.accept(center, 10);
-        placePlusOnBoard.accept(center.plus(-10, -10), 5);
-        placePlusOnBoard.accept(center.plus(10, -10), 5);
-        placePlusOnBoard.accept(center.plus(-10, 10), 5);
-        placePlusOnBoard.accept(center.plus(10, 10), 5);
-
-        return GameState.startWith(size, walls).call(_gs -> {
-            _gs.getBoard().putCell(Apple.with().positionAs(_gs.getRandomEmptyCell())
-                .pointsAs(100)
-                .growthAmountAs(Shared.Settings.Game.growthStepsPerApple)
-                .make());
-        });
+        final Level first = Level.build(1);
+        return GameState.from(GameState.startWith(first.getBoard(), first.getSnake()))
+            .applesRemainingAs(first.getApplesToPass())
+            .upcomingLevelAs(Level.prepare(first.getNumber() + 1))
+            .make()
+            .scheduleExpiryOfApples()
+            .scheduleMovingWalls();
     }
     
     public GameState call(Function<? super GameState, ? extends GameState> f)
@@ -178,9 +188,23 @@ public class GameState implements IoEngine.Drawable
      */
     public IntVector2 getRandomEmptyCell()
     {
-        return Stream.generate(getBoard()::getRandomVector)
-            .filter(pos -> getBoard().getCell(pos) == Cell.EMPTY && !getSnake().contains(pos))
+        final SpawnEvent event = FlightEvents.isRecording() ? new SpawnEvent() : null;
+        if (event != null) { event.begin(); }
+
+        final int[] attempts = { 0 };
+        final IntVector2 result = Stream.generate(getBoard()::getRandomVector)
+            .peek(pos -> attempts[0]++)
+            .filter(pos -> getBoard().isEmptyCell(pos) && !getSnake().contains(pos))
             .findFirst().get();
+
+        if (event != null && event.shouldCommit())
+        {
+            event.what = "apple";
+            event.attempts = attempts[0];
+            event.candidates = 1;
+            event.commit();
+        }
+        return result;
     }
     
     /**
@@ -216,6 +240,33 @@ public class GameState implements IoEngine.Drawable
     {
         return applesRemaining;
     }
+
+    /**
+     * @return The number of lives left, counting the one being played.
+     */
+    public int getLives()
+    {
+        return lives;
+    }
+
+    /**
+     * @return The number of ticks played when this {@link GameState} was made, not counting
+     *         the ones spent paused or after the game ended.
+     */
+    public long getTick()
+    {
+        return tick;
+    }
+
+    /**
+     * @return The captured input most recently applied to this sequence of states, or {@code null}.
+     * @see GameInputEvent#capturedAt(long)
+     * @see com.thepeoplescoder.snake.metrics.InputLatency
+     */
+    public GameInputEvent getLastCapturedInput()
+    {
+        return lastCapturedInput;
+    }
     
     /**
      * Should the game loop (and application) terminate?
@@ -256,7 +307,8 @@ public class GameState implements IoEngine.Drawable
     }
     
     /**
-     * Is the game over?
+     * Is the game over, i.e. has the {@link Snake} crashed?  {@link #nextState()} only leaves
+     * it crashed on its last life; otherwise it {@link #respawn() respawns} it straight away.
      * @return {@code true} if it is, otherwise {@code false}.
      * @see #getSnake()
      * @see #getBoard()
@@ -328,6 +380,28 @@ public class GameState implements IoEngine.Drawable
      * @return The next {@link GameState}, after processing the game logic for this {@link GameState}.
      */
     public GameState nextState()
+    {
+        if (!FlightEvents.isRecording()) { return computeNextState(); }
+
+        final TickEvent event = new TickEvent();
+        event.begin();
+        final int pendingBefore = getPendingEventCount();
+        final GameState next = computeNextState();
+        if (event.shouldCommit())
+        {
+            event.snakeLength = next.getSnake().getLength();
+            event.eventsProcessed = Math.max(0, pendingBefore - next.getPendingEventCount());
+            event.level = next.getLevel();
+            event.commit();
+        }
+        return next;
+    }
+
+    /**
+     * @return The next {@link GameState}, after processing the game logic for this {@link GameState}.
+     * @see #nextState()
+     */
+    private GameState computeNextState()
     {
         GameState result = getNewStateFromSnakeTouchingCurrentCell();
 
@@ -338,9 +412,205 @@ public class GameState implements IoEngine.Drawable
             return result.nextLevel();
         }
 
+        if (!result.isTerminalState() && !result.isPaused())
+        {
+            result = result.fireTimers();
+        }
+
+        if (!result.isTerminalState() && result.getBoard().hasEatenApples())
+        {
+            result.getBoard().respawnEatenApples(result.getSnake(), result::scheduleExpiryOf);
+        }
+
         result = processAtMostOneInputEventOn(result);
 
-        return result.withSnake(result.getSnake().move());
+        final Snake moved = result.getSnake().move();
+        final GameState next = result.withSnake(moved);
+        if (next.getSnake() == moved)
+        {
+            next.getBoard().snakeMoved(moved);
+        }
+        return next.isGameOver() && next.getLives() > 1 ? next.respawn() : next;
+    }
+
+    /**
+     * Moves the {@link TimingWheel} on by a tick, and applies the game events due on it.
+     * @return The {@link GameState} they leave.
+     */
+    private GameState fireTimers()
+    {
+        sharedTimers.advance();
+        GameState result = this;
+        for (Function<? super GameState, ? extends GameState> event = sharedTimers.pollDue();
+             event != null;
+             event = sharedTimers.pollDue())
+        {
+            result = event.apply(result);
+        }
+        return result;
+    }
+
+    /**
+     * Schedules a game event for a later tick, e.g. for an effect to wear off.  Ticks spent
+     * paused, or after the game ended, don't count; the event doesn't happen if the game is
+     * over by then.
+     * @param ticks How many ticks from now; 1 is the next tick.
+     * @param event The game event.
+     * @return Its {@link TimingWheel.Timer}, which can be {@link TimingWheel.Timer#cancel() cancelled}.
+     * @throws IllegalArgumentException If {@code ticks} is less than 1.
+     */
+    public TimingWheel.Timer<Function<? super GameState, ? extends GameState>>
+        schedule(int ticks, Function<? super GameState, ? extends GameState> event)
+    {
+        return sharedTimers.schedule(ticks, event);
+    }
+
+    /**
+     * @return The number of game events {@link #schedule(int, Function) scheduled} for later ticks.
+     */
+    public int getScheduledEventCount()
+    {
+        return sharedTimers.getPendingCount();
+    }
+
+    /**
+     * Schedules an {@link Apple} with a {@link Apple#getLifetime() lifetime} to move
+     * somewhere else once it is over, unless it has been eaten (or the {@link Level} has
+     * moved on) by then.
+     * @param apple The {@link Apple}, on this {@link GameState}'s {@link GameBoard}.
+     */
+    public void scheduleExpiryOf(Apple apple)
+    {
+        if (apple.getLifetime() <= 0) { return; }
+        schedule(apple.getLifetime(), gs -> {
+            final GameBoard board = gs.getBoard();
+            if (board.isInBounds(apple.getPosition()) && board.getCell(apple.getPosition()) == apple)
+            {
+                board.expireApple(apple);
+            }
+            return gs;
+        });
+    }
+
+    /**
+     * {@link #scheduleExpiryOf(Apple) Schedules the expiry} of every {@link Apple} on the
+     * {@link GameBoard}, at the start of a {@link Level}.
+     * @return This {@link GameState}.
+     */
+    private GameState scheduleExpiryOfApples()
+    {
+        final GameBoard board = getBoard();
+        board.getAppleIndex().forEachWithin(0, 0, board.getWidth() - 1, board.getHeight() - 1, this::scheduleExpiryOf);
+        return this;
+    }
+
+    /**
+     * Schedules a {@link MovingWall}'s next step along its patrol, {@link MovingWall#getPeriod()}
+     * ticks from now, unless it has been taken off the {@link GameBoard} (or the {@link Level}
+     * has moved on) by then.  Each step schedules the one after it, so a {@link MovingWall}
+     * only costs anything on the ticks it moves on.<p>
+     *
+     * A step is taken with {@link GameBoard#moveCell(Cell, Cell)}, so everything following
+     * the {@link GameBoard} only hears about the two cells that changed.  A {@link MovingWall}
+     * whose way is blocked, by another {@link Cell}, the {@link Snake}, or a cell the
+     * {@link Snake}'s head can move into next, turns around instead.
+     * @param wall The {@link MovingWall}, on this {@link GameState}'s {@link GameBoard}.
+     */
+    public void schedulePatrolOf(MovingWall wall)
+    {
+        schedulePatrolOf(wall, wall.getPeriod());
+    }
+
+    /**
+     * Schedules a {@link MovingWall}'s next step along its patrol.
+     * @param wall The {@link MovingWall}, on this {@link GameState}'s {@link GameBoard}.
+     * @param ticks How many ticks from now.
+     * @see #schedulePatrolOf(MovingWall)
+     */
+    private void schedulePatrolOf(MovingWall wall, int ticks)
+    {
+        schedule(ticks, gs -> {
+            final GameBoard board = gs.getBoard();
+            if (board.isInBounds(wall.getPosition()) && board.getCell(wall.getPosition()) == wall)
+            {
+                final MovingWall moved = gs.isClearForMovingWall(wall.getNextPosition()) ? wall.next() : wall.turnedAround();
+                board.moveCell(wall, moved);
+                gs.schedulePatrolOf(moved);
+            }
+            return gs;
+        });
+    }
+
+    /**
+     * @param pos A position.
+     * @return {@code true} if a {@link MovingWall} can step onto it: it is an empty cell on
+     *         the {@link GameBoard}, and neither the {@link Snake} nor any cell its head can
+     *         move into next.  Patrols move before input is handled on a tick, so a cell the
+     *         {@link Snake} is about to turn into has to be kept clear as well as the one ahead.
+     */
+    private boolean isClearForMovingWall(IntVector2 pos)
+    {
+        final GameBoard board = getBoard();
+        if (!board.isEmptyCell(pos) || snake.contains(pos)) { return false; }
+        final IntVector2 d = snake.getDirection();
+        return !isOneStepFromHead(pos, d.getX(), d.getY())
+            && !isOneStepFromHead(pos, -d.getY(), d.getX())
+            && !isOneStepFromHead(pos, d.getY(), -d.getX());
+    }
+
+    /**
+     * @param pos A position.
+     * @param dx The x component of a step.
+     * @param dy The y component of a step.
+     * @return {@code true} if that step takes the {@link Snake}'s head to {@code pos},
+     *         wrapping around the edges of a toroidal {@link GameBoard}.
+     */
+    private boolean isOneStepFromHead(IntVector2 pos, int dx, int dy)
+    {
+        final GameBoard board = getBoard();
+        final IntVector2 head = snake.getHead();
+        int x = head.getX() + dx, y = head.getY() + dy;
+        if (board.isToroidal())
+        {
+            x = IntVector2.wrap(x, board.getWidth());
+            y = IntVector2.wrap(y, board.getHeight());
+        }
+        return pos.equals(x, y);
+    }
+
+    /**
+     * {@link #schedulePatrolOf(MovingWall) Schedules the patrol} of every {@link MovingWall}
+     * on the {@link GameBoard}, at the start of a {@link Level}, each starting on a random
+     * tick within its period, so that they don't all move on the same ticks.
+     * @return This {@link GameState}.
+     */
+    private GameState scheduleMovingWalls()
+    {
+        getBoard().unpackedCells()
+            .filter(cell -> cell instanceof MovingWall)
+            .map(cell -> (MovingWall)cell)
+            .forEach(wall -> schedulePatrolOf(wall, 1 + random.nextInt(wall.getPeriod())));
+        return this;
+    }
+
+    /**
+     * Takes a life, and starts a new {@link Snake} in place of the crashed one, keeping
+     * the {@link GameBoard}, the {@link Score} and the {@link Level} as they are.<p>
+     *
+     * The crashed {@link Snake} is taken off the {@link GameBoard} one segment at a time,
+     * and the new one comes from {@link GameBoard#respawnSnake()}, which picks it from the
+     * {@link SpawnIndex} the {@link GameBoard} already keeps up to date, so nothing is rebuilt.
+     * Input meant for the crashed {@link Snake} is thrown away.
+     * @return The first {@link GameState} with the new {@link Snake}.
+     */
+    public GameState respawn()
+    {
+        final GameBoard board = getBoard();
+        board.removeSnake(getSnake());
+        final Snake snake = board.respawnSnake();
+        board.placeSnake(snake);
+        sharedInputQueue.clear();
+        return GameState.from(this).snakeAs(snake).livesAs(lives - 1).make();
     }
 
     public boolean isLevelPassed()
@@ -348,16 +618,65 @@ public class GameState implements IoEngine.Drawable
         return getApplesRemaining() < 1;
     }
 
+    /**
+     * Moves on to the next {@link Level}, keeping the {@link Score}, and starts preparing the one after it.<p>
+     *
+     * The next {@link Level} has usually been ready for a while, so this only swaps in its
+     * {@link GameBoard} and {@link Snake}; if it isn't, this waits for it.
+     * @return The first {@link GameState} of the next {@link Level}.
+     */
     public GameState nextLevel()
     {
-        System.out.println("Levels are not implemented yet.");
-        System.exit(0);
-        return this;
+        final Level next = upcomingLevel != null ? upcomingLevel.join() : Level.build(level + 1);
+        return GameState.from(this)
+                .boardAs(next.getBoard())
+                .snakeAs(next.getSnake())
+                .levelAs(next.getNumber())
+                .applesRemainingAs(next.getApplesToPass())
+                .upcomingLevelAs(Level.prepare(next.getNumber() + 1))
+            .make()
+            .scheduleExpiryOfApples()
+            .scheduleMovingWalls();
+    }
+
+    /**
+     * @return The number of input events waiting to be handled.
+     */
+    public int getPendingInputEventCount()
+    {
+        return sharedInputQueue.size();
+    }
+
+    /**
+     * @return The number of input and game events waiting to be handled.
+     */
+    public int getPendingEventCount()
+    {
+        return sharedInputQueue.size() + sharedGameEventQueue.size();
     }
 
     public GameState processAtMostOneInputEventOn(GameState state)
     {
-        return sharedInputQueue.isEmpty() ? state : sharedInputQueue.remove().applyHandler(state);
+        if (sharedInputQueue.isEmpty()) { return state; }
+
+        final InputAppliedEvent applied = FlightEvents.isRecording() ? new InputAppliedEvent() : null;
+        if (applied != null) { applied.begin(); }
+
+        final GameInputEvent event = sharedInputQueue.remove();
+        final GameState result = event.applyHandler(state);
+
+        if (applied != null && applied.shouldCommit())
+        {
+            applied.waited = event.getCapturedAtNanos() == GameInputEvent.NOT_CAPTURED
+                ? -1 : System.nanoTime() - event.getCapturedAtNanos();
+            applied.stillQueued = sharedInputQueue.size();
+            applied.commit();
+        }
+        // Only input that changed something is carried along, so that input latency
+        // isn't measured for input that was ignored, e.g. while paused.
+        return event.getCapturedAtNanos() == GameInputEvent.NOT_CAPTURED || result == state
+            ? result
+            : GameState.from(result).lastCapturedInputAs(event).make();
     }
 
     public GameState processEntireCurrentGameEventQueueOn(GameState state)
@@ -411,9 +730,8 @@ public class GameState implements IoEngine.Drawable
         }
         else
         {
-            getBoard().draw(io);
-            getSnake().draw(io);
-            io.drawGrid();
+            io.drawPlayfield(getBoard(), getSnake());
+            io.drawMinimap(getBoard());
         }
         getScore().draw(io);
     }
@@ -458,58 +776,79 @@ public class GameState implements IoEngine.Drawable
         private Snake snake;
         /** The score for the current state. */
         private Score score;
-        /** */
+        /** The level for the current state. */
         private int level;
-        /** */
+        /** The number of apples remaining to reach the next level. */
         private int applesRemaining;
+        /** The number of lives left, counting the one being played. */
+        private int lives;
+        /** The next {@link Level}, being prepared in the background, or {@code null}. */
+        private CompletableFuture<Level> upcomingLevel;
         /** The input queue for the entire game.  It gets passed from state to state. */
         private Queue<GameInputEvent> inputQueue;
         /** The queue for other game events that modify mutable state. It gets passed from state to state.*/
         private Queue<Function<? super GameState, ? extends GameState>> gameEventQueue;
+        /** Game events scheduled for later ticks.  It gets passed from state to state. */
+        private TimingWheel<Function<? super GameState, ? extends GameState>> timers;
         /** This is {@code true} if the game loop should end, and the application should terminate. */
         private boolean done;
         /** This is {@code true} if the game is paused, otherwise it is {@code false} */
         private boolean paused;
         /** The little game over message ;) */
         private String littleGameOverMessage;
+        /** The captured input most recently applied. */
+        private GameInputEvent lastCapturedInput;
 
         private Builder(GameBoard board, Snake snake, Score score,
-                int level, int applesRemaining,
+                int level, int applesRemaining, int lives,
+                CompletableFuture<Level> upcomingLevel,
                 Queue<GameInputEvent> inputQueue,
                 Queue<Function<? super GameState, ? extends GameState>> gameEventQueue,
+                TimingWheel<Function<? super GameState, ? extends GameState>> timers,
                 boolean done, boolean paused,
-                String littleGameOverMessage)
+                String littleGameOverMessage,
+                GameInputEvent lastCapturedInput)
         {
             this.board = board;
             this.snake = snake;
             this.score = score;
             this.level = level;
             this.applesRemaining = applesRemaining;
+            this.lives = lives;
+            this.upcomingLevel = upcomingLevel;
             this.inputQueue = inputQueue;
             this.gameEventQueue = gameEventQueue;
+            this.timers = timers;
             this.done = done;
             this.paused = paused;
             this.littleGameOverMessage = littleGameOverMessage;
+            this.lastCapturedInput = lastCapturedInput;
         }
 
         private Builder()
         {
             this(null, null, null,
-                1, Shared.Settings.Game.applesPerLevel,
+                1, Shared.Settings.Game.applesPerLevel, Shared.Settings.Game.lives,
+                null,
+                null,
                 null,
                 null,
                 false, false,
-                Shared.Messages.littleGameOverMessage());
+                Shared.Messages.littleGameOverMessage(),
+                null);
         }
 
         private Builder(GameState gs)
         {
             this(gs.board, gs.snake, gs.score,
-                gs.level, gs.applesRemaining,
+                gs.level, gs.applesRemaining, gs.lives,
+                gs.upcomingLevel,
                 gs.sharedInputQueue,
                 gs.sharedGameEventQueue,
+                gs.sharedTimers,
                 gs.done, gs.paused,
-                gs.littleGameOverMessage);
+                gs.littleGameOverMessage,
+                gs.lastCapturedInput);
         }
 
         public Builder boardAs(GameBoard board)               { this.board           = board;           return this; }
@@ -517,8 +856,11 @@ public class GameState implements IoEngine.Drawable
         public Builder scoreAs(Score score)                   { this.score           = score;           return this; }
         public Builder levelAs(int level)                     { this.level           = level;           return this; }
         public Builder applesRemainingAs(int applesRemaining) { this.applesRemaining = applesRemaining; return this; }
+        public Builder livesAs(int lives)                     { this.lives           = lives;           return this; }
+        public Builder upcomingLevelAs(CompletableFuture<Level> l) { this.upcomingLevel = l;         return this; }
         public Builder doneAs(boolean done)                   { this.done            = done;            return this; }
         public Builder pausedAs(boolean paused)               { this.paused          = paused;          return this; }
+        public Builder lastCapturedInputAs(GameInputEvent e)  { this.lastCapturedInput = e;             return this; }
         
         public Builder boardAs(Function<? super GameBoard, ? extends GameBoard> f)
         {
@@ -552,6 +894,7 @@ public class GameState implements IoEngine.Drawable
 
         public Builder anEmptyInputQueue()     { this.inputQueue     = new LinkedList<>(); return this; }
         public Builder anEmptyGameEventQueue() { this.gameEventQueue = new LinkedList<>(); return this; }
+        public Builder anEmptyTimingWheel()    { this.timers         = new TimingWheel<>(); return this; }
 
         public Builder aNewScore()    { return scoreAs(new Score());   }
         public Builder togglePaused() { return pausedAs(p -> !p); }
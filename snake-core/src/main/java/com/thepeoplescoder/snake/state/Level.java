@@ -0,0 +1,445 @@
+package com.thepeoplescoder.snake.state;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import com.thepeoplescoder.snake.Shared;
+import com.thepeoplescoder.snake.cell.Apple;
+import com.thepeoplescoder.snake.cell.MovingWall;
+import com.thepeoplescoder.snake.cell.Wall;
+import com.thepeoplescoder.snake.math.IntVector2;
+
+/**
+ * A level of the game, ready to be played: its {@link GameBoard}, with its {@link Wall}s and
+ * first {@link Apple}s already in place, and the {@link Snake} it starts with.<p>
+ *
+ * Building a level means building a {@link GameBoard} and running {@link GameBoard#babySnake()}
+ * on it, which is too much to do between two ticks without a visible hitch.  So while one level
+ * is played, the next one is {@link #prepare(int) prepared} on a background thread, and
+ * {@link GameState#nextLevel()} only has to swap it in.<p>
+ *
+ * Levels can be loaded from {@link LevelFile}s in a {@link #setDirectory(Path) directory}.
+ * Otherwise, level 1 is the layout the game always had, and later levels are made up by a
+ * {@link LevelGenerator}, with a little more of the board covered by plus shaped obstacles each
+ * level, the same ones every time for the same level.
+ */
+public final class Level
+{
+    /** The size of every level's {@link GameBoard}. */
+    public static final IntVector2 BOARD_SIZE = IntVector2.of(40, 40).cache();
+
+    /** The points each {@link Apple} is worth, times the level number. */
+    private static final int POINTS_PER_APPLE = 100;
+
+    /** The fraction of level 2's board covered by obstacles; each level after it has a bit more, up to {@link #MAX_DENSITY}. */
+    private static final double FIRST_DENSITY = 0.06;
+    /** How much more of the board each level covers than the one before it. */
+    private static final double DENSITY_STEP = 0.01;
+    /** The most of the board a level's obstacles cover. */
+    private static final double MAX_DENSITY = 0.15;
+
+    /** The most of a board's empty cells that {@link Apple}s are put on, however many are asked for. */
+    private static final double MAX_APPLE_SHARE = 0.25;
+
+    /** The most of a board's empty cells that {@link MovingWall}s are put on, however many are asked for. */
+    private static final double MAX_MOVING_WALL_SHARE = 0.1;
+
+    /** How many places are tried per {@link MovingWall} asked for, before giving up on the ones left to place. */
+    private static final int MOVING_WALL_TRIES = 20;
+
+    /** Where {@link LevelFile}s are loaded from, or {@code null} to only use the built-in levels. */
+    private static volatile Path directory = null;
+
+    /** How the edges of every level's {@link GameBoard} behave. */
+    private static volatile GameBoard.Topology topology = GameBoard.Topology.BOUNDED;
+
+    /** How many {@link Apple}s every level starts with. */
+    private static volatile int applesOnBoard = 1;
+
+    /** How many {@link MovingWall}s every level starts with. */
+    private static volatile int movingWalls = 0;
+
+    /** Prepares upcoming levels, one at a time. */
+    private static final Executor preparer = Executors.newSingleThreadExecutor(r -> {
+        final Thread t = new Thread(r, "snake-level-preparer");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    /** The level's number, starting from 1. */
+    private final int number;
+    /** The level's {@link GameBoard}. */
+    private final GameBoard board;
+    /** The {@link Snake} the level starts with, already placed on {@link #board}. */
+    private final Snake snake;
+    /** The number of apples to eat to pass the level. */
+    private final int applesToPass;
+
+    /**
+     * @param number The level's number.
+     * @param board The level's {@link GameBoard}.
+     * @param snake The {@link Snake} the level starts with.
+     * @param applesToPass The number of apples to eat to pass the level.
+     */
+    private Level(int number, GameBoard board, Snake snake, int applesToPass)
+    {
+        this.number = number;
+        this.board = board;
+        this.snake = snake;
+        this.applesToPass = applesToPass;
+    }
+
+    /**
+     * @return The level's number, starting from 1.
+     */
+    public int getNumber()
+    {
+        return number;
+    }
+
+    /**
+     * @return The level's {@link GameBoard}.
+     */
+    public GameBoard getBoard()
+    {
+        return board;
+    }
+
+    /**
+     * @return The {@link Snake} the level starts with, already placed on its {@link GameBoard}.
+     */
+    public Snake getSnake()
+    {
+        return snake;
+    }
+
+    /**
+     * @return The number of apples to eat to pass the level.
+     */
+    public int getApplesToPass()
+    {
+        return applesToPass;
+    }
+
+    /**
+     * Loads levels from {@link LevelFile}s from now on, where there are any.  Level {@code n}
+     * is loaded from the file {@code level-n.level} in the directory; levels without a file
+     * are the built-in ones.
+     * @param directory The directory, or {@code null} to only use the built-in levels.
+     */
+    public static void setDirectory(Path directory)
+    {
+        Level.directory = directory;
+    }
+
+    /**
+     * Builds levels with the given {@link GameBoard.Topology} from now on.  The built-in levels
+     * leave out the {@link Wall}s around the edge of a {@link GameBoard.Topology#TOROIDAL} one;
+     * {@link LevelFile}s are loaded as they are.
+     * @param topology How the edges of every level's {@link GameBoard} behave.
+     */
+    public static void setTopology(GameBoard.Topology topology)
+    {
+        Level.topology = Objects.requireNonNull(topology, "topology cannot be null.");
+    }
+
+    /**
+     * Starts every level from now on with the given number of {@link Apple}s on its
+     * {@link GameBoard}, instead of just one, up to {@link #MAX_APPLE_SHARE} of its empty cells.
+     * When there is more than one, each is worth from 1 to {@link Shared.Settings.Game#appleSizes}
+     * times the usual points and growth, at random, and the ones worth more than usual only
+     * stay in place for {@link Shared.Settings.Game#bonusAppleLifetime} ticks before they move
+     * somewhere else.  Eaten {@link Apple}s are replaced by ones worth the same, so there are
+     * always as many on the {@link GameBoard}.
+     * @param applesOnBoard The number of {@link Apple}s.
+     * @throws IllegalArgumentException If {@code applesOnBoard} is less than 1.
+     */
+    public static void setApplesOnBoard(int applesOnBoard)
+    {
+        if (applesOnBoard < 1)
+        {
+            throw new IllegalArgumentException("applesOnBoard must be at least 1.");
+        }
+        Level.applesOnBoard = applesOnBoard;
+    }
+
+    /**
+     * Puts the given number of {@link MovingWall}s on every level's {@link GameBoard} from
+     * now on, up to {@link #MAX_MOVING_WALL_SHARE} of its empty cells.  Each patrols up to
+     * {@link Shared.Settings.Game#movingWallSpan} cells back and forth along a straight line
+     * of empty cells, one step every {@link Shared.Settings.Game#movingWallPeriod} ticks,
+     * clear of where the {@link Snake} starts and the cells straight ahead of it.
+     * @param movingWalls The number of {@link MovingWall}s, or {@code 0} for none.
+     * @throws IllegalArgumentException If {@code movingWalls} is negative.
+     */
+    public static void setMovingWalls(int movingWalls)
+    {
+        if (movingWalls < 0)
+        {
+            throw new IllegalArgumentException("movingWalls cannot be negative.");
+        }
+        Level.movingWalls = movingWalls;
+    }
+
+    /**
+     * @param number A level's number.
+     * @return The name of the {@link LevelFile} it is loaded from.
+     */
+    public static String fileNameOf(int number)
+    {
+        return "level-" + number + ".level";
+    }
+
+    /**
+     * Starts building a level on the background thread.
+     * @param number The level's number.
+     * @return The level, once it is built.
+     */
+    public static CompletableFuture<Level> prepare(int number)
+    {
+        return CompletableFuture.supplyAsync(() -> Level.build(number), preparer);
+    }
+
+    /**
+     * Builds a level on the calling thread.<p>
+     *
+     * This can run on the background thread while the game is ticking, so it mustn't
+     * {@link IntVector2#cache()} anything: the cache isn't safe to change while it's read.
+     * @param number The level's number.
+     * @return The level.
+     * @throws UncheckedIOException If the level has a {@link LevelFile} that can't be read.
+     */
+    public static Level build(int number)
+    {
+        final Path file = directory != null ? directory.resolve(fileNameOf(number)) : null;
+        if (file != null && Files.isRegularFile(file))
+        {
+            try
+            {
+                return Level.of(LevelFile.read(file), number);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException("could not load level " + number + ".", e);
+            }
+        }
+
+        GameBoard board;
+        if (number <= 1)
+        {
+            board = new GameBoard(BOARD_SIZE, firstWalls(), topology);
+        }
+        else
+        {
+            double density = Math.min(MAX_DENSITY, FIRST_DENSITY + DENSITY_STEP * (number - 2));
+            for (; ; density = Math.max(0, density - DENSITY_STEP))
+            {
+                board = LevelGenerator.with()
+                    .sizeAs(BOARD_SIZE)
+                    .styleAs(LevelGenerator.Style.PLUSES)
+                    .densityAs(density)
+                    .seedAs(number)
+                    .topologyAs(topology)
+                    .make()
+                    .generate();
+                if (board.getSpawnIndex().getSafeTailCount() > 0 || density == 0) { break; }
+            }
+        }
+
+        final GameState start = GameState.startWith(board);
+        placeMovingWalls(start);
+        placeApples(start, POINTS_PER_APPLE * number, Shared.Settings.Game.growthStepsPerApple);
+        return new Level(number, board, start.getSnake(), Shared.Settings.Game.applesPerLevel);
+    }
+
+    /**
+     * Builds a level from a {@link LevelFile}, on the calling thread.<p>
+     *
+     * The {@link Snake} starts from the first of the file's {@link LevelFile.SpawnHint}s
+     * with room, trying them from a random one onwards, so that a big level doesn't need
+     * a {@link SpawnIndex}.  If none of them have room, it starts anywhere that does.
+     * The {@link SpawnIndex} is still built here, off the game's thread, if the level isn't
+     * too big for it, so that {@link GameBoard#respawnSnake()} is ready to use straight away.
+     * @param file The {@link LevelFile}.
+     * @param number The level's number.
+     * @return The level.
+     */
+    public static Level of(LevelFile file, int number)
+    {
+        final GameBoard board = new GameBoard(file.getSize(), (BitSet)file.getWalls().clone(), topology);
+        if ((long)board.getWidth() * board.getHeight() <= Shared.Settings.Game.spawnIndexMaxCells)
+        {
+            board.getSpawnIndex();
+        }
+        final Snake snake = spawnFrom(file.getSpawnHints(), board);
+        board.placeSnake(snake);
+
+        final GameState start = GameState.startWith(board, snake);
+        placeMovingWalls(start);
+        placeApples(start, file.getApplePoints(), file.getAppleGrowth());
+        return new Level(number, board, snake, file.getApplesToPass());
+    }
+
+    /**
+     * Puts a level's first {@link Apple}s on its {@link GameBoard}, after building its
+     * {@link AppleIndex}, so that the game's thread doesn't have to.
+     * @param start The level's first {@link GameState}.
+     * @param points The points an {@link Apple} is worth.
+     * @param growth The growth steps an {@link Apple} gives.
+     * @see #setApplesOnBoard(int)
+     */
+    private static void placeApples(GameState start, int points, int growth)
+    {
+        final GameBoard board = start.getBoard();
+        final OccupancyPyramid occupancy = board.getOccupancy();
+        final long empty = (long)board.getWidth() * board.getHeight()
+            - occupancy.getCount(occupancy.getLevelCount() - 1, 0, 0, OccupancyPyramid.Layer.WALL)
+            - start.getSnake().getLength();
+        final int apples = (int)Math.max(1, Math.min(applesOnBoard, (long)(empty * MAX_APPLE_SHARE)));
+
+        board.getAppleIndex();
+        for (int n = 0; n < apples; n++)
+        {
+            final int size = apples > 1 ? 1 + Shared.random.nextInt(Shared.Settings.Game.appleSizes) : 1;
+            board.putCell(Apple.with().positionAs(start.getRandomEmptyCell())
+                .pointsAs(points * size)
+                .growthAmountAs(growth * size)
+                .lifetimeAs(size > 1 ? Shared.Settings.Game.bonusAppleLifetime : 0)
+                .make());
+        }
+    }
+
+    /**
+     * Puts a level's {@link MovingWall}s on its {@link GameBoard}, before its {@link Apple}s.
+     * They start moving once the level is played.
+     * @param start The level's first {@link GameState}.
+     * @see #setMovingWalls(int)
+     */
+    private static void placeMovingWalls(GameState start)
+    {
+        if (movingWalls == 0) { return; }
+
+        final GameBoard board = start.getBoard();
+        final Snake snake = start.getSnake();
+        final OccupancyPyramid occupancy = board.getOccupancy();
+        final long empty = (long)board.getWidth() * board.getHeight()
+            - occupancy.getCount(occupancy.getLevelCount() - 1, 0, 0, OccupancyPyramid.Layer.WALL)
+            - snake.getLength();
+        final int walls = (int)Math.min(movingWalls, (long)(empty * MAX_MOVING_WALL_SHARE));
+        final List<IntVector2> directions = new ArrayList<>(IntVector2.DIRECTIONS);
+
+        for (long n = 0, tries = 0; n < walls && tries < (long)walls * MOVING_WALL_TRIES; tries++)
+        {
+            final IntVector2 origin = board.getRandomVector();
+            if (!isClearForPatrol(board, snake, origin)) { continue; }
+
+            final IntVector2 direction = directions.get(GameState.random.nextInt(directions.size()));
+            int span = 0;
+            while (span < Shared.Settings.Game.movingWallSpan
+                   && isClearForPatrol(board, snake, origin.plus(direction.times(span + 1))))
+            {
+                span++;
+            }
+            if (span == 0) { continue; }
+
+            board.putCell(MovingWall.with()
+                .originAs(origin)
+                .directionAs(direction)
+                .spanAs(span)
+                .periodAs(Shared.Settings.Game.movingWallPeriod)
+                .stepAs(GameState.random.nextInt(2 * span))
+                .make());
+            n++;
+        }
+    }
+
+    /**
+     * @param board A {@link GameBoard}.
+     * @param snake The {@link Snake} starting on it.
+     * @param pos A position.
+     * @return {@code true} if a {@link MovingWall} may patrol through the position: it is an
+     *         empty cell, and neither the {@link Snake} nor within
+     *         {@link Shared.Settings.Game#initialSafetySpaces} straight ahead of its head.
+     */
+    private static boolean isClearForPatrol(GameBoard board, Snake snake, IntVector2 pos)
+    {
+        if (!board.isEmptyCell(pos) || snake.contains(pos)) { return false; }
+        final IntVector2 direction = snake.getDirection();
+        final IntVector2 offset = pos.minus(snake.getHead());
+        final int ahead = offset.dot(direction);
+        return ahead < 1 || ahead > Shared.Settings.Game.initialSafetySpaces
+            || !offset.equals(direction.times(ahead));
+    }
+
+    /**
+     * @param hints Where the {@link Snake} may start.
+     * @param board The {@link GameBoard} it starts on.
+     * @return A {@link Snake} starting from the first hint with room, from a random one onwards,
+     *         or from {@link GameBoard#babySnake()} if none of them have room.
+     */
+    private static Snake spawnFrom(List<LevelFile.SpawnHint> hints, GameBoard board)
+    {
+        final int first = hints.isEmpty() ? 0 : GameState.random.nextInt(hints.size());
+        for (int n = 0; n < hints.size(); n++)
+        {
+            final LevelFile.SpawnHint hint = hints.get((first + n) % hints.size());
+            final List<IntVector2> directions = hint.getDirection() != null
+                ? Collections.singletonList(hint.getDirection())
+                : new ArrayList<>(IntVector2.DIRECTIONS);
+            for (IntVector2 direction : directions)
+            {
+                if (board.hasRoomFor(hint.getTail(), direction))
+                {
+                    return board.babySnake(direction, hint.getTail());
+                }
+            }
+        }
+        return board.babySnake();
+    }
+
+    /**
+     * @return The positions of level 1's {@link Wall}s.
+     */
+    private static Set<IntVector2> firstWalls()
+    {
+        final Set<IntVector2> walls = topology == GameBoard.Topology.BOUNDED
+            ? GameBoard.boundingWalls(BOARD_SIZE)
+            : new HashSet<>();
+        final IntVector2 center = IntVector2.of(BOARD_SIZE.getX() / 2, BOARD_SIZE.getY() / 2);
+        placePlus(walls, center, 10);
+        placePlus(walls, center.plus(-10, -10), 5);
+        placePlus(walls, center.plus(10, -10), 5);
+        placePlus(walls, center.plus(-10, 10), 5);
+        placePlus(walls, center.plus(10, 10), 5);
+        return walls;
+    }
+
+    /**
+     * Adds a plus shaped obstacle.
+     * @param walls The positions of the {@link Wall}s to add it to.
+     * @param center The middle of the plus.
+     * @param length How far each arm reaches, counting the middle.
+     */
+    private static void placePlus(Set<IntVector2> walls, IntVector2 center, int length)
+    {
+        walls.add(center);
+        IntStream.range(1, length).forEach(n ->
+            IntVector2.DIRECTIONS.stream()
+                .map(d -> d.times(n).plus(center))
+                .forEach(walls::add));
+    }
+}
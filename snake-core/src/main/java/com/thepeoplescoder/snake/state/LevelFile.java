@@ -0,0 +1,350 @@
+package com.thepeoplescoder.snake.state;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import com.thepeoplescoder.snake.Shared;
+import com.thepeoplescoder.snake.cell.Apple;
+import com.thepeoplescoder.snake.cell.Wall;
+import com.thepeoplescoder.snake.math.IntVector2;
+
+/**
+ * A level stored in a file, so that big levels can be authored ahead of time and loaded
+ * in milliseconds, instead of being built out of one {@link IntVector2} per {@link Wall}.<p>
+ *
+ * The file is a header, followed by the {@link SpawnHint}s, followed by the {@link Wall}s
+ * packed one bit per cell.  Numbers are big-endian {@code int}s:
+ * <pre>
+ *  offset  contents
+ *       0  magic number, "SNKL"
+ *       4  format version, {@value #VERSION}
+ *       8  width, in cells
+ *      12  height, in cells
+ *      16  points per {@link Apple}
+ *      20  growth per {@link Apple}
+ *      24  apples to eat to pass the level
+ *      28  number of {@link SpawnHint}s, n
+ *      32  n spawn hints of 12 bytes: tail x, tail y, and the index of the direction
+ *          in {@link IntVector2#DIRECTIONS}, or -1 for any direction
+ *   32+12n (rounded up to a multiple of 8)
+ *          the walls: ceil(width * height / 8) bytes, with cell (x, y) in bit
+ *          (i % 8) of byte (i / 8), where i = y * width + x
+ * </pre>
+ *
+ * Reading a file memory-maps it, and hands the wall bits straight to a {@link BitSet},
+ * which becomes the storage of the {@link GameBoard} (see {@link GameBoard#GameBoard(IntVector2, BitSet)}).
+ */
+public final class LevelFile
+{
+    /** The first four bytes of every level file: "SNKL". */
+    private static final int MAGIC = 0x534E4B4C;
+    /** The version of the format written, and the only one read. */
+    public static final int VERSION = 1;
+
+    /** The size of the header, in bytes. */
+    private static final int HEADER_BYTES = 32;
+    /** The size of a {@link SpawnHint}, in bytes. */
+    private static final int SPAWN_HINT_BYTES = 12;
+
+    /**
+     * A place the level's {@link Snake} may start from, checked for room before it's used.
+     */
+    public static final class SpawnHint
+    {
+        /** Where the tail of the {@link Snake} starts. */
+        private final IntVector2 tail;
+        /** Which way the {@link Snake} heads, or {@code null} for any way with room. */
+        private final IntVector2 direction;
+
+        /**
+         * @param tail Where the tail of the {@link Snake} starts.
+         * @param direction One of {@link IntVector2#DIRECTIONS}, for the way the {@link Snake}
+         *                  heads, or {@code null} for any way with room.
+         * @throws IllegalArgumentException If {@code direction} isn't one of {@link IntVector2#DIRECTIONS}.
+         */
+        public SpawnHint(IntVector2 tail, IntVector2 direction)
+        {
+            this.tail = Objects.requireNonNull(tail, "tail cannot be null.");
+            if (direction != null && !IntVector2.DIRECTIONS.contains(direction))
+            {
+                throw new IllegalArgumentException(direction + " is not a direction.");
+            }
+            this.direction = direction;
+        }
+
+        /**
+         * @return Where the tail of the {@link Snake} starts.
+         */
+        public IntVector2 getTail()
+        {
+            return tail;
+        }
+
+        /**
+         * @return Which way the {@link Snake} heads, or {@code null} for any way with room.
+         */
+        public IntVector2 getDirection()
+        {
+            return direction;
+        }
+    }
+
+    /** The size of the level's {@link GameBoard}. */
+    private final IntVector2 size;
+    /** The level's {@link Wall}s, one bit per cell at {@code y * width + x}. */
+    private final BitSet walls;
+    /** Where the level's {@link Snake} may start. */
+    private final List<SpawnHint> spawnHints;
+    /** The points per {@link Apple}. */
+    private final int applePoints;
+    /** The growth per {@link Apple}. */
+    private final int appleGrowth;
+    /** The number of apples to eat to pass the level. */
+    private final int applesToPass;
+
+    /**
+     * @param lfb The {@link Builder} to make the {@link LevelFile} from.
+     */
+    private LevelFile(LevelFile.Builder lfb)
+    {
+        this.size = Objects.requireNonNull(lfb.size, "size cannot be null.");
+        this.walls = Objects.requireNonNull(lfb.walls, "walls cannot be null.");
+        this.spawnHints = Collections.unmodifiableList(new ArrayList<>(lfb.spawnHints));
+        this.applePoints = lfb.applePoints;
+        this.appleGrowth = lfb.appleGrowth;
+        this.applesToPass = lfb.applesToPass;
+
+        if (size.getX() < 1 || size.getY() < 1 || (long)size.getX() * size.getY() > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("a level can't be " + size.getX() + "x" + size.getY() + ".");
+        }
+        if (walls.length() > size.getX() * size.getY())
+        {
+            throw new IllegalArgumentException("walls has bits past the end of the board.");
+        }
+        if (applesToPass < 1)
+        {
+            throw new IllegalArgumentException("applesToPass must be at least 1.");
+        }
+        spawnHints.forEach(hint -> {
+            final IntVector2 tail = hint.getTail();
+            if (tail.getX() < 0 || tail.getY() < 0 || tail.getX() >= size.getX() || tail.getY() >= size.getY())
+            {
+                throw new IllegalArgumentException("spawn hint " + tail + " is off the board.");
+            }
+        });
+    }
+
+    /**
+     * @return The size of the level's {@link GameBoard}.
+     */
+    public IntVector2 getSize()
+    {
+        return size;
+    }
+
+    /**
+     * @return The level's {@link Wall}s, one bit per cell at {@code y * width + x}.
+     */
+    public BitSet getWalls()
+    {
+        return walls;
+    }
+
+    /**
+     * @return Where the level's {@link Snake} may start.
+     */
+    public List<SpawnHint> getSpawnHints()
+    {
+        return spawnHints;
+    }
+
+    /**
+     * @return The points per {@link Apple}.
+     */
+    public int getApplePoints()
+    {
+        return applePoints;
+    }
+
+    /**
+     * @return The growth per {@link Apple}.
+     */
+    public int getAppleGrowth()
+    {
+        return appleGrowth;
+    }
+
+    /**
+     * @return The number of apples to eat to pass the level.
+     */
+    public int getApplesToPass()
+    {
+        return applesToPass;
+    }
+
+    /**
+     * @return The number of bytes the walls take up in a file.
+     */
+    private int wallBytes()
+    {
+        return (int)(((long)size.getX() * size.getY() + 7) / 8);
+    }
+
+    /**
+     * @param spawnHints The number of {@link SpawnHint}s.
+     * @return Where the walls start in a file.
+     */
+    private static int wallOffset(int spawnHints)
+    {
+        return (HEADER_BYTES + spawnHints * SPAWN_HINT_BYTES + 7) & ~7;
+    }
+
+    /**
+     * Reads a level file, memory-mapping it.
+     * @param path The file.
+     * @return The level in it.
+     * @throws IOException If it can't be read, or isn't a level file.
+     */
+    public static LevelFile read(Path path) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            final long length = channel.size();
+            if (length < HEADER_BYTES)
+            {
+                throw new IOException(path + " is too short to be a level file.");
+            }
+            final MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(length, Integer.MAX_VALUE));
+            if (file.getInt(0) != MAGIC)
+            {
+                throw new IOException(path + " is not a level file.");
+            }
+            if (file.getInt(4) != VERSION)
+            {
+                throw new IOException(path + " is version " + file.getInt(4) + " of the level format; only " + VERSION + " can be read.");
+            }
+
+            final int width = file.getInt(8), height = file.getInt(12);
+            if (width < 1 || height < 1 || (long)width * height > Integer.MAX_VALUE)
+            {
+                throw new IOException(path + " is a " + width + "x" + height + " level.");
+            }
+            final int hintCount = file.getInt(28);
+            if (hintCount < 0 || hintCount > (length - HEADER_BYTES) / SPAWN_HINT_BYTES)
+            {
+                throw new IOException(path + " is cut short in its spawn hints.");
+            }
+            final long offset = wallOffset(hintCount);
+            final long wallBytes = ((long)width * height + 7) / 8;
+            if (offset + wallBytes > length)
+            {
+                throw new IOException(path + " is cut short in its walls.");
+            }
+
+            final List<IntVector2> directions = new ArrayList<>(IntVector2.DIRECTIONS);
+            final List<SpawnHint> hints = new ArrayList<>(hintCount);
+            for (int n = 0; n < hintCount; n++)
+            {
+                final int at = HEADER_BYTES + n * SPAWN_HINT_BYTES;
+                final int direction = file.getInt(at + 8);
+                if (direction < -1 || direction >= directions.size())
+                {
+                    throw new IOException(path + " has a spawn hint with no direction " + direction + ".");
+                }
+                hints.add(new SpawnHint(IntVector2.of(file.getInt(at), file.getInt(at + 4)),
+                    direction < 0 ? null : directions.get(direction)));
+            }
+
+            try
+            {
+                return LevelFile.with()
+                    .sizeAs(IntVector2.of(width, height))
+                    .wallsAs(BitSet.valueOf(channel.map(FileChannel.MapMode.READ_ONLY, offset, wallBytes)))
+                    .spawnHintsAs(hints)
+                    .applePointsAs(file.getInt(16))
+                    .appleGrowthAs(file.getInt(20))
+                    .applesToPassAs(file.getInt(24))
+                    .make();
+            }
+            catch (IllegalArgumentException e)
+            {
+                throw new IOException(path + " is not a valid level: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Writes this level to a file, replacing whatever was there.
+     * @param path The file.
+     * @throws IOException If it can't be written.
+     */
+    public void write(Path path) throws IOException
+    {
+        final List<IntVector2> directions = new ArrayList<>(IntVector2.DIRECTIONS);
+        final ByteBuffer head = ByteBuffer.allocate(wallOffset(spawnHints.size()));
+        head.putInt(MAGIC).putInt(VERSION)
+            .putInt(size.getX()).putInt(size.getY())
+            .putInt(applePoints).putInt(appleGrowth).putInt(applesToPass)
+            .putInt(spawnHints.size());
+        spawnHints.forEach(hint -> head
+            .putInt(hint.getTail().getX()).putInt(hint.getTail().getY())
+            .putInt(hint.getDirection() == null ? -1 : directions.indexOf(hint.getDirection())));
+        head.clear();
+
+        // BitSet.toByteArray() leaves out trailing empty bytes, so the rest is zeros.
+        final ByteBuffer bits = ByteBuffer.allocate(wallBytes());
+        bits.put(walls.toByteArray());
+        bits.clear();
+
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+        {
+            while (head.hasRemaining()) { channel.write(head); }
+            while (bits.hasRemaining()) { channel.write(bits); }
+        }
+    }
+
+    /**
+     * @return A {@link LevelFile.Builder}, for a level whose {@link Apple}s are the same as
+     *         the built-in levels', and with no {@link SpawnHint}s.
+     */
+    public static LevelFile.Builder with() { return new LevelFile.Builder(); }
+
+    /**
+     * Used for creating new {@link LevelFile}s.
+     */
+    public static class Builder
+    {
+        private IntVector2 size = null;
+        private BitSet walls = new BitSet();
+        private List<SpawnHint> spawnHints = Collections.emptyList();
+        private int applePoints = 100;
+        private int appleGrowth = Shared.Settings.Game.growthStepsPerApple;
+        private int applesToPass = Shared.Settings.Game.applesPerLevel;
+
+        private Builder() {}
+
+        public Builder sizeAs(IntVector2 size)             { this.size         = size;         return this; }
+        public Builder wallsAs(BitSet walls)               { this.walls        = walls;        return this; }
+        public Builder spawnHintsAs(List<SpawnHint> hints) { this.spawnHints   = hints;        return this; }
+        public Builder applePointsAs(int applePoints)      { this.applePoints  = applePoints;  return this; }
+        public Builder appleGrowthAs(int appleGrowth)      { this.appleGrowth  = appleGrowth;  return this; }
+        public Builder applesToPassAs(int applesToPass)    { this.applesToPass = applesToPass; return this; }
+
+        /**
+         * @return A new {@link LevelFile} from this {@link Builder}.
+         * @throws IllegalArgumentException If the level doesn't make sense.
+         */
+        public LevelFile make() { return new LevelFile(this); }
+    }
+}
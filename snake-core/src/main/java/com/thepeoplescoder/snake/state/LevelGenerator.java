@@ -0,0 +1,584 @@
+package com.thepeoplescoder.snake.state;
+
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import com.thepeoplescoder.snake.cell.Wall;
+import com.thepeoplescoder.snake.math.IntVector2;
+
+/**
+ * Makes up wall layouts for {@link GameBoard}s of any size, as many as are wanted.<p>
+ *
+ * The board is cut into square tiles, which are laid out in parallel on a {@link ForkJoinPool},
+ * each from its own random numbers, so the same seed always gives the same layout no matter
+ * how many threads there are.  Then every empty cell is checked to be reachable from every
+ * other one, with a union-find: each tile joins up its own cells in parallel, and then the
+ * tiles are joined along their borders.  Pockets cut off from the largest open area are
+ * repaired by knocking a corridor through to it.  A {@link GameBoard.Topology#TOROIDAL} board
+ * isn't walled in, and its empty cells are joined up across the seams where it wraps around.<p>
+ *
+ * The layout is built one byte per cell, and the union-find takes two {@code int}s per cell,
+ * so generating a board takes about nine bytes per cell while it runs.  The result is packed
+ * one bit per cell, and handed straight to {@link GameBoard#GameBoard(IntVector2, BitSet)}.
+ */
+public final class LevelGenerator
+{
+    /**
+     * The kinds of layouts.
+     */
+    public static enum Style
+    {
+        /** Plus shaped obstacles scattered around, like the first level's. */
+        PLUSES,
+        /** A grid of rooms, with a doorway in each side; it can cover at most about a fifth of the board. */
+        ROOMS,
+        /** A maze in each tile, opened up until it's only as dense as asked for. */
+        MAZE;
+    }
+
+    /** A cell with a {@link Wall}, in {@link #grid}. */
+    private static final byte WALL = 1;
+    /** An empty cell, in {@link #grid}. */
+    private static final byte EMPTY = 0;
+
+    /** The size of the board. */
+    private final IntVector2 size;
+    /** The kind of layout. */
+    private final Style style;
+    /** The fraction of the cells inside the edge of the board that should be {@link Wall}s. */
+    private final double density;
+    /** Where all of the random numbers come from. */
+    private final long seed;
+    /** The width and height of a tile. */
+    private final int tileSize;
+    /** Where the tiles are laid out. */
+    private final ForkJoinPool pool;
+    /** How the edges of the board behave; only a {@link GameBoard.Topology#BOUNDED} board is walled in. */
+    private final GameBoard.Topology topology;
+
+    /** The width of the board. */
+    private final int width;
+    /** The height of the board. */
+    private final int height;
+    /** The number of tiles across the board. */
+    private final int tilesAcross;
+    /** The number of tiles down the board. */
+    private final int tilesDown;
+
+    /**
+     * @param lgb The {@link Builder} to make the {@link LevelGenerator} from.
+     */
+    private LevelGenerator(LevelGenerator.Builder lgb)
+    {
+        this.size = Objects.requireNonNull(lgb.size, "size cannot be null.");
+        this.style = Objects.requireNonNull(lgb.style, "style cannot be null.");
+        this.density = lgb.density;
+        this.seed = lgb.seed;
+        this.tileSize = lgb.tileSize;
+        this.pool = Objects.requireNonNull(lgb.pool, "pool cannot be null.");
+        this.topology = Objects.requireNonNull(lgb.topology, "topology cannot be null.");
+
+        if (size.getX() < 3 || size.getY() < 3 || (long)size.getX() * size.getY() > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("can't generate a " + size.getX() + "x" + size.getY() + " board.");
+        }
+        if (density < 0 || density > 1)
+        {
+            throw new IllegalArgumentException("density must be between 0 and 1.");
+        }
+        if (tileSize < 8)
+        {
+            throw new IllegalArgumentException("tileSize must be at least 8.");
+        }
+        this.width = size.getX();
+        this.height = size.getY();
+        this.tilesAcross = (width + tileSize - 1) / tileSize;
+        this.tilesDown = (height + tileSize - 1) / tileSize;
+    }
+
+    /**
+     * @return A new {@link GameBoard} with a freshly generated layout.
+     */
+    public GameBoard generate()
+    {
+        return new GameBoard(size, generateWalls(), topology);
+    }
+
+    /**
+     * @return A freshly generated layout, one bit per cell at {@code y * width + x}, e.g.
+     *         for a {@link LevelFile}.
+     */
+    public BitSet generateWalls()
+    {
+        final byte[] grid = new byte[width * height];
+        inParallel(tilesAcross * tilesDown, tile -> layOut(grid, tile));
+
+        final UnionFind cells = new UnionFind(grid);
+        inParallel(tilesAcross * tilesDown, tile -> cells.joinWithin(tile));
+        cells.joinAcrossTiles();
+        cells.repairPockets();
+
+        return pack(grid);
+    }
+
+    /**
+     * Runs a task for each of a range of numbers, in parallel on {@link #pool}.
+     * @param count How many numbers, from {@code 0}.
+     * @param task The task.
+     */
+    private void inParallel(int count, IntConsumer task)
+    {
+        pool.submit(() -> IntStream.range(0, count).parallel().forEach(task)).join();
+    }
+
+    /**
+     * @param grid The layout, one byte per cell.
+     * @return The layout, one bit per cell.
+     */
+    private BitSet pack(byte[] grid)
+    {
+        final long[] words = new long[(grid.length + 63) / 64];
+        inParallel(words.length, w -> {
+            long word = 0;
+            for (int b = 0, i = w * 64; b < 64 && i < grid.length; b++, i++)
+            {
+                if (grid[i] == WALL) { word |= 1L << b; }
+            }
+            words[w] = word;
+        });
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * @param z A number.
+     * @return The number, scrambled (the finalizer of SplitMix64).
+     */
+    private static long mix(long z)
+    {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Lays out one tile.  Only the tile's own cells are written to, so tiles can be laid
+     * out at the same time.
+     * @param grid The layout, one byte per cell.
+     * @param tile The tile's index, across and then down.
+     */
+    private void layOut(byte[] grid, int tile)
+    {
+        final int x0 = (tile % tilesAcross) * tileSize, x1 = Math.min(width, x0 + tileSize);
+        final int y0 = (tile / tilesAcross) * tileSize, y1 = Math.min(height, y0 + tileSize);
+        final SplittableRandom random = new SplittableRandom(mix(seed + 0x9E3779B97F4A7C15L * (tile + 1)));
+
+        switch (style)
+        {
+            case PLUSES: scatterPluses(grid, x0, y0, x1, y1, random); break;
+            case ROOMS:  buildRooms(grid, x0, y0, x1, y1);            break;
+            case MAZE:   carveMaze(grid, x0, y0, x1, y1, random);     break;
+        }
+
+        for (int y = y0; y < y1; y++)
+        {
+            for (int x = x0; x < x1; x++)
+            {
+                if (isEdge(x, y)) { grid[y * width + x] = WALL; }
+            }
+        }
+    }
+
+    /**
+     * @param x An x coordinate.
+     * @param y A y coordinate.
+     * @return {@code true} if the cell is on the edge of the board, and the board is walled in.
+     */
+    private boolean isEdge(int x, int y)
+    {
+        return topology == GameBoard.Topology.BOUNDED && (x == 0 || y == 0 || x == width - 1 || y == height - 1);
+    }
+
+    /**
+     * @return The thickness of the {@link Wall}s around the board: {@code 1}, or {@code 0} if it isn't walled in.
+     */
+    private int edge()
+    {
+        return topology == GameBoard.Topology.BOUNDED ? 1 : 0;
+    }
+
+    /**
+     * @param x0 The left of a tile.
+     * @param y0 The top of a tile.
+     * @param x1 Just past the right of the tile.
+     * @param y1 Just past the bottom of the tile.
+     * @return The number of {@link Wall}s the tile should have inside the edge of the board.
+     */
+    private int wallsWanted(int x0, int y0, int x1, int y1)
+    {
+        final int inside = (Math.min(x1, width - edge()) - Math.max(x0, edge())) * (Math.min(y1, height - edge()) - Math.max(y0, edge()));
+        return (int)(Math.max(0, inside) * density);
+    }
+
+    /**
+     * Scatters plus shaped obstacles around a tile, cut off at its edges, until it is as dense as wanted.
+     */
+    private void scatterPluses(byte[] grid, int x0, int y0, int x1, int y1, SplittableRandom random)
+    {
+        final int wanted = wallsWanted(x0, y0, x1, y1);
+        int placed = 0;
+        for (int tries = 0; placed < wanted && tries < 4 * wanted + 16; tries++)
+        {
+            final int cx = x0 + random.nextInt(x1 - x0), cy = y0 + random.nextInt(y1 - y0);
+            final int length = 3 + random.nextInt(4);
+            for (int n = 0; n < length; n++)
+            {
+                placed += wall(grid, cx + n, cy, x0, y0, x1, y1);
+                if (n == 0) { continue; }
+                placed += wall(grid, cx - n, cy, x0, y0, x1, y1);
+                placed += wall(grid, cx, cy + n, x0, y0, x1, y1);
+                placed += wall(grid, cx, cy - n, x0, y0, x1, y1);
+            }
+        }
+    }
+
+    /**
+     * Puts a {@link Wall} in a cell, if it's inside the tile and the edge of the board.
+     * @return {@code 1} if a {@link Wall} was added, otherwise {@code 0}.
+     */
+    private int wall(byte[] grid, int x, int y, int x0, int y0, int x1, int y1)
+    {
+        if (x < x0 || y < y0 || x >= x1 || y >= y1 || isEdge(x, y)) { return 0; }
+        final int i = y * width + x;
+        if (grid[i] == WALL) { return 0; }
+        grid[i] = WALL;
+        return 1;
+    }
+
+    /**
+     * Fills a tile's part of a grid of rooms.  The rooms line up across the whole board,
+     * and their doorways are picked from the seed and the side they're in, rather than from
+     * the tile's random numbers, so a side split between two tiles has the same doorway in both.
+     * The thinner the walls are asked to be, the bigger the rooms.
+     */
+    private void buildRooms(byte[] grid, int x0, int y0, int x1, int y1)
+    {
+        if (density <= 0) { return; }
+        final int spacing = Math.max(4, (int)Math.round(2 / density));
+
+        for (int y = y0; y < y1; y++)
+        {
+            for (int x = x0; x < x1; x++)
+            {
+                final int rx = x % spacing, ry = y % spacing;
+                final boolean isWall =
+                       (rx == 0 && ry == 0)
+                    || (rx == 0 && !isDoorway(ry, doorway(x / spacing, y / spacing, 0, spacing)))
+                    || (ry == 0 && !isDoorway(rx, doorway(x / spacing, y / spacing, 1, spacing)));
+                if (isWall) { grid[y * width + x] = WALL; }
+            }
+        }
+    }
+
+    /**
+     * @param kx Which line of rooms across.
+     * @param ky Which line of rooms down.
+     * @param side {@code 0} for a room's left side, {@code 1} for its top side.
+     * @param spacing The distance between walls.
+     * @return Where the doorway in that side starts, along it.
+     */
+    private int doorway(int kx, int ky, int side, int spacing)
+    {
+        final long h = mix(seed ^ mix(((long)kx << 32 | ky & 0xFFFFFFFFL) * 2 + side));
+        return 1 + (int)Math.floorMod(h, (long)(spacing - 2));
+    }
+
+    /**
+     * @param offset How far along a side a cell is.
+     * @param doorway Where the side's doorway starts.
+     * @return {@code true} if the cell is part of the two cell wide doorway.
+     */
+    private static boolean isDoorway(int offset, int doorway)
+    {
+        return offset == doorway || offset == doorway + 1;
+    }
+
+    /**
+     * Carves a maze into a tile (on its odd cells, counting from the tile's corner, with a
+     * depth-first search), and then knocks out random {@link Wall}s until the tile is only as
+     * dense as wanted.  Tiles' mazes don't join up with each other; that is left to the repair.
+     */
+    private void carveMaze(byte[] grid, int x0, int y0, int x1, int y1, SplittableRandom random)
+    {
+        for (int y = y0; y < y1; y++)
+        {
+            for (int x = x0; x < x1; x++)
+            {
+                grid[y * width + x] = WALL;
+            }
+        }
+
+        final int across = (x1 - x0 - 1) / 2, down = (y1 - y0 - 1) / 2;
+        if (across > 0 && down > 0)
+        {
+            final boolean[] visited = new boolean[across * down];
+            final int[] stack = new int[across * down];
+            int top = 0;
+            stack[top++] = random.nextInt(across * down);
+            visited[stack[0]] = true;
+            open(grid, x0, y0, stack[0], across);
+
+            final int[] next = new int[4];
+            while (top > 0)
+            {
+                final int cell = stack[top - 1], cx = cell % across, cy = cell / across;
+                int choices = 0;
+                if (cx > 0          && !visited[cell - 1])      { next[choices++] = cell - 1; }
+                if (cx < across - 1 && !visited[cell + 1])      { next[choices++] = cell + 1; }
+                if (cy > 0          && !visited[cell - across]) { next[choices++] = cell - across; }
+                if (cy < down - 1   && !visited[cell + across]) { next[choices++] = cell + across; }
+                if (choices == 0) { top--; continue; }
+
+                final int chosen = next[random.nextInt(choices)];
+                visited[chosen] = true;
+                open(grid, x0, y0, chosen, across);
+                // The wall between the two cells.
+                grid[(y0 + cy + chosen / across + 1) * width + (x0 + cx + chosen % across + 1)] = EMPTY;
+                stack[top++] = chosen;
+            }
+        }
+
+        int walls = 0;
+        for (int y = Math.max(y0, edge()); y < Math.min(y1, height - edge()); y++)
+        {
+            for (int x = Math.max(x0, edge()); x < Math.min(x1, width - edge()); x++)
+            {
+                walls += grid[y * width + x];
+            }
+        }
+        final int wanted = wallsWanted(x0, y0, x1, y1);
+        for (int tries = 0; walls > wanted && tries < 8 * (x1 - x0) * (y1 - y0); tries++)
+        {
+            final int i = (y0 + random.nextInt(y1 - y0)) * width + x0 + random.nextInt(x1 - x0);
+            if (grid[i] == WALL) { grid[i] = EMPTY; walls--; }
+        }
+    }
+
+    /**
+     * Empties a maze cell.
+     * @param cell The maze cell's index, across and then down.
+     * @param across The number of maze cells across the tile.
+     */
+    private void open(byte[] grid, int x0, int y0, int cell, int across)
+    {
+        grid[(y0 + 2 * (cell / across) + 1) * width + (x0 + 2 * (cell % across) + 1)] = EMPTY;
+    }
+
+    /**
+     * A union-find over the empty cells of a layout, with union by size, and path halving.
+     */
+    private final class UnionFind
+    {
+        /** The layout, one byte per cell. */
+        private final byte[] grid;
+        /** Each cell's parent; a cell that is its own parent is the root of its set. */
+        private final int[] parent;
+        /** The number of cells in each root's set. */
+        private final int[] setSize;
+
+        /**
+         * Starts with each cell in a set of its own.
+         * @param grid The layout, one byte per cell.
+         */
+        UnionFind(byte[] grid)
+        {
+            this.grid = grid;
+            this.parent = new int[grid.length];
+            this.setSize = new int[grid.length];
+            inParallel(grid.length, i -> { parent[i] = i; setSize[i] = 1; });
+        }
+
+        /**
+         * @param i A cell.
+         * @return The root of its set.
+         */
+        int find(int i)
+        {
+            while (parent[i] != i)
+            {
+                parent[i] = parent[parent[i]];
+                i = parent[i];
+            }
+            return i;
+        }
+
+        /**
+         * Joins the sets of two cells.
+         */
+        void union(int a, int b)
+        {
+            a = find(a);
+            b = find(b);
+            if (a == b) { return; }
+            if (setSize[a] < setSize[b]) { final int t = a; a = b; b = t; }
+            parent[b] = a;
+            setSize[a] += setSize[b];
+        }
+
+        /**
+         * Joins each empty cell of a tile with its empty neighbors in the same tile.  Only the
+         * tile's own cells are touched, so tiles can be joined up at the same time.
+         * @param tile The tile's index, across and then down.
+         */
+        void joinWithin(int tile)
+        {
+            final int x0 = (tile % tilesAcross) * tileSize, x1 = Math.min(width, x0 + tileSize);
+            final int y0 = (tile / tilesAcross) * tileSize, y1 = Math.min(height, y0 + tileSize);
+            for (int y = y0; y < y1; y++)
+            {
+                for (int x = x0; x < x1; x++)
+                {
+                    final int i = y * width + x;
+                    if (grid[i] == WALL) { continue; }
+                    if (x + 1 < x1 && grid[i + 1] == EMPTY)     { union(i, i + 1); }
+                    if (y + 1 < y1 && grid[i + width] == EMPTY) { union(i, i + width); }
+                }
+            }
+        }
+
+        /**
+         * Joins the empty cells on either side of every border between two tiles, and, on a
+         * {@link GameBoard.Topology#TOROIDAL} board, on either side of the seams where it wraps around.
+         */
+        void joinAcrossTiles()
+        {
+            if (topology == GameBoard.Topology.TOROIDAL)
+            {
+                for (int y = 0; y < height; y++)
+                {
+                    final int i = y * width;
+                    if (grid[i] == EMPTY && grid[i + width - 1] == EMPTY) { union(i, i + width - 1); }
+                }
+                for (int x = 0; x < width; x++)
+                {
+                    final int i = (height - 1) * width + x;
+                    if (grid[x] == EMPTY && grid[i] == EMPTY) { union(x, i); }
+                }
+            }
+            for (int x = tileSize; x < width; x += tileSize)
+            {
+                for (int y = 0; y < height; y++)
+                {
+                    final int i = y * width + x;
+                    if (grid[i] == EMPTY && grid[i - 1] == EMPTY) { union(i, i - 1); }
+                }
+            }
+            for (int y = tileSize; y < height; y += tileSize)
+            {
+                for (int x = 0; x < width; x++)
+                {
+                    final int i = y * width + x;
+                    if (grid[i] == EMPTY && grid[i - width] == EMPTY) { union(i, i - width); }
+                }
+            }
+        }
+
+        /**
+         * Connects every pocket of empty cells to the largest one, by knocking down the
+         * {@link Wall}s in an L shaped corridor from the pocket towards the largest one,
+         * until it gets there.
+         */
+        void repairPockets()
+        {
+            final int[] roots = IntStream.range(0, grid.length).parallel()
+                .filter(i -> grid[i] == EMPTY && parent[i] == i)
+                .toArray();
+            if (roots.length < 2) { return; }
+
+            int main = roots[0];
+            for (int root : roots)
+            {
+                if (setSize[root] > setSize[main]) { main = root; }
+            }
+            final int mx = main % width, my = main / width;
+
+            for (int root : roots)
+            {
+                int x = root % width, y = root / width;
+                while (find(y * width + x) != find(main))
+                {
+                    if (x != mx) { x += Integer.signum(mx - x); }
+                    else         { y += Integer.signum(my - y); }
+                    knockDown(x, y);
+                }
+            }
+        }
+
+        /**
+         * Empties a cell, if it's a {@link Wall}, and joins it with its empty neighbors.  The
+         * neighbors wrap around the board; that only matters on a {@link GameBoard.Topology#TOROIDAL}
+         * one, since the corridors never reach the edge of one that is walled in.
+         */
+        private void knockDown(int x, int y)
+        {
+            final int i = y * width + x;
+            if (grid[i] == WALL)
+            {
+                grid[i] = EMPTY;
+                parent[i] = i;
+                setSize[i] = 1;
+            }
+            joinIfEmpty(i, y * width + IntVector2.wrap(x - 1, width));
+            joinIfEmpty(i, y * width + IntVector2.wrap(x + 1, width));
+            joinIfEmpty(i, IntVector2.wrap(y - 1, height) * width + x);
+            joinIfEmpty(i, IntVector2.wrap(y + 1, height) * width + x);
+        }
+
+        /**
+         * Joins the sets of two cells, if the second one is empty.
+         */
+        private void joinIfEmpty(int i, int neighbor)
+        {
+            if (grid[neighbor] == EMPTY) { union(i, neighbor); }
+        }
+    }
+
+    /**
+     * @return A {@link LevelGenerator.Builder}, for scattered plus shapes covering 10% of a
+     *         walled in board, on the common {@link ForkJoinPool}.
+     */
+    public static LevelGenerator.Builder with() { return new LevelGenerator.Builder(); }
+
+    /**
+     * Used for creating new {@link LevelGenerator}s.
+     */
+    public static class Builder
+    {
+        private IntVector2 size = null;
+        private Style style = Style.PLUSES;
+        private double density = 0.1;
+        private long seed = 0;
+        private int tileSize = 256;
+        private ForkJoinPool pool = ForkJoinPool.commonPool();
+        private GameBoard.Topology topology = GameBoard.Topology.BOUNDED;
+
+        private Builder() {}
+
+        public Builder sizeAs(IntVector2 size)                 { this.size     = size;     return this; }
+        public Builder styleAs(Style style)                    { this.style    = style;    return this; }
+        public Builder densityAs(double density)               { this.density  = density;  return this; }
+        public Builder seedAs(long seed)                       { this.seed     = seed;     return this; }
+        public Builder tileSizeAs(int tileSize)                { this.tileSize = tileSize; return this; }
+        public Builder poolAs(ForkJoinPool pool)               { this.pool     = pool;     return this; }
+        public Builder topologyAs(GameBoard.Topology topology) { this.topology = topology; return this; }
+
+        /**
+         * @return A new {@link LevelGenerator} from this {@link Builder}.
+         * @throws IllegalArgumentException If the settings don't make sense.
+         */
+        public LevelGenerator make() { return new LevelGenerator(this); }
+    }
+}
@@ -0,0 +1,277 @@
+package com.thepeoplescoder.snake.state;
+
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import com.thepeoplescoder.snake.Shared;
+import com.thepeoplescoder.snake.cell.Apple;
+import com.thepeoplescoder.snake.cell.Cell;
+import com.thepeoplescoder.snake.cell.Wall;
+import com.thepeoplescoder.snake.math.IntVector2;
+
+/**
+ * A mipmap-style pyramid of occupancy counts over a {@link GameBoard}.<p>
+ *
+ * Each level of the pyramid divides the {@link GameBoard} into square blocks,
+ * and keeps a count of how many {@link Wall}, {@link Snake}, and {@link Apple}
+ * cells fall into each block.  Every level's blocks are twice as wide as the
+ * blocks of the level below it, up until the level that covers the entire
+ * {@link GameBoard} with a single block.<p>
+ *
+ * The pyramid is kept up to date incrementally through {@link GameBoard.Listener},
+ * so that a change to a single cell costs one counter update per level, and reading
+ * any level (e.g. for a minimap) never requires looking at the {@link GameBoard} itself.
+ */
+public class OccupancyPyramid implements GameBoard.Listener
+{
+    /**
+     * The kinds of things that are counted by an {@link OccupancyPyramid}.
+     */
+    public static enum Layer
+    {
+        WALL, SNAKE, APPLE;
+
+        /** The number of layers. */
+        public static final int COUNT = values().length;
+
+        /**
+         * @param cell The {@link Cell} to classify.
+         * @return The {@link Layer} the {@link Cell} is counted in, or {@code null}
+         *         if the {@link Cell} isn't counted at all.
+         */
+        public static Layer of(Cell cell)
+        {
+            return cell instanceof Wall  ? WALL
+                 : cell instanceof Apple ? APPLE
+                 : null;
+        }
+    }
+
+    /** The size of the {@link GameBoard} this pyramid describes, in {@link Cell}s. */
+    private final IntVector2 boardSize;
+
+    /** log2 of the block size of level 0. */
+    private final int baseShift;
+
+    /** The width of each level, in blocks. */
+    private final int[] widths;
+
+    /** The height of each level, in blocks. */
+    private final int[] heights;
+
+    /**
+     * The counts for each level.  Counts are interleaved by {@link Layer}, i.e.
+     * the count for layer {@code L} of block {@code (x, y)} on level {@code n} is
+     * {@code counts[n][(y * widths[n] + x) * Layer.COUNT + L.ordinal()]}.
+     */
+    private final int[][] counts;
+
+    /**
+     * Constructs an empty {@link OccupancyPyramid}.<p>
+     *
+     * The finest level uses the smallest power of two block size that keeps its
+     * longest side within {@link Shared.Settings.View#occupancyBaseMaxSide} blocks,
+     * so memory use stays bounded on very large {@link GameBoard}s.
+     *
+     * @param boardSize The size of the {@link GameBoard}, in {@link Cell}s.
+     */
+    public OccupancyPyramid(IntVector2 boardSize)
+    {
+        this.boardSize = Objects.requireNonNull(boardSize, "boardSize cannot be null.");
+
+        final int longestSide = Math.max(1, Math.max(boardSize.getX(), boardSize.getY()));
+        this.baseShift = IntStream.iterate(0, s -> s + 1)
+            .filter(s -> blocksAlong(longestSide, s) <= Shared.Settings.View.occupancyBaseMaxSide)
+            .findFirst().getAsInt();
+
+        // one level per halving, down to (and including) a single block.
+        final int levels = IntStream.iterate(baseShift, s -> s + 1)
+            .filter(s -> blocksAlong(longestSide, s) == 1)
+            .findFirst().getAsInt() - baseShift + 1;
+
+        this.widths  = IntStream.range(0, levels).map(n -> blocksAlong(boardSize.getX(), baseShift + n)).toArray();
+        this.heights = IntStream.range(0, levels).map(n -> blocksAlong(boardSize.getY(), baseShift + n)).toArray();
+        this.counts  = IntStream.range(0, levels)
+            .mapToObj(n -> new int[widths[n] * heights[n] * Layer.COUNT])
+            .toArray(int[][]::new);
+    }
+
+    /**
+     * @param length A length in {@link Cell}s.
+     * @param shift log2 of the block size.
+     * @return The number of blocks needed to cover {@code length} {@link Cell}s.
+     */
+    private static int blocksAlong(int length, int shift)
+    {
+        return Math.max(1, (length + (1 << shift) - 1) >> shift);
+    }
+
+    /**
+     * @return The size of the {@link GameBoard} described by this pyramid.
+     */
+    public IntVector2 getBoardSize()
+    {
+        return boardSize;
+    }
+
+    /**
+     * @return The number of levels in this pyramid.
+     */
+    public int getLevelCount()
+    {
+        return counts.length;
+    }
+
+    /**
+     * @param level The level.
+     * @return The width of the level, in blocks.
+     */
+    public int getLevelWidth(int level)
+    {
+        return widths[level];
+    }
+
+    /**
+     * @param level The level.
+     * @return The height of the level, in blocks.
+     */
+    public int getLevelHeight(int level)
+    {
+        return heights[level];
+    }
+
+    /**
+     * @param level The level.
+     * @return The width (and height) of a block on the given level, in {@link Cell}s.
+     */
+    public int getBlockSize(int level)
+    {
+        return 1 << (baseShift + level);
+    }
+
+    /**
+     * Finds the most detailed level that still fits within the requested size.
+     * @param maxSide The maximum number of blocks allowed along either side.
+     * @return The finest level whose width and height are both at most {@code maxSide}
+     *         blocks, or the coarsest level if none of them fit.
+     */
+    public int levelFitting(int maxSide)
+    {
+        return IntStream.range(0, getLevelCount())
+            .filter(n -> widths[n] <= maxSide && heights[n] <= maxSide)
+            .findFirst().orElse(getLevelCount() - 1);
+    }
+
+    /**
+     * Finds the most detailed level whose blocks are at least a given size.
+     * @param cells The minimum block size, in {@link Cell}s.
+     * @return The finest level whose block size is at least {@code cells},
+     *         or the coarsest level if none of them are.
+     */
+    public int levelWithBlocksOfAtLeast(int cells)
+    {
+        return IntStream.range(0, getLevelCount())
+            .filter(n -> getBlockSize(n) >= cells)
+            .findFirst().orElse(getLevelCount() - 1);
+    }
+
+    /**
+     * @param level The level.
+     * @param x The x coordinate of the block.
+     * @param y The y coordinate of the block.
+     * @param layer The {@link Layer} to count.
+     * @return The number of {@code layer} cells within the requested block.
+     */
+    public int getCount(int level, int x, int y, Layer layer)
+    {
+        return counts[level][(y * widths[level] + x) * Layer.COUNT + layer.ordinal()];
+    }
+
+    /**
+     * Adds {@code delta} to the count of the given {@link Layer} at a {@link Cell}
+     * position, on every level of the pyramid.
+     * @param layer The {@link Layer} to update.  {@code null} is ignored.
+     * @param pos The position of the {@link Cell}, in {@link GameBoard} coordinates.
+     * @param delta The amount to change the count by.
+     */
+    private void add(Layer layer, IntVector2 pos, int delta)
+    {
+        if (layer == null) { return; }
+
+        final int x = pos.getX();
+        final int y = pos.getY();
+        final int offset = layer.ordinal();
+
+        // One update per level; this runs for every cell change, so it avoids streams.
+        for (int n = 0; n < counts.length; n++)
+        {
+            final int shift = baseShift + n;
+            counts[n][((y >> shift) * widths[n] + (x >> shift)) * Layer.COUNT + offset] += delta;
+        }
+    }
+
+    /**
+     * Counts a whole set of cells at once, e.g. the {@link Wall}s of a {@link LevelFile},
+     * without going through an {@link IntVector2} per cell: the cells are counted on level 0,
+     * and every level above it is then recounted from the one below.
+     * @param layer The {@link Layer} to count the cells in.
+     * @param cells The cells, one bit per cell at {@code y * width + x}.
+     */
+    void addAll(Layer layer, BitSet cells)
+    {
+        final int width = boardSize.getX();
+        final int offset = layer.ordinal();
+
+        // The bits come in order, so the row is followed along instead of divided out of each one.
+        final int[] base = counts[0];
+        final long[] words = cells.toLongArray();
+        int y = 0, row = 0;
+        for (int w = 0; w < words.length; w++)
+        {
+            for (long word = words[w]; word != 0; word &= word - 1)
+            {
+                final int i = (w << 6) + Long.numberOfTrailingZeros(word);
+                while (i >= row + width) { y++; row += width; }
+                base[((y >> baseShift) * widths[0] + ((i - row) >> baseShift)) * Layer.COUNT + offset]++;
+            }
+        }
+
+        // Each block is the sum of the (up to) four blocks under it.
+        for (int n = 1; n < counts.length; n++)
+        {
+            final int[] above = counts[n], below = counts[n - 1];
+            for (int block = 0; block < widths[n] * heights[n]; block++)
+            {
+                above[block * Layer.COUNT + offset] = 0;
+            }
+            for (int by = 0; by < heights[n - 1]; by++)
+            {
+                for (int bx = 0; bx < widths[n - 1]; bx++)
+                {
+                    above[((by >> 1) * widths[n] + (bx >> 1)) * Layer.COUNT + offset] +=
+                        below[(by * widths[n - 1] + bx) * Layer.COUNT + offset];
+                }
+            }
+        }
+    }
+
+    @Override
+    public void cellChanged(IntVector2 position, Cell before, Cell after)
+    {
+        add(Layer.of(before), position, -1);
+        add(Layer.of(after), position, 1);
+    }
+
+    @Override
+    public void snakeEntered(IntVector2 position)
+    {
+        add(Layer.SNAKE, position, 1);
+    }
+
+    @Override
+    public void snakeLeft(IntVector2 position)
+    {
+        add(Layer.SNAKE, position, -1);
+    }
+}
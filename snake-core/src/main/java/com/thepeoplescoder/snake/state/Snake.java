@@ -1,17 +1,15 @@
 package com.thepeoplescoder.snake.state;
 
-import static java.util.stream.Collectors.toCollection;
-
-import java.awt.Color;
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Stream;
 
 import com.thepeoplescoder.snake.math.IntVector2;
-import com.thepeoplescoder.snake.Shared;
 import com.thepeoplescoder.snake.view.IoEngine;
+import com.thepeoplescoder.snake.view.Palette;
 
 /**
  * This class represents the snake.
@@ -41,6 +39,19 @@ public class Snake implements IoEngine.Drawable, GameState.Movable
      */
     private final LinkedHashSet<IntVector2> tail;
 
+    /**
+     * The tail position given up by the {@link #move()} that created this {@link Snake},
+     * or {@code null} if nothing was given up (the {@link Snake} grew, or wasn't created by moving).
+     */
+    private final IntVector2 vacated;
+
+    /**
+     * The size of the toroidal {@link GameBoard} this {@link Snake} wraps around, or {@code null}
+     * if it doesn't wrap, and leaving the {@link GameBoard} crashes it.
+     * @see GameBoard.Topology#TOROIDAL
+     */
+    private final IntVector2 wrapSize;
+
     /**
      * Creates a baby (two-segment) {@link Snake}.
      * @param direction The direction in which it will travel.
@@ -52,6 +63,28 @@ public class Snake implements IoEngine.Drawable, GameState.Movable
         return new Snake(direction, head, new LinkedHashSet<>(Collections.singleton(tail)));
     }
 
+    /**
+     * Creates a {@link Snake} occupying the given positions, e.g. a long one for testing or benchmarking.
+     * @param direction The direction in which it will travel.
+     * @param body The positions it occupies, starting with the head and ending with the tip of the tail.
+     *             Consecutive positions should be next to each other.
+     * @return The {@link Snake}.
+     * @throws IllegalArgumentException If there are fewer than two positions, or a position appears twice.
+     */
+    public static Snake along(IntVector2 direction, List<IntVector2> body)
+    {
+        if (body.size() < 2)
+        {
+            throw new IllegalArgumentException("a snake needs at least two positions.");
+        }
+        final LinkedHashSet<IntVector2> tail = new LinkedHashSet<>(body.subList(1, body.size()));
+        if (tail.size() != body.size() - 1 || tail.contains(body.get(0)))
+        {
+            throw new IllegalArgumentException("a snake can't occupy a position twice.");
+        }
+        return new Snake(direction, body.get(0), tail);
+    }
+
     /**
      * Constructor for a 2 or more segment {@link Snake}.
      * @param direction The direction it will travel.
@@ -60,7 +93,7 @@ public class Snake implements IoEngine.Drawable, GameState.Movable
      */
     private Snake(IntVector2 direction, IntVector2 head, LinkedHashSet<IntVector2> tail)
     {
-        this(direction, head, tail, 0);
+        this(direction, head, tail, 0, null);
     }
 
     /**
@@ -69,30 +102,59 @@ public class Snake implements IoEngine.Drawable, GameState.Movable
      * @param head The head position.
      * @param tail The positions of all parts of the tail.
      * @param growthStepsRemaining The number of steps in which the {@link Snake} will grow by one segment.
+     * @param wrapSize The size of the {@link GameBoard} it wraps around, or {@code null}.
+     */
+    private Snake(IntVector2 direction, IntVector2 head, LinkedHashSet<IntVector2> tail, int growthStepsRemaining, IntVector2 wrapSize)
+    {
+        this(direction, head, tail, growthStepsRemaining, null, wrapSize);
+    }
+
+    /**
+     * Constructor for a {@link Snake} that is the result of a {@link #move()}.
+     * @param direction The direction it will travel.
+     * @param head The head position.
+     * @param tail The positions of all parts of the tail.
+     * @param growthStepsRemaining The number of steps in which the {@link Snake} will grow by one segment.
+     * @param vacated The tail position given up by the move, or {@code null} if there wasn't one.
+     * @param wrapSize The size of the {@link GameBoard} it wraps around, or {@code null}.
      */
-    private Snake(IntVector2 direction, IntVector2 head, LinkedHashSet<IntVector2> tail, int growthStepsRemaining)
+    private Snake(IntVector2 direction, IntVector2 head, LinkedHashSet<IntVector2> tail, int growthStepsRemaining, IntVector2 vacated,
+            IntVector2 wrapSize)
     {
         this.direction            = Objects.requireNonNull(direction, "direction cannot be null.");
         this.head                 = Objects.requireNonNull(head, "head cannot be null.");
         this.tail                 = Objects.requireNonNull(tail, "tail cannot be null.");
         this.growthStepsRemaining = growthStepsRemaining;
+        this.vacated              = vacated;
+        this.wrapSize             = wrapSize;
     }
     
     /**
      * Moves the {@link Snake} forward in the direction which it is traveling.
      * If the {@link Snake} is in the process of growing, it is done so in this method.
+     * If it {@link #wrappingAround(IntVector2) wraps around} its {@link GameBoard}, moving off
+     * one edge brings it back in from the opposite one.
      * 
      * @return A {@link Snake} that is moved forward by one cell.<br>
      */
     public Snake move()
     {
-        final int tailSegmentsToRemove              = growthStepsRemaining > 0 ? 0 : 1;
-        final Stream<IntVector2> endOfNewTailStream = tail.stream().limit(tail.size() - tailSegmentsToRemove);
-        final Stream<IntVector2> newTailStream      = Stream.concat(Stream.of(head), endOfNewTailStream);
-        final LinkedHashSet<IntVector2> newTail     = newTailStream.collect(toCollection(LinkedHashSet::new));
-        final IntVector2 newHead                    = getHead().plus(direction);
+        final int segmentsToKeep                = growthStepsRemaining > 0 ? tail.size() : tail.size() - 1;
+        final LinkedHashSet<IntVector2> newTail = new LinkedHashSet<>();
+        final IntVector2 newHead                = wrapSize == null ? getHead().plus(direction)
+                                                                   : getHead().plusWrapped(direction, wrapSize);
+        newTail.add(head);
 
-        return new Snake(direction, newHead, newTail, Math.max(growthStepsRemaining - 1, 0));
+        // The segment left out of the copy is the one given up, so the tail is only walked once.
+        IntVector2 vacated = null;
+        int copied = 0;
+        for (IntVector2 segment : tail)
+        {
+            if (copied++ < segmentsToKeep) { newTail.add(segment); }
+            else                           { vacated = segment; }
+        }
+
+        return new Snake(direction, newHead, newTail, Math.max(growthStepsRemaining - 1, 0), vacated, wrapSize);
     }
 
     /**
@@ -128,7 +190,7 @@ public class Snake implements IoEngine.Drawable, GameState.Movable
      */
     public Snake withDirection(IntVector2 direction)
     {
-        return isValidDirection(direction) ? new Snake(direction, head, tail, growthStepsRemaining) : this;
+        return isValidDirection(direction) ? new Snake(direction, head, tail, growthStepsRemaining, wrapSize) : this;
     }
 
     /**
@@ -147,7 +209,18 @@ public class Snake implements IoEngine.Drawable, GameState.Movable
      */
     public Snake growBy(int numSteps)
     {
-        return numSteps > 0 ? new Snake(direction, head, tail, growthStepsRemaining + numSteps) : this;
+        return numSteps > 0 ? new Snake(direction, head, tail, growthStepsRemaining + numSteps, wrapSize) : this;
+    }
+
+    /**
+     * @param size The size of a toroidal {@link GameBoard}, or {@code null}.
+     * @return A {@link Snake} like this one, that wraps around a {@link GameBoard} of the given
+     *         size when it moves, or doesn't wrap at all if it is {@code null}.
+     * @see GameBoard.Topology#TOROIDAL
+     */
+    public Snake wrappingAround(IntVector2 size)
+    {
+        return new Snake(direction, head, tail, growthStepsRemaining, vacated, size);
     }
     
     /**
@@ -204,6 +277,23 @@ public class Snake implements IoEngine.Drawable, GameState.Movable
         return tail;
     }
 
+    /**
+     * @return The number of positions this {@link Snake} occupies, including its head.
+     */
+    public int getLength()
+    {
+        return tail.size() + 1;
+    }
+
+    /**
+     * @return The tail position this {@link Snake} gave up when it was created by
+     *         {@link #move()}, or {@code null} if it didn't give one up.
+     */
+    public IntVector2 getVacated()
+    {
+        return vacated;
+    }
+
     /**
      * Draws the representation of this {@link Snake}.
      * 
@@ -217,8 +307,8 @@ public class Snake implements IoEngine.Drawable, GameState.Movable
     }
     
     /** The color of this {@link Snake}'s tail. */
-    private static final Color tailColor = Shared.Colors.snakeTail;
+    private static final Palette tailColor = Palette.SNAKE_TAIL;
     
     /** The color of this {@link Snake}'s head. */
-    private static final Color headColor = Shared.Colors.snakeHead;
+    private static final Palette headColor = Palette.SNAKE_HEAD;
 }
\ No newline at end of file
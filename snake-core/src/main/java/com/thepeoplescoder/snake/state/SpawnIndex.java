@@ -0,0 +1,310 @@
+package com.thepeoplescoder.snake.state;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import com.thepeoplescoder.snake.cell.Cell;
+import com.thepeoplescoder.snake.cell.Wall;
+import com.thepeoplescoder.snake.math.IntVector2;
+
+/**
+ * An index of where on a {@link GameBoard} a new {@link Snake} can safely start.<p>
+ *
+ * For every cell and every one of {@link IntVector2#DIRECTIONS}, the index keeps the
+ * <i>free run length</i>: how many cells past it, in that direction, can be moved into
+ * before hitting a {@link Wall} or the edge of the {@link GameBoard}.  Run lengths are
+ * capped at the {@link #getClearance() clearance}, since a longer run is no safer, so they
+ * take a byte each.<p>
+ *
+ * A cell is a <i>safe tail</i> if it is empty, and the run length in at least one
+ * direction is at least the {@link #getClearance() clearance}: a {@link Snake} with its
+ * tail there, heading that way, can move that far without crashing.  The safe tails
+ * are kept in a dense array, so picking one at random takes constant time.<p>
+ *
+ * The index is kept up to date incrementally through {@link GameBoard.Listener}: adding
+ * or removing a {@link Wall} only touches the cells whose runs it cuts short or extends,
+ * at most the {@link #getClearance() clearance} in each direction, so that {@link Wall}s
+ * that keep moving, like {@link com.thepeoplescoder.snake.cell.MovingWall}s, stay cheap to
+ * follow.  {@link Snake}s aren't taken into account, the same as
+ * {@link GameBoard#isEmptyCell(IntVector2)}.  Runs stop at the edge
+ * of a {@link GameBoard.Topology#TOROIDAL} {@link GameBoard} too, though a {@link Snake} would
+ * wrap around it; that only leaves out a few safe tails near the edge.
+ */
+public class SpawnIndex implements GameBoard.Listener
+{
+    /** The longest {@link #getClearance() clearance}, so that run lengths fit in a byte. */
+    public static final int MAX_RUN_LENGTH = Byte.MAX_VALUE;
+
+    /** The x steps of {@link IntVector2#DIRECTIONS}, in the same order. */
+    private static final int[] DX;
+    /** The y steps of {@link IntVector2#DIRECTIONS}, in the same order. */
+    private static final int[] DY;
+
+    static
+    {
+        final List<IntVector2> directions = new ArrayList<>(IntVector2.DIRECTIONS);
+        DX = new int[directions.size()];
+        DY = new int[directions.size()];
+        for (int d = 0; d < directions.size(); d++)
+        {
+            DX[d] = directions.get(d).getX();
+            DY[d] = directions.get(d).getY();
+        }
+    }
+
+    /** The width of the {@link GameBoard}. */
+    private final int width;
+    /** The height of the {@link GameBoard}. */
+    private final int height;
+
+    /** The run length a safe tail needs in at least one direction. */
+    private final int clearance;
+
+    /** The cells holding a {@link Wall}, by {@link #indexOf(int, int) index}. */
+    private final BitSet walls = new BitSet();
+    /** The cells holding any {@link Cell} at all, by {@link #indexOf(int, int) index}. */
+    private final BitSet occupied = new BitSet();
+
+    /** The free run lengths, by direction and then by {@link #indexOf(int, int) index}. */
+    private final byte[][] runLengths;
+
+    /** The indexes of the safe tails, in no particular order, in the first {@link #safeTailCount} elements. */
+    private final int[] safeTails;
+    /** The number of safe tails. */
+    private int safeTailCount = 0;
+    /** Where each cell is in {@link #safeTails}, or {@code -1} if it isn't a safe tail. */
+    private final int[] slots;
+
+    /**
+     * Builds the index of a {@link GameBoard} as it is now.  Add it as a
+     * {@link GameBoard.Listener} to keep it up to date.
+     * @param board The {@link GameBoard}.
+     * @param clearance The run length a safe tail needs in at least one direction;
+     *                  at most {@link #MAX_RUN_LENGTH}.
+     * @throws IllegalArgumentException If {@code clearance} is out of range.
+     */
+    public SpawnIndex(GameBoard board, int clearance)
+    {
+        Objects.requireNonNull(board, "board cannot be null.");
+        if (clearance < 0 || clearance > MAX_RUN_LENGTH)
+        {
+            throw new IllegalArgumentException("clearance must be between 0 and " + MAX_RUN_LENGTH + ".");
+        }
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+        this.clearance = clearance;
+
+        final int cells = width * height;
+        runLengths = new byte[DX.length][cells];
+        safeTails = new int[cells];
+        slots = new int[cells];
+        Arrays.fill(slots, -1);
+
+        walls.or(board.packedWalls());
+        occupied.or(board.packedWalls());
+        board.unpackedCells().forEach(cell -> {
+            final int i = indexOf(cell.getPosition().getX(), cell.getPosition().getY());
+            occupied.set(i);
+            if (cell instanceof Wall) { walls.set(i); }
+        });
+
+        for (int d = 0; d < DX.length; d++)
+        {
+            buildRunLengths(d);
+        }
+        for (int i = 0; i < cells; i++)
+        {
+            refresh(i);
+        }
+    }
+
+    /**
+     * Works out every run length in one direction from scratch, starting with the cells
+     * nearest the edge the direction points at, so that each cell's neighbor is done first.
+     * @param d The index of the direction in {@link IntVector2#DIRECTIONS}.
+     */
+    private void buildRunLengths(int d)
+    {
+        final byte[] runs = runLengths[d];
+        final int x0 = DX[d] > 0 ? width - 1 : 0, xStep = DX[d] > 0 ? -1 : 1;
+        final int y0 = DY[d] > 0 ? height - 1 : 0, yStep = DY[d] > 0 ? -1 : 1;
+        for (int y = y0; 0 <= y && y < height; y += yStep)
+        {
+            for (int x = x0; 0 <= x && x < width; x += xStep)
+            {
+                runs[indexOf(x, y)] = (byte)runFrom(d, x, y);
+            }
+        }
+    }
+
+    /**
+     * @param d The index of the direction in {@link IntVector2#DIRECTIONS}.
+     * @param x The x coordinate of a cell.
+     * @param y The y coordinate of a cell.
+     * @return The run length from the cell in the direction, worked out from its neighbor's.
+     */
+    private int runFrom(int d, int x, int y)
+    {
+        final int nx = x + DX[d], ny = y + DY[d];
+        if (nx < 0 || ny < 0 || nx >= width || ny >= height) { return 0; }
+        final int next = indexOf(nx, ny);
+        return walls.get(next) ? 0 : Math.min(clearance, 1 + runLengths[d][next]);
+    }
+
+    /**
+     * @param x The x coordinate of a cell.
+     * @param y The y coordinate of a cell.
+     * @return Where the cell's entries are in the arrays of this index.
+     */
+    private int indexOf(int x, int y)
+    {
+        return y * width + x;
+    }
+
+    /**
+     * @return The run length a safe tail needs in at least one direction.
+     */
+    public int getClearance()
+    {
+        return clearance;
+    }
+
+    /**
+     * @param from A position on the {@link GameBoard}.
+     * @param direction One of {@link IntVector2#DIRECTIONS}.
+     * @return How many cells past {@code from}, in {@code direction}, can be moved into before
+     *         hitting a {@link Wall} or the edge, up to the {@link #getClearance() clearance}.
+     * @throws IllegalArgumentException If {@code direction} isn't one of {@link IntVector2#DIRECTIONS}.
+     */
+    public int getRunLength(IntVector2 from, IntVector2 direction)
+    {
+        return runLengths[directionIndexOf(direction)][indexOf(from.getX(), from.getY())];
+    }
+
+    /**
+     * @return The number of safe tails.
+     */
+    public int getSafeTailCount()
+    {
+        return safeTailCount;
+    }
+
+    /**
+     * @param random Where to get the random number from.
+     * @return A safe tail, picked uniformly at random, or {@code null} if there are none.
+     */
+    public IntVector2 randomSafeTail(Random random)
+    {
+        if (safeTailCount == 0) { return null; }
+        final int i = safeTails[random.nextInt(safeTailCount)];
+        return IntVector2.of(i % width, i / width);
+    }
+
+    /**
+     * @param tail A safe tail.
+     * @return The {@link IntVector2#DIRECTIONS} a {@link Snake} with its tail there can head in
+     *         for at least the {@link #getClearance() clearance} without crashing.
+     */
+    public List<IntVector2> safeDirectionsFrom(IntVector2 tail)
+    {
+        final int i = indexOf(tail.getX(), tail.getY());
+        final List<IntVector2> safe = new ArrayList<>(DX.length);
+        for (int d = 0; d < DX.length; d++)
+        {
+            if (runLengths[d][i] >= clearance) { safe.add(IntVector2.of(DX[d], DY[d])); }
+        }
+        return safe;
+    }
+
+    /**
+     * @param direction One of {@link IntVector2#DIRECTIONS}.
+     * @return Its index in {@link IntVector2#DIRECTIONS}.
+     */
+    private static int directionIndexOf(IntVector2 direction)
+    {
+        for (int d = 0; d < DX.length; d++)
+        {
+            if (DX[d] == direction.getX() && DY[d] == direction.getY()) { return d; }
+        }
+        throw new IllegalArgumentException(direction + " is not a direction.");
+    }
+
+    /**
+     * Adds a cell to, or removes it from, the safe tails, depending on whether it is one now.
+     * @param i The cell's {@link #indexOf(int, int) index}.
+     */
+    private void refresh(int i)
+    {
+        boolean safe = false;
+        if (!occupied.get(i))
+        {
+            for (int d = 0; d < DX.length && !safe; d++)
+            {
+                safe = runLengths[d][i] >= clearance;
+            }
+        }
+
+        final int slot = slots[i];
+        if (safe && slot < 0)
+        {
+            slots[i] = safeTailCount;
+            safeTails[safeTailCount++] = i;
+        }
+        else if (!safe && slot >= 0)
+        {
+            final int last = safeTails[--safeTailCount];
+            safeTails[slot] = last;
+            slots[last] = slot;
+            slots[i] = -1;
+        }
+    }
+
+    @Override
+    public void cellChanged(IntVector2 position, Cell before, Cell after)
+    {
+        final int x = position.getX(), y = position.getY();
+        final int i = indexOf(x, y);
+        occupied.set(i, after != Cell.EMPTY);
+
+        final boolean wasWall = before instanceof Wall, isWall = after instanceof Wall;
+        if (wasWall != isWall)
+        {
+            walls.set(i, isWall);
+            for (int d = 0; d < DX.length; d++)
+            {
+                runLengths[d][i] = (byte)runFrom(d, x, y);
+                updateRunsBehind(d, x, y);
+            }
+        }
+        refresh(i);
+    }
+
+    /**
+     * Recomputes the run lengths in one direction of the cells leading up to a cell whose
+     * {@link Wall} was just added or removed, until they hit a {@link Wall}, the edge, or
+     * stop changing.
+     * @param d The index of the direction in {@link IntVector2#DIRECTIONS}.
+     * @param x The x coordinate of the changed cell.
+     * @param y The y coordinate of the changed cell.
+     */
+    private void updateRunsBehind(int d, int x, int y)
+    {
+        final byte[] runs = runLengths[d];
+        int px = x - DX[d], py = y - DY[d];
+        while (0 <= px && 0 <= py && px < width && py < height)
+        {
+            final int p = indexOf(px, py);
+            if (walls.get(p)) { break; }
+            final int run = runFrom(d, px, py);
+            if (runs[p] == run) { break; }
+            runs[p] = (byte)run;
+            refresh(p);
+            px -= DX[d];
+            py -= DY[d];
+        }
+    }
+}
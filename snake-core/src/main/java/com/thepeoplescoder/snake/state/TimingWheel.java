@@ -0,0 +1,259 @@
+package com.thepeoplescoder.snake.state;
+
+import java.util.Objects;
+
+/**
+ * A hierarchical timing wheel: things to happen a number of ticks from now, without
+ * looking at every one of them on every tick.<p>
+ *
+ * The wheel has {@link #LEVELS} levels of {@link #SLOTS} slots each.  A slot on level 0
+ * holds the {@link Timer}s due on one tick; a slot on level {@code n} holds the ones due
+ * within a span of {@code SLOTS^n} ticks.  Each tick, {@link #advance()} moves the clock on,
+ * and {@link #pollDue()} then hands over what is in the one slot of level 0 that is due,
+ * without allocating anything.  Whenever the clock crosses into a new span on a higher
+ * level, the slot for that span is spread out over the levels below it; each {@link Timer}
+ * is moved down at most once per level, so that costs constant time per {@link Timer},
+ * amortized.<p>
+ *
+ * Each slot is a doubly linked list running through the {@link Timer}s themselves, so
+ * {@link #schedule(int, Object) scheduling} and {@link Timer#cancel() cancelling} take
+ * constant time too, and don't allocate anything apart from the {@link Timer}.<p>
+ *
+ * This is a mutable object, and isn't safe to use from more than one thread at once.
+ * @param <T> What is kept with each {@link Timer}, and handed over when it fires.
+ */
+public class TimingWheel<T>
+{
+    /** log2 of {@link #SLOTS}. */
+    private static final int SLOT_BITS = 6;
+
+    /** The number of slots on each level. */
+    public static final int SLOTS = 1 << SLOT_BITS;
+
+    /**
+     * The number of levels.  A {@link Timer} due only a few ticks from now can still differ
+     * from the clock in its top bits (when they carry), so the levels cover all of them.
+     */
+    public static final int LEVELS = (Long.SIZE + SLOT_BITS - 1) / SLOT_BITS;
+
+    /**
+     * Something that will happen on a given tick, unless it is cancelled first.
+     * @param <T> What is handed over when it fires.
+     */
+    public static final class Timer<T>
+    {
+        /** What is handed over when this {@link Timer} fires. */
+        private final T payload;
+        /** The tick this {@link Timer} fires on. */
+        private final long dueTick;
+
+        /** The {@link TimingWheel} this {@link Timer} is pending in, or {@code null} once it has fired or been cancelled. */
+        private TimingWheel<T> wheel;
+        /** The {@link Timer}s before and after this one in its slot. */
+        private Timer<T> previous, next;
+        /** The slot this {@link Timer} is in, as {@code level * SLOTS + slot}. */
+        private int slot;
+
+        /**
+         * @param wheel The {@link TimingWheel} it is scheduled in.
+         * @param payload What is handed over when it fires.
+         * @param dueTick The tick it fires on.
+         */
+        private Timer(TimingWheel<T> wheel, T payload, long dueTick)
+        {
+            this.wheel   = wheel;
+            this.payload = payload;
+            this.dueTick = dueTick;
+        }
+
+        /**
+         * @return What is handed over when this {@link Timer} fires.
+         */
+        public T getPayload()
+        {
+            return payload;
+        }
+
+        /**
+         * @return The tick this {@link Timer} fires on.
+         */
+        public long getDueTick()
+        {
+            return dueTick;
+        }
+
+        /**
+         * @return {@code true} if this {@link Timer} is yet to fire, and hasn't been cancelled.
+         */
+        public boolean isPending()
+        {
+            return wheel != null;
+        }
+
+        /**
+         * Stops this {@link Timer} from firing.  Does nothing if it has already fired, or
+         * has already been cancelled.
+         * @return {@code true} if it was still pending.
+         */
+        public boolean cancel()
+        {
+            if (wheel == null) { return false; }
+            wheel.unlink(this);
+            wheel.pending--;
+            wheel = null;
+            return true;
+        }
+    }
+
+    /** The first {@link Timer} in each slot, by {@code level * SLOTS + slot}. */
+    private final Timer<?>[] heads = new Timer<?>[LEVELS * SLOTS];
+
+    /** The current tick. */
+    private long now = 0;
+
+    /** The number of {@link Timer}s yet to fire. */
+    private int pending = 0;
+
+    /**
+     * @return The current tick; {@link #advance()} moves it on by one.
+     */
+    public long getTick()
+    {
+        return now;
+    }
+
+    /**
+     * @return The number of {@link Timer}s yet to fire.
+     */
+    public int getPendingCount()
+    {
+        return pending;
+    }
+
+    /**
+     * Schedules something to happen a number of ticks from now.
+     * @param ticks How many ticks from now; 1 is the next {@link #advance()}.
+     * @param payload What to hand over when it does.
+     * @return The {@link Timer}, which can be {@link Timer#cancel() cancelled}.
+     * @throws IllegalArgumentException If {@code ticks} is less than 1.
+     */
+    public Timer<T> schedule(int ticks, T payload)
+    {
+        Objects.requireNonNull(payload, "payload cannot be null.");
+        if (ticks < 1)
+        {
+            throw new IllegalArgumentException("ticks must be at least 1.");
+        }
+        final Timer<T> timer = new Timer<>(this, payload, now + ticks);
+        link(timer);
+        pending++;
+        return timer;
+    }
+
+    /**
+     * Moves the clock on by one tick.  The {@link Timer}s due on it are then handed over
+     * by {@link #pollDue()}, which should be called until it returns {@code null} before
+     * the clock is moved on again: any left behind stay in their slot until the clock
+     * comes round to it again.
+     */
+    public void advance()
+    {
+        now++;
+
+        // Spread out the slots whose span starts now, from the top down, so that
+        // anything they hold that is due soon enough falls all the way to level 0.
+        final int top = Math.min(LEVELS - 1, Long.numberOfTrailingZeros(now) / SLOT_BITS);
+        for (int level = top; level > 0; level--)
+        {
+            cascade(level * SLOTS + slotOf(now, level));
+        }
+    }
+
+    /**
+     * Fires one of the {@link Timer}s due on the current tick, in no particular order.
+     * {@link Timer}s are taken off one at a time, so that what one of them does can still
+     * cancel another one due on the same tick; ones scheduled in the meantime are for
+     * later ticks.
+     * @return The payload of the {@link Timer}, or {@code null} once none are left.
+     */
+    public T pollDue()
+    {
+        @SuppressWarnings("unchecked")
+        final Timer<T> timer = (Timer<T>)heads[slotOf(now, 0)];
+        if (timer == null) { return null; }
+        unlink(timer);
+        timer.wheel = null;
+        pending--;
+        return timer.payload;
+    }
+
+    /**
+     * @param tick A tick.
+     * @param level A level.
+     * @return The slot on the level that holds that tick.
+     */
+    private static int slotOf(long tick, int level)
+    {
+        return (int)(tick >>> (level * SLOT_BITS)) & (SLOTS - 1);
+    }
+
+    /**
+     * Puts a {@link Timer} into the slot for its tick, on the lowest level whose span
+     * (the one the clock is in now) takes it in.
+     * @param timer The {@link Timer}.
+     */
+    private void link(Timer<T> timer)
+    {
+        final long differs = timer.dueTick ^ now;
+        final int level = differs == 0 ? 0 : (Long.SIZE - 1 - Long.numberOfLeadingZeros(differs)) / SLOT_BITS;
+        final int slot = level * SLOTS + slotOf(timer.dueTick, level);
+
+        @SuppressWarnings("unchecked")
+        final Timer<T> head = (Timer<T>)heads[slot];
+        timer.slot = slot;
+        timer.previous = null;
+        timer.next = head;
+        if (head != null) { head.previous = timer; }
+        heads[slot] = timer;
+    }
+
+    /**
+     * Takes a {@link Timer} out of its slot.
+     * @param timer The {@link Timer}.
+     */
+    private void unlink(Timer<T> timer)
+    {
+        if (timer.previous != null) { timer.previous.next = timer.next; }
+        else                        { heads[timer.slot] = timer.next;    }
+        if (timer.next != null)     { timer.next.previous = timer.previous; }
+        timer.previous = timer.next = null;
+    }
+
+    /**
+     * Empties a slot.
+     * @param slot The slot, as {@code level * SLOTS + slot}.
+     * @return The first of the {@link Timer}s that were in it, still linked to the rest.
+     */
+    @SuppressWarnings("unchecked")
+    private Timer<T> detach(int slot)
+    {
+        final Timer<T> first = (Timer<T>)heads[slot];
+        heads[slot] = null;
+        return first;
+    }
+
+    /**
+     * Moves every {@link Timer} in a slot down to where it belongs now.
+     * @param slot The slot, as {@code level * SLOTS + slot}.
+     */
+    private void cascade(int slot)
+    {
+        Timer<T> timer = detach(slot);
+        while (timer != null)
+        {
+            final Timer<T> next = timer.next;
+            link(timer);
+            timer = next;
+        }
+    }
+}
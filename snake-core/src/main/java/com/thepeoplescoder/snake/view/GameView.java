@@ -0,0 +1,203 @@
+package com.thepeoplescoder.snake.view;
+
+import java.io.PrintStream;
+
+import com.thepeoplescoder.snake.metrics.GameMetrics;
+import com.thepeoplescoder.snake.metrics.InputLatency;
+import com.thepeoplescoder.snake.metrics.MetricsRegistry;
+import com.thepeoplescoder.snake.metrics.events.FlightEvents;
+import com.thepeoplescoder.snake.metrics.events.RenderEvent;
+import com.thepeoplescoder.snake.state.GameState;
+
+/**
+ * 
+ */
+public abstract class GameView
+{
+    public abstract IoEngine getIoEngine();
+    public abstract void displayStateSequence();
+
+    /**
+     * 
+     * @param initialState
+     */
+    public GameView(GameState initialState)
+    {
+        setGameState(initialState);
+    }
+
+    /**
+     * The current game state.
+     */
+    private GameState gameState;
+
+    /** Measures how long it takes for input to take effect. */
+    private final InputLatency inputLatency = new InputLatency();
+
+    /** {@code true} if {@link #printStatistics(PrintStream)} should be called when the game ends. */
+    private boolean printingStatisticsOnExit = false;
+
+    /** Where ticks and frames are recorded, or {@code null} if they aren't. */
+    private GameMetrics metrics = null;
+
+    /** Run once the first frame has been shown, or {@code null} if it already has been. */
+    private Runnable firstFrameListener = null;
+
+    /**
+     * @return The {@link GameState} associated with this {@link GameView}.
+     */
+    public GameState getGameState()
+    {
+        return gameState;
+    }
+
+    /**
+     * Sets the associated {@link GameState} of this {@link GameView}.
+     * @param state The {@link GameView}'s new state.
+     */
+    public void setGameState(GameState state)
+    {
+        gameState = state;
+        inputLatency.tickApplied(state);
+    }
+
+    /**
+     * Advances the game by one tick, i.e. replaces the associated {@link GameState} with
+     * its {@link GameState#nextState()}, recording the tick if metrics are turned on.
+     */
+    public void advance()
+    {
+        final GameMetrics m = metrics;
+        final GameState before = getGameState();
+        if (m == null)
+        {
+            setGameState(before.nextState());
+            return;
+        }
+
+        final int pendingBefore = before.getPendingEventCount();
+        final long allocatedBefore = GameMetrics.currentThreadAllocatedBytes();
+        final long start = System.nanoTime();
+        final GameState after = before.nextState();
+        final long nanos = System.nanoTime() - start;
+        final long allocated = allocatedBefore < 0 ? -1 : GameMetrics.currentThreadAllocatedBytes() - allocatedBefore;
+
+        setGameState(after);
+        m.recordTick(nanos, Math.max(0, pendingBefore - after.getPendingEventCount()),
+            after.getPendingInputEventCount(), allocated);
+    }
+
+    /**
+     * Draws the associated {@link GameState} to the display, as one frame.
+     * @see #beginFrame()
+     * @see #endFrame()
+     */
+    public void drawCurrentState()
+    {
+        final GameState shown = getGameState();
+        final RenderEvent event = FlightEvents.isRecording() ? new RenderEvent() : null;
+        if (event != null) { event.begin(); }
+        final long start = System.nanoTime();
+
+        beginFrame();
+        shown.draw(getIoEngine());
+        endFrame();
+
+        frameFinished(shown, start);
+        if (event != null && event.shouldCommit())
+        {
+            event.view = getClass().getSimpleName();
+            event.snakeLength = shown.getSnake().getLength();
+            event.commit();
+        }
+    }
+
+    /**
+     * Called before each frame is drawn (optional operation).
+     */
+    protected void beginFrame() {}
+
+    /**
+     * Called after each frame is drawn, to actually show it (optional operation).
+     */
+    protected void endFrame() {}
+
+    /**
+     * Called once a frame has actually been shown, for measuring input latency
+     * and, if metrics are turned on, paint duration.
+     * @param shown The {@link GameState} the frame shows.
+     * @param startedAtNanos When drawing the frame started, as a {@link System#nanoTime()} value.
+     */
+    private void frameFinished(GameState shown, long startedAtNanos)
+    {
+        inputLatency.frameFinished(shown);
+        final GameMetrics m = metrics;
+        if (m != null)
+        {
+            m.recordFrame(System.nanoTime() - startedAtNanos);
+        }
+
+        final Runnable listener = firstFrameListener;
+        if (listener != null)
+        {
+            firstFrameListener = null;
+            listener.run();
+        }
+    }
+
+    /**
+     * @param listener Run once, right after the first frame has been shown, on the
+     *                 thread that showed it.  Used to measure how long startup takes.
+     */
+    public void setFirstFrameListener(Runnable listener)
+    {
+        firstFrameListener = listener;
+    }
+
+    /**
+     * Turns on metrics for this {@link GameView}, including its input latency.
+     * @param registry Where to register the metrics.
+     */
+    public void enableMetrics(MetricsRegistry registry)
+    {
+        registry.register("snake_input_to_tick_seconds", "Time from capturing an input to the end of the tick that applied it.",
+            inputLatency.getInputToTick(), GameMetrics.NANOS_PER_SECOND);
+        registry.register("snake_input_to_frame_seconds", "Time from capturing an input to the end of the first frame showing it.",
+            inputLatency.getInputToFrame(), GameMetrics.NANOS_PER_SECOND);
+        metrics = new GameMetrics(registry);
+    }
+
+    /**
+     * @return How long it takes for input to take effect in this {@link GameView}.
+     */
+    public InputLatency getInputLatency()
+    {
+        return inputLatency;
+    }
+
+    /**
+     * @return {@code true} if {@link #printStatistics(PrintStream)} should be called when the game ends.
+     */
+    public boolean isPrintingStatisticsOnExit()
+    {
+        return printingStatisticsOnExit;
+    }
+
+    /**
+     * @param printingStatisticsOnExit {@code true} if {@link #printStatistics(PrintStream)}
+     *                                 should be called when the game ends.
+     */
+    public void setPrintingStatisticsOnExit(boolean printingStatisticsOnExit)
+    {
+        this.printingStatisticsOnExit = printingStatisticsOnExit;
+    }
+
+    /**
+     * Prints what was measured while the game was running.
+     * @param out Where to print it.
+     */
+    public void printStatistics(PrintStream out)
+    {
+        out.println(inputLatency);
+    }
+}
@@ -1,11 +1,10 @@
 package com.thepeoplescoder.snake.view;
 
-import java.awt.Color;
-
 import com.thepeoplescoder.snake.math.IntVector2;
 import com.thepeoplescoder.snake.state.GameBoard;
 import com.thepeoplescoder.snake.state.GameState;
 import com.thepeoplescoder.snake.state.Score;
+import com.thepeoplescoder.snake.state.Snake;
 
 /**
  * A class representing the concept of an I/O engine.<p>
@@ -71,7 +70,7 @@ public abstract class IoEngine
      * @param color The new drawing color to use.
      * @return This {@link IoEngine}.
      */
-    public abstract IoEngine setColor(Color color);
+    public abstract IoEngine setColor(Palette color);
     
     /**
      * Draws the contents of a cell at the given position in {@link GameBoard} coordinates.
@@ -79,6 +78,19 @@ public abstract class IoEngine
      *                 method, the visual representation of this cell should be drawn to the {@link GameView}.
      */
     public abstract void drawCellAt(IntVector2 position);
+
+    /**
+     * Draws the contents of a cell at the given coordinates, the same as
+     * {@link #drawCellAt(IntVector2)}, for cells that have no {@link IntVector2} of their own,
+     * e.g. {@link com.thepeoplescoder.snake.cell.Wall}s drawn by {@link GameBoard#forEachWall(GameBoard.PositionConsumer)}.
+     * {@link IoEngine}s that work in coordinates anyway override this, so as not to create one.
+     * @param x The x coordinate of the cell, in {@link GameBoard} coordinates.
+     * @param y The y coordinate of the cell, in {@link GameBoard} coordinates.
+     */
+    public void drawCellAt(int x, int y)
+    {
+        drawCellAt(IntVector2.of(x, y));
+    }
     
     /**
      * Draws the score to the display.
@@ -100,8 +112,29 @@ public abstract class IoEngine
         d.draw(this);
     }
 
+    /**
+     * Draws the playing field, i.e. the {@link GameBoard}, the {@link Snake}, and the grid.<p>
+     *
+     * {@link IoEngine}s that can't afford to draw every {@link com.thepeoplescoder.snake.cell.Cell}
+     * (e.g. when zoomed out on a large {@link GameBoard}) may override this.
+     * @param board The {@link GameBoard} to draw.
+     * @param snake The {@link Snake} to draw.
+     */
+    public void drawPlayfield(GameBoard board, Snake snake)
+    {
+        draw(board);
+        draw(snake);
+        drawGrid();
+    }
+
     /**
      * Draws a grid (optional operation).
      */
     public void drawGrid() {}
+
+    /**
+     * Draws a minimap of the {@link GameBoard} (optional operation).
+     * @param board The {@link GameBoard} to draw the minimap of.
+     */
+    public void drawMinimap(GameBoard board) {}
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.thepeoplescoder.snake.view;
+
+/**
+ * The colors the game is drawn with, by what they are used for.<p>
+ *
+ * The simulation only ever deals in these IDs, so it doesn't depend on any
+ * particular toolkit's idea of a color (loading {@code java.awt} is slow, and
+ * needless for a game that runs on a terminal, or headless).  Each {@link IoEngine}
+ * turns them into whatever it draws with, usually starting from {@link #getRgb()}.
+ */
+public enum Palette
+{
+    /** The {@link com.thepeoplescoder.snake.state.Snake}'s head. */
+    SNAKE_HEAD(0x00FF00),
+    /** The {@link com.thepeoplescoder.snake.state.Snake}'s tail, slightly darker than its head. */
+    SNAKE_TAIL(0x00B200),
+    /** Empty space. */
+    BACKGROUND(0x000000),
+    /** {@link com.thepeoplescoder.snake.cell.Wall}s. */
+    WALL(0x0000FF),
+    /** {@link com.thepeoplescoder.snake.cell.Apple}s. */
+    APPLE(0xFF0000),
+    /** The lines between cells. */
+    GRID(0x000000),
+    /** The "Score:" label. */
+    SCORE(0xFFFF00),
+    /** The score itself. */
+    SCORE_VALUE(0x7C7C00),
+    /** The big game over message. */
+    GAME_OVER(0xFF0000),
+    /** The little game over message. */
+    LITTLE_GAME_OVER(0x00FFFF),
+    /** The border around the minimap. */
+    MINIMAP_BORDER(0xFFFFFF);
+
+    /** The default value of the color, as a packed RGB value. */
+    private final int rgb;
+
+    /**
+     * @param rgb The default value of the color, as a packed RGB value.
+     */
+    private Palette(int rgb)
+    {
+        this.rgb = rgb;
+    }
+
+    /**
+     * @return The default value of the color, as a packed RGB value ({@code 0xRRGGBB}).
+     */
+    public int getRgb()
+    {
+        return rgb;
+    }
+}
@@ -0,0 +1,206 @@
+package com.thepeoplescoder.snake.state;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.metrics.GameMetrics;
+
+/**
+ * Makes sure that the operations the game does every tick don't allocate more than they
+ * used to.<p>
+ *
+ * Each operation has a budget, in bytes per call, measured with the JVM's per-thread
+ * allocation counter once the operation has been warmed up (so that the JIT compiler has
+ * had a chance to do its job).  The budgets are the measured amounts plus about 10%;
+ * when an optimization lowers an amount, lower its budget too, so that the win stays won.
+ * When a change has to raise one, raise it here, where the change is plain to see.
+ */
+public class AllocationBudgetTest
+{
+    /** Bytes per {@link GameState#nextState()}, with a 10 segment {@link Snake} on a 40x40 board. */
+    private static final long NEXT_STATE_BUDGET = 1240;
+    /** Bytes per {@link Snake#move()}, for a 10 segment {@link Snake}. */
+    private static final long SNAKE_MOVE_BUDGET = 950;
+    /** Bytes per segment per {@link Snake#move()}, for a 1000 segment {@link Snake}. */
+    private static final long SNAKE_MOVE_PER_SEGMENT_BUDGET = 64;
+    /** Bytes per {@link GameBoard#getCell(IntVector2)}. */
+    private static final long GET_CELL_BY_VECTOR_BUDGET = 0;
+    /** Bytes per {@link GameBoard#getCell(int, int)}. */
+    private static final long GET_CELL_BY_COORDINATES_BUDGET = 320;
+
+    /** How many calls are made before measuring. */
+    private static final int WARMUP_CALLS = 20_000;
+    /** How many calls are measured. */
+    private static final int MEASURED_CALLS = 10_000;
+
+    /** The width and height of the board. */
+    private static final int SIZE = 40;
+
+    @BeforeClass
+    public static void allocationMustBeMeasurable()
+    {
+        assumeTrue("this JVM can't measure allocation", GameMetrics.currentThreadAllocatedBytes() >= 0);
+    }
+
+    @Test
+    public void nextStateStaysWithinBudget()
+    {
+        final GameState[] state = { startGame() };
+        final long perCall = bytesPerCall(() -> {
+            // Turning isn't part of a tick, so it isn't measured.
+            state[0] = turnBeforeWalls(state[0]);
+            final long before = GameMetrics.currentThreadAllocatedBytes();
+            state[0] = state[0].nextState();
+            return GameMetrics.currentThreadAllocatedBytes() - before;
+        });
+        assertWithinBudget("GameState.nextState()", perCall, NEXT_STATE_BUDGET);
+    }
+
+    @Test
+    public void snakeMoveStaysWithinBudget()
+    {
+        final Snake snake = straightSnake(10);
+        final long perCall = bytesPerCall(measuring(snake::move));
+        assertWithinBudget("Snake.move()", perCall, SNAKE_MOVE_BUDGET);
+    }
+
+    @Test
+    public void longSnakeMoveStaysWithinBudgetPerSegment()
+    {
+        final Snake snake = straightSnake(1000);
+        final long perCall = bytesPerCall(measuring(snake::move));
+        assertWithinBudget("Snake.move() per segment", perCall / snake.getLength(), SNAKE_MOVE_PER_SEGMENT_BUDGET);
+    }
+
+    @Test
+    public void getCellByVectorStaysWithinBudget()
+    {
+        final GameBoard board = startGame().getBoard();
+        final IntVector2[] positions = positions();
+        final int[] i = { 0 };
+        final long perCall = bytesPerCall(measuring(() -> board.getCell(positions[i[0]++ % positions.length])));
+        assertWithinBudget("GameBoard.getCell(IntVector2)", perCall, GET_CELL_BY_VECTOR_BUDGET);
+    }
+
+    @Test
+    public void getCellByCoordinatesStaysWithinBudget()
+    {
+        final GameBoard board = startGame().getBoard();
+        final IntVector2[] positions = positions();
+        final int[] i = { 0 };
+        final long perCall = bytesPerCall(measuring(() -> {
+            final IntVector2 pos = positions[i[0]++ % positions.length];
+            return board.getCell(pos.getX(), pos.getY());
+        }));
+        assertWithinBudget("GameBoard.getCell(int, int)", perCall, GET_CELL_BY_COORDINATES_BUDGET);
+    }
+
+    /**
+     * @param what The operation.
+     * @param bytes The number of bytes it allocated per call.
+     * @param budget The number of bytes it may allocate per call.
+     */
+    private static void assertWithinBudget(String what, long bytes, long budget)
+    {
+        assertTrue(what + " allocated " + bytes + " bytes per call, over its budget of " + budget,
+            bytes <= budget);
+    }
+
+    /**
+     * @param call Makes one call of an operation, and returns how many bytes it allocated.
+     * @return The average number of bytes allocated per call, after warming up.
+     */
+    private static long bytesPerCall(LongSupplier call)
+    {
+        for (int i = 0; i < WARMUP_CALLS; i++)
+        {
+            call.getAsLong();
+        }
+        long total = 0;
+        for (int i = 0; i < MEASURED_CALLS; i++)
+        {
+            total += call.getAsLong();
+        }
+        return total / MEASURED_CALLS;
+    }
+
+    /**
+     * @param operation An operation; its result is ignored.
+     * @return Something that calls the operation once, and returns how many bytes it allocated.
+     */
+    private static LongSupplier measuring(Supplier<?> operation)
+    {
+        return () -> {
+            final long before = GameMetrics.currentThreadAllocatedBytes();
+            operation.get();
+            return GameMetrics.currentThreadAllocatedBytes() - before;
+        };
+    }
+
+    /**
+     * @return A game on a board with only bounding walls, and no apples, with a 10 segment
+     *         {@link Snake} heading right along the top row.
+     */
+    private static GameState startGame()
+    {
+        final GameBoard board = new GameBoard(IntVector2.of(SIZE, SIZE), GameBoard.boundingWalls(IntVector2.of(SIZE, SIZE)));
+        final List<IntVector2> body = new ArrayList<>();
+        for (int x = 10; x >= 1; x--)
+        {
+            body.add(IntVector2.of(x, 1));
+        }
+        final Snake snake = Snake.along(IntVector2.I, body);
+        board.placeSnake(snake);
+        return GameState.startWith(board, snake);
+    }
+
+    /**
+     * @param state A {@link GameState}.
+     * @return The {@link GameState}, with its {@link Snake} turned clockwise if it's about to
+     *         run into a wall, so that it goes around the board forever.
+     */
+    private static GameState turnBeforeWalls(GameState state)
+    {
+        final Snake snake = state.getSnake();
+        final IntVector2 d = snake.getDirection();
+        return state.getBoard().isWall(snake.getHead().plus(d))
+            ? state.withSnake(snake.withDirection(IntVector2.of(-d.getY(), d.getX())))
+            : state;
+    }
+
+    /**
+     * @param length The length of the {@link Snake}.
+     * @return A {@link Snake} lying along a row, heading right.
+     */
+    private static Snake straightSnake(int length)
+    {
+        final List<IntVector2> body = new ArrayList<>();
+        for (int x = length - 1; x >= 0; x--)
+        {
+            body.add(IntVector2.of(x, 0));
+        }
+        return Snake.along(IntVector2.I, body);
+    }
+
+    /**
+     * @return Every position on the board.
+     */
+    private static IntVector2[] positions()
+    {
+        final IntVector2[] positions = new IntVector2[SIZE * SIZE];
+        for (int i = 0; i < positions.length; i++)
+        {
+            positions[i] = IntVector2.of(i % SIZE, i / SIZE);
+        }
+        return positions;
+    }
+}
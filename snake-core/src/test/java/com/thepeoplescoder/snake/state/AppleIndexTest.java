@@ -0,0 +1,211 @@
+package com.thepeoplescoder.snake.state;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.thepeoplescoder.snake.Shared;
+import com.thepeoplescoder.snake.cell.Apple;
+import com.thepeoplescoder.snake.cell.Wall;
+import com.thepeoplescoder.snake.math.IntVector2;
+
+/**
+ * Tests that a {@link GameBoard}'s {@link AppleIndex} keeps up with the {@link Apple}s on it,
+ * as they are eaten, respawned, and replaced, and as {@link Level}s change.
+ */
+public class AppleIndexTest
+{
+    /** The width and height of the board; a few buckets across. */
+    private static final int SIZE = 40;
+
+    /** Where the {@link Apple}s start out, in several buckets. */
+    private static final IntVector2[] APPLES = {
+        IntVector2.of(7, 5), IntVector2.of(1, 1), IntVector2.of(20, 3), IntVector2.of(33, 30), IntVector2.of(17, 17),
+    };
+
+    @Test
+    public void indexMatchesTheBoardItWasBuiltFrom()
+    {
+        final GameBoard board = boardWithApples();
+        assertConsistent(board);
+        assertEquals(APPLES.length, board.getAppleIndex().getAppleCount());
+    }
+
+    @Test
+    public void eatenAppleLeavesTheIndex()
+    {
+        final GameBoard board = boardWithApples();
+        final AppleIndex index = board.getAppleIndex();
+        final Apple apple = appleAt(board, APPLES[2]);
+
+        board.eatApple(apple);
+        assertConsistent(board);
+        assertEquals(APPLES.length - 1, index.getAppleCount());
+        assertNotSame(apple, index.nearestTo(APPLES[2]));
+    }
+
+    @Test
+    public void respawnedAppleJoinsTheIndex()
+    {
+        final GameBoard board = boardWithApples();
+        final AppleIndex index = board.getAppleIndex();
+        final Snake snake = Snake.baby(IntVector2.I, IntVector2.of(10, 10), IntVector2.of(9, 10));
+        final Apple[] respawned = { null };
+
+        board.eatApple(appleAt(board, APPLES[0]));
+        board.eatApple(appleAt(board, APPLES[3]));
+        assertEquals(2, board.respawnEatenApples(snake, apple -> respawned[0] = apple));
+        assertConsistent(board);
+        assertEquals(APPLES.length, index.getAppleCount());
+        assertSame(respawned[0], index.nearestTo(respawned[0].getPosition()));
+    }
+
+    @Test
+    public void appleReplacedByAWallLeavesTheIndex()
+    {
+        final GameBoard board = boardWithApples();
+        board.putCell(new Wall(APPLES[1]));
+        assertConsistent(board);
+        assertEquals(APPLES.length - 1, board.getAppleIndex().getAppleCount());
+    }
+
+    @Test
+    public void appleRunIntoBySnakeLeavesTheIndex()
+    {
+        final GameBoard board = boardWithApples();
+        final AppleIndex index = board.getAppleIndex();
+        final Apple apple = appleAt(board, APPLES[0]);
+        final Snake snake = Snake.baby(IntVector2.I, APPLES[0].minus(2, 0), APPLES[0].minus(3, 0));
+        board.placeSnake(snake);
+
+        // Two moves take the head onto the apple; the third eats it, and puts another one down.
+        GameState state = GameState.startWith(board, snake);
+        for (int n = 0; n < 3; n++)
+        {
+            state = state.nextState();
+            assertConsistent(board);
+        }
+        assertFalse(state.isGameOver());
+        assertFalse(board.getCell(APPLES[0]) instanceof Apple);
+        assertEquals(APPLES.length, index.getAppleCount());
+        assertNotSame(apple, index.nearestTo(APPLES[0]));
+    }
+
+    @Test
+    public void respawnedSnakeLeavesTheIndexAlone()
+    {
+        final GameBoard board = boardWithApples();
+        final Snake snake = Snake.baby(IntVector2.I, IntVector2.of(SIZE - 1, 10), IntVector2.of(SIZE - 2, 10));
+        board.placeSnake(snake);
+        board.getAppleIndex();
+
+        // The snake runs off the edge, and starts over on the same board.
+        final GameState crashed = GameState.startWith(board, snake).nextState();
+        assertSame(board, crashed.getBoard());
+        assertEquals(Shared.Settings.Game.lives - 1, crashed.getLives());
+        assertConsistent(board);
+        assertEquals(APPLES.length, board.getAppleIndex().getAppleCount());
+    }
+
+    @Test
+    public void nextLevelStartsWithAnIndexOfItsOwnApples()
+    {
+        final GameBoard board = boardWithApples();
+        final Snake snake = Snake.baby(IntVector2.I, APPLES[0].minus(2, 0), APPLES[0].minus(3, 0));
+        board.placeSnake(snake);
+        final AppleIndex before = board.getAppleIndex();
+
+        GameState state = GameState.from(GameState.startWith(board, snake)).applesRemainingAs(1).make();
+        while (state.getBoard() == board)
+        {
+            state = state.nextState();
+        }
+        final GameBoard next = state.getBoard();
+        assertNotSame(before, next.getAppleIndex());
+        assertConsistent(next);
+        assertTrue(next.getAppleIndex().getAppleCount() > 0);
+
+        // Eaten and respawned apples on the new level keep its index up to date too.
+        for (int n = 0; n < 50 && !state.isGameOver(); n++)
+        {
+            state = state.nextState();
+            assertConsistent(next);
+        }
+    }
+
+    /**
+     * @return An empty, unwalled board, with {@link Apple}s at {@link #APPLES}.
+     */
+    private static GameBoard boardWithApples()
+    {
+        final GameBoard board = new GameBoard(IntVector2.of(SIZE, SIZE), Collections.<IntVector2>emptySet());
+        for (IntVector2 pos : APPLES)
+        {
+            board.putCell(Apple.with().positionAs(pos).make());
+        }
+        return board;
+    }
+
+    /**
+     * @param board A {@link GameBoard}.
+     * @param pos A position on it, with an {@link Apple}.
+     * @return The {@link Apple}.
+     */
+    private static Apple appleAt(GameBoard board, IntVector2 pos)
+    {
+        return (Apple)board.getCell(pos);
+    }
+
+    /**
+     * Checks that a {@link GameBoard}'s {@link AppleIndex} holds exactly the {@link Apple}s
+     * on it, and finds the nearest of them from all over the board.
+     * @param board The {@link GameBoard}.
+     */
+    private static void assertConsistent(GameBoard board)
+    {
+        final Map<IntVector2, Apple> onBoard = new HashMap<>();
+        board.cells().filter(cell -> cell instanceof Apple).forEach(cell -> onBoard.put(cell.getPosition(), (Apple)cell));
+
+        final AppleIndex index = board.getAppleIndex();
+        final Map<IntVector2, Apple> indexed = new HashMap<>();
+        index.forEachWithin(0, 0, board.getWidth() - 1, board.getHeight() - 1,
+            apple -> assertEquals("indexed twice", null, indexed.put(apple.getPosition(), apple)));
+
+        assertEquals(onBoard.size(), index.getAppleCount());
+        assertEquals(onBoard.keySet(), indexed.keySet());
+        onBoard.forEach((pos, apple) -> assertSame("apple at " + pos, apple, indexed.get(pos)));
+
+        for (int y = 0; y < board.getHeight(); y += 7)
+        {
+            for (int x = 0; x < board.getWidth(); x += 7)
+            {
+                final IntVector2 from = IntVector2.of(x, y);
+                final Apple nearest = index.nearestTo(from);
+                if (onBoard.isEmpty())
+                {
+                    assertEquals(null, nearest);
+                    continue;
+                }
+                final int best = onBoard.keySet().stream().mapToInt(pos -> distance(from, pos)).min().getAsInt();
+                assertSame(nearest, onBoard.get(nearest.getPosition()));
+                assertEquals("nearest to " + from, best, distance(from, nearest.getPosition()));
+            }
+        }
+    }
+
+    /**
+     * @return The number of moves between two positions, ignoring anything in the way.
+     */
+    private static int distance(IntVector2 a, IntVector2 b)
+    {
+        return Math.abs(a.getX() - b.getX()) + Math.abs(a.getY() - b.getY());
+    }
+}
@@ -0,0 +1,57 @@
+package com.thepeoplescoder.snake.state;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.BitSet;
+
+import org.junit.Test;
+
+import com.thepeoplescoder.snake.cell.Apple;
+import com.thepeoplescoder.snake.cell.Wall;
+import com.thepeoplescoder.snake.math.IntVector2;
+
+/**
+ * Tests for the {@link GameBoard}.
+ */
+public class GameBoardTest
+{
+    /** The width and height of the board. */
+    private static final int SIZE = 4;
+
+    /** The most calls to {@link GameBoard#respawnEatenApples(Snake)} a free cell should take to find. */
+    private static final int MAX_RESPAWN_CALLS = 100;
+
+    @Test
+    public void appleThatFindsNoRoomIsRespawnedOnceThereIsRoom()
+    {
+        final IntVector2 applePosition = IntVector2.of(0, 0);
+        final IntVector2 freedPosition = IntVector2.of(SIZE - 1, SIZE - 1);
+
+        final BitSet walls = new BitSet();
+        walls.set(1, SIZE * SIZE);
+        final GameBoard board = new GameBoard(IntVector2.of(SIZE, SIZE), walls);
+        final Apple apple = Apple.with().positionAs(applePosition).make();
+        board.putCell(apple);
+
+        // The snake lies on walls; only the board's cells matter here.
+        final Snake snake = Snake.baby(IntVector2.I, IntVector2.of(2, 1), IntVector2.of(1, 1));
+
+        // Eat the apple, and fill its cell, so that the board is full.
+        board.eatApple(apple);
+        board.putCell(new Wall(applePosition));
+        assertEquals(0, board.respawnEatenApples(snake));
+        assertTrue("the apple was lost", board.hasEatenApples());
+
+        board.removeCell(freedPosition);
+        int respawned = 0;
+        for (int n = 0; n < MAX_RESPAWN_CALLS && respawned == 0; n++)
+        {
+            respawned = board.respawnEatenApples(snake);
+        }
+        assertEquals(1, respawned);
+        assertFalse(board.hasEatenApples());
+        assertTrue(board.getCell(freedPosition) instanceof Apple);
+    }
+}
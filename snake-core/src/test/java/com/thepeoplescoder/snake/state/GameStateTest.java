@@ -0,0 +1,53 @@
+package com.thepeoplescoder.snake.state;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.thepeoplescoder.snake.cell.MovingWall;
+import com.thepeoplescoder.snake.input.GameInputEvent;
+import com.thepeoplescoder.snake.math.IntVector2;
+
+/**
+ * Tests for the {@link GameState}.
+ */
+public class GameStateTest
+{
+    /** The width and height of the board. */
+    private static final int SIZE = 20;
+
+    @Test
+    public void movingWallDoesNotStepIntoTheCellTheSnakeTurnsInto()
+    {
+        final IntVector2 head = IntVector2.of(5, 10);
+        final IntVector2 turnedInto = head.plus(IntVector2.MINUS_J);
+
+        final GameBoard board = new GameBoard(IntVector2.of(SIZE, SIZE), Collections.<IntVector2>emptySet());
+        final Snake snake = Snake.baby(IntVector2.I, head, head.minus(IntVector2.I));
+        board.placeSnake(snake);
+        final GameState state = GameState.startWith(board, snake);
+
+        // One step along its patrol takes the wall into the cell above the snake's head,
+        // on the next tick, which is also when the snake turns up into it.
+        final MovingWall wall = MovingWall.with()
+            .originAs(turnedInto.plus(IntVector2.I))
+            .directionAs(IntVector2.MINUS_I)
+            .spanAs(2)
+            .periodAs(1)
+            .stepAs(0)
+            .make();
+        assertEquals(turnedInto, wall.getNextPosition());
+        board.putCell(wall);
+        state.schedulePatrolOf(wall);
+        state.queueInputEvent(GameInputEvent.Action.moveUp);
+
+        final GameState next = state.nextState();
+        assertFalse("the snake ran into the wall", next.isGameOver());
+        assertEquals(turnedInto, next.getSnake().getHead());
+        assertSame(wall, next.getBoard().getCell(wall.getPosition()));
+    }
+}
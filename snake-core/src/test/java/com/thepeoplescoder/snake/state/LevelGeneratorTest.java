@@ -0,0 +1,180 @@
+package com.thepeoplescoder.snake.state;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.thepeoplescoder.snake.math.IntVector2;
+
+/**
+ * Tests for the {@link LevelGenerator}: whatever the tiling, the layouts it makes can be
+ * walked all over from where the {@link Snake} starts, and are the same for the same seed
+ * however many threads lay them out.
+ */
+public class LevelGeneratorTest
+{
+    /** A board size that doesn't divide evenly into any of the {@link #TILE_SIZES}. */
+    private static final IntVector2 SIZE = IntVector2.of(101, 77);
+
+    /** Tile sizes, from many tiles down to a single one. */
+    private static final int[] TILE_SIZES = { 8, 13, 32, 256 };
+
+    /** The seeds to generate with. */
+    private static final long[] SEEDS = { 0, 1, 45, 0xDEADBEEFL };
+
+    /** The densities to generate with, up to ones that cut off plenty of pockets. */
+    private static final double[] DENSITIES = { 0.1, 0.3, 0.45 };
+
+    /** A pool with just the one thread. */
+    private static ForkJoinPool serial;
+    /** A pool with several threads. */
+    private static ForkJoinPool parallel;
+
+    @BeforeClass
+    public static void startPools()
+    {
+        serial = new ForkJoinPool(1);
+        parallel = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void stopPools()
+    {
+        serial.shutdown();
+        parallel.shutdown();
+    }
+
+    @Test
+    public void everyEmptyCellIsReachableFromTheSpawn()
+    {
+        for (GameBoard.Topology topology : GameBoard.Topology.values())
+        {
+            for (LevelGenerator.Style style : LevelGenerator.Style.values())
+            {
+                for (int tileSize : TILE_SIZES)
+                {
+                    for (long seed : SEEDS)
+                    {
+                        for (double density : DENSITIES)
+                        {
+                            final String what = style + " " + topology + " tiles of " + tileSize +
+                                ", seed " + seed + ", density " + density;
+                            final LevelGenerator generator = generator(style, topology, tileSize, seed, density, parallel);
+                            final BitSet walls = generator.generateWalls();
+                            final GameBoard board = new GameBoard(SIZE, (BitSet)walls.clone(), topology);
+                            final IntVector2 spawn = board.babySnake().getHead();
+
+                            assertFalse(what + ": spawned in a wall", walls.get(indexOf(spawn)));
+                            assertEquals(what + ": cells cut off from the spawn",
+                                emptyCells(walls), reachableFrom(spawn, walls, topology));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void sameSeedGivesTheSameLayoutWhateverTheParallelism()
+    {
+        for (GameBoard.Topology topology : GameBoard.Topology.values())
+        {
+            for (LevelGenerator.Style style : LevelGenerator.Style.values())
+            {
+                for (int tileSize : TILE_SIZES)
+                {
+                    for (long seed : SEEDS)
+                    {
+                        final BitSet one = generator(style, topology, tileSize, seed, 0.3, serial).generateWalls();
+                        final BitSet many = generator(style, topology, tileSize, seed, 0.3, parallel).generateWalls();
+                        assertEquals(style + " " + topology + " tiles of " + tileSize + ", seed " + seed, one, many);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return A {@link LevelGenerator} for a {@link #SIZE} board with the given settings.
+     */
+    private static LevelGenerator generator(LevelGenerator.Style style, GameBoard.Topology topology,
+                                            int tileSize, long seed, double density, ForkJoinPool pool)
+    {
+        return LevelGenerator.with()
+            .sizeAs(SIZE)
+            .styleAs(style)
+            .topologyAs(topology)
+            .tileSizeAs(tileSize)
+            .seedAs(seed)
+            .densityAs(density)
+            .poolAs(pool)
+            .make();
+    }
+
+    /**
+     * @param walls A layout, one bit per cell.
+     * @return The number of empty cells in it.
+     */
+    private static int emptyCells(BitSet walls)
+    {
+        return SIZE.getX() * SIZE.getY() - walls.cardinality();
+    }
+
+    /**
+     * Walks a layout breadth first, one step up, down, left or right at a time.
+     * @param start Where to start.
+     * @param walls The layout, one bit per cell.
+     * @param topology Whether steps off an edge come back in from the opposite one.
+     * @return The number of empty cells reached.
+     */
+    private static int reachableFrom(IntVector2 start, BitSet walls, GameBoard.Topology topology)
+    {
+        final int width = SIZE.getX(), height = SIZE.getY();
+        final BitSet seen = new BitSet(width * height);
+        final Deque<Integer> queue = new ArrayDeque<>();
+        seen.set(indexOf(start));
+        queue.add(indexOf(start));
+        int reached = 0;
+        while (!queue.isEmpty())
+        {
+            final int i = queue.poll();
+            final int x = i % width, y = i / width;
+            reached++;
+            for (IntVector2 d : IntVector2.DIRECTIONS)
+            {
+                int nx = x + d.getX(), ny = y + d.getY();
+                if (topology == GameBoard.Topology.TOROIDAL)
+                {
+                    nx = IntVector2.wrap(nx, width);
+                    ny = IntVector2.wrap(ny, height);
+                }
+                if (nx < 0 || ny < 0 || nx >= width || ny >= height) { continue; }
+
+                final int n = ny * width + nx;
+                if (!walls.get(n) && !seen.get(n))
+                {
+                    seen.set(n);
+                    queue.add(n);
+                }
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * @param pos A position on a {@link #SIZE} board.
+     * @return Its bit in a layout.
+     */
+    private static int indexOf(IntVector2 pos)
+    {
+        return pos.getY() * SIZE.getX() + pos.getX();
+    }
+}
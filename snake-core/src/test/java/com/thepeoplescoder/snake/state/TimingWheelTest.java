@@ -0,0 +1,226 @@
+package com.thepeoplescoder.snake.state;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link TimingWheel}: every {@link TimingWheel.Timer} fires on exactly the
+ * tick it is due on, wherever it starts out on the wheel, unless it is cancelled first.
+ */
+public class TimingWheelTest
+{
+    /** The number of ticks spanned by one slot on level 1. */
+    private static final int LEVEL_1_SPAN = TimingWheel.SLOTS;
+    /** The number of ticks spanned by one slot on level 2. */
+    private static final int LEVEL_2_SPAN = TimingWheel.SLOTS * TimingWheel.SLOTS;
+    /** The number of ticks spanned by one slot on level 3. */
+    private static final int LEVEL_3_SPAN = LEVEL_2_SPAN * TimingWheel.SLOTS;
+
+    @Test
+    public void timerFiresOnTheTickItIsDue()
+    {
+        final TimingWheel<String> wheel = new TimingWheel<>();
+        final TimingWheel.Timer<String> timer = wheel.schedule(3, "due");
+
+        assertEquals(3, timer.getDueTick());
+        assertNull(tick(wheel));
+        assertNull(tick(wheel));
+        assertEquals("due", tick(wheel));
+        assertFalse(timer.isPending());
+        assertEquals(0, wheel.getPendingCount());
+        assertNull(wheel.pollDue());
+    }
+
+    @Test
+    public void timersOnSlotAndLevelBoundariesFireOnTime()
+    {
+        final int[] boundaries = { LEVEL_1_SPAN, LEVEL_2_SPAN, LEVEL_3_SPAN };
+        for (int start : new int[] { 0, 1, LEVEL_1_SPAN - 1, LEVEL_2_SPAN - 3 })
+        {
+            final TimingWheel<Long> wheel = wheelAt(start);
+            for (int boundary : boundaries)
+            {
+                for (long due = boundary - 1; due <= boundary + 1; due++)
+                {
+                    if (due > start) { wheel.schedule((int)(due - start), due); }
+                }
+            }
+            assertFiresOnDueTicks(wheel, LEVEL_3_SPAN + 2);
+        }
+    }
+
+    @Test
+    public void timersCascadeDownFromHigherLevels()
+    {
+        final TimingWheel<Long> wheel = new TimingWheel<>();
+        final long[] dues = { LEVEL_1_SPAN + 5, LEVEL_2_SPAN + LEVEL_1_SPAN + 7, 2L * LEVEL_3_SPAN + 11 };
+        for (long due : dues)
+        {
+            wheel.schedule((int)due, due);
+        }
+
+        final Map<Long, List<Long>> fired = run(wheel, dues[dues.length - 1]);
+        for (long due : dues)
+        {
+            assertEquals("timer due on tick " + due, listOf(due), fired.get(due));
+        }
+        assertEquals(dues.length, fired.size());
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    public void cancelledTimersNeverFire()
+    {
+        final TimingWheel<String> wheel = new TimingWheel<>();
+        final TimingWheel.Timer<String> soon = wheel.schedule(2, "soon");
+        final TimingWheel.Timer<String> late = wheel.schedule(LEVEL_2_SPAN + 1, "late");
+        final TimingWheel.Timer<String> kept = wheel.schedule(LEVEL_2_SPAN + 1, "kept");
+        assertEquals(3, wheel.getPendingCount());
+
+        assertTrue(soon.cancel());
+        assertFalse("a timer can only be cancelled once", soon.cancel());
+        assertFalse(soon.isPending());
+        assertEquals(2, wheel.getPendingCount());
+
+        // Cancelled after it has been cascaded down from level 2.
+        run(wheel, LEVEL_2_SPAN);
+        assertTrue(late.cancel());
+        assertEquals(1, wheel.getPendingCount());
+
+        assertEquals("kept", tick(wheel));
+        assertNull(wheel.pollDue());
+        assertFalse("a timer that has fired can't be cancelled", kept.cancel());
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    public void timerCanBeCancelledByAnotherDueOnTheSameTick()
+    {
+        final TimingWheel<String> wheel = new TimingWheel<>();
+        final TimingWheel.Timer<String> first = wheel.schedule(LEVEL_1_SPAN, "first");
+        final TimingWheel.Timer<String> second = wheel.schedule(LEVEL_1_SPAN, "second");
+        run(wheel, LEVEL_1_SPAN - 1);
+
+        wheel.advance();
+        final String fired = wheel.pollDue();
+        (fired.equals("first") ? second : first).cancel();
+        assertNull(wheel.pollDue());
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    public void timersScheduledWhileAdvancingManyTicksFireOnTime()
+    {
+        final Random random = new Random(49);
+        final TimingWheel<Long> wheel = new TimingWheel<>();
+        final Map<Long, Integer> expected = new HashMap<>();
+        final long ticks = 3L * LEVEL_2_SPAN;
+
+        for (long now = 0; now < ticks; now++)
+        {
+            if (random.nextInt(4) == 0)
+            {
+                final int ahead = 1 + random.nextInt(random.nextBoolean() ? LEVEL_1_SPAN : 2 * LEVEL_2_SPAN);
+                wheel.schedule(ahead, now + ahead);
+                expected.merge(now + ahead, 1, Integer::sum);
+            }
+            wheel.advance();
+            int count = 0;
+            for (Long due = wheel.pollDue(); due != null; due = wheel.pollDue())
+            {
+                assertEquals("fired on tick " + wheel.getTick(), wheel.getTick(), due.longValue());
+                count++;
+            }
+            assertEquals("timers due on tick " + wheel.getTick(), expected.getOrDefault(wheel.getTick(), 0).intValue(), count);
+            expected.remove(wheel.getTick());
+        }
+        assertEquals(expected.values().stream().mapToInt(Integer::intValue).sum(), wheel.getPendingCount());
+    }
+
+    /**
+     * Advances a {@link TimingWheel} by one tick.
+     * @param wheel The {@link TimingWheel}.
+     * @return What was due on the tick, or {@code null} if nothing was; at most one thing may be.
+     */
+    private static <T> T tick(TimingWheel<T> wheel)
+    {
+        wheel.advance();
+        final T due = wheel.pollDue();
+        assertNull("more than one timer fired", due == null ? null : wheel.pollDue());
+        return due;
+    }
+
+    /**
+     * Advances a {@link TimingWheel} up to a tick, firing everything due on the way.
+     * @param wheel The {@link TimingWheel}.
+     * @param until The last tick to advance to.
+     * @return What fired, by the tick it fired on.
+     */
+    private static <T> Map<Long, List<T>> run(TimingWheel<T> wheel, long until)
+    {
+        final Map<Long, List<T>> fired = new HashMap<>();
+        while (wheel.getTick() < until)
+        {
+            wheel.advance();
+            for (T due = wheel.pollDue(); due != null; due = wheel.pollDue())
+            {
+                fired.computeIfAbsent(wheel.getTick(), tick -> new ArrayList<>()).add(due);
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Advances a {@link TimingWheel} holding its {@link TimingWheel.Timer}s' due ticks,
+     * and checks that each one fires on its tick, and nothing is left over.
+     * @param wheel The {@link TimingWheel}.
+     * @param until The last tick to advance to.
+     */
+    private static void assertFiresOnDueTicks(TimingWheel<Long> wheel, long until)
+    {
+        final int scheduled = wheel.getPendingCount();
+        int fired = 0;
+        for (Map.Entry<Long, List<Long>> entry : run(wheel, until).entrySet())
+        {
+            for (long due : entry.getValue())
+            {
+                assertEquals("timer due on tick " + due, due, entry.getKey().longValue());
+                fired++;
+            }
+        }
+        assertEquals(scheduled, fired);
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    /**
+     * @param tick A tick.
+     * @return A {@link TimingWheel} whose clock has been advanced to it.
+     */
+    private static TimingWheel<Long> wheelAt(long tick)
+    {
+        final TimingWheel<Long> wheel = new TimingWheel<>();
+        run(wheel, tick);
+        return wheel;
+    }
+
+    /**
+     * @param value A value.
+     * @return A {@link List} of just that value.
+     */
+    private static List<Long> listOf(long value)
+    {
+        final List<Long> list = new ArrayList<>();
+        list.add(value);
+        return list;
+    }
+}
@@ -0,0 +1,285 @@
+package com.thepeoplescoder.snake.view.views.swing;
+
+import java.awt.Dimension;
+
+import com.thepeoplescoder.snake.Shared;
+import com.thepeoplescoder.snake.math.IntVector2;
+
+/**
+ * Maps {@link com.thepeoplescoder.snake.state.GameBoard} coordinates to pixels
+ * within a viewport, at an adjustable zoom level.<p>
+ *
+ * When the whole board fits into the viewport, it is centered.  Otherwise, the
+ * camera follows a point of interest (the {@link com.thepeoplescoder.snake.state.Snake}'s
+ * head), without scrolling past the edges of the board, unless the board wraps around
+ * at its edges: then the point of interest always stays in the middle.<p>
+ *
+ * Until the player zooms manually, the camera picks the zoom level that best
+ * fits the board into the viewport, and picks it again whenever the viewport
+ * is resized.
+ */
+public class Camera
+{
+    /** The size of the viewport, in pixels. */
+    private final Dimension viewport = new Dimension();
+
+    /** The y coordinate of the top of the viewport, in pixels. */
+    private final int top;
+
+    /** The current zoom level, in pixels per cell. */
+    private double scale;
+
+    /** The board x coordinate at the left edge of the viewport. */
+    private double originX = 0;
+
+    /** The board y coordinate at the top edge of the viewport. */
+    private double originY = 0;
+
+    /** {@code true} if the zoom level follows the size of the viewport, {@code false} if it was set manually. */
+    private boolean fitting = true;
+
+    /**
+     * @param viewport The size of the viewport, in pixels.
+     * @param top The y coordinate of the top of the viewport, in pixels.
+     * @param scale The initial zoom level, in pixels per cell.
+     */
+    public Camera(Dimension viewport, int top, double scale)
+    {
+        this.viewport.setSize(viewport);
+        this.top      = top;
+        this.scale    = scale;
+    }
+
+    /**
+     * @return The size of the viewport, in pixels.
+     */
+    public Dimension getViewport()
+    {
+        return viewport;
+    }
+
+    /**
+     * @return The y coordinate of the top of the viewport, in pixels.
+     */
+    public int getTop()
+    {
+        return top;
+    }
+
+    /**
+     * @return The current zoom level, in pixels per cell.
+     */
+    public double getScale()
+    {
+        return scale;
+    }
+
+    /**
+     * @return The board x coordinate at the left edge of the viewport.
+     */
+    public double getOriginX()
+    {
+        return originX;
+    }
+
+    /**
+     * @return The board y coordinate at the top edge of the viewport.
+     */
+    public double getOriginY()
+    {
+        return originY;
+    }
+
+    /**
+     * Sets the zoom level manually, keeping it within the allowed range.
+     * @param scale The new zoom level, in pixels per cell.
+     * @param boardSize The size of the board being viewed.  The camera may always
+     *                  zoom out far enough to see all of it.
+     * @return This {@link Camera}.
+     */
+    public Camera zoomTo(double scale, IntVector2 boardSize)
+    {
+        fitting = false;
+        this.scale = clamp(scale, boardSize);
+        return this;
+    }
+
+    /**
+     * Goes back to picking the zoom level that best fits the board into the viewport.<p>
+     *
+     * If the whole board can be shown without dropping below the level of detail
+     * threshold, the largest whole number of pixels per cell that fits is used, so
+     * cells stay crisp and small changes in size don't change the scale.  Otherwise,
+     * the board is shown at its default scale, and the camera scrolls.
+     * @param boardSize The size of the board being viewed.
+     * @return This {@link Camera}.
+     */
+    public Camera fit(IntVector2 boardSize)
+    {
+        final double fit = fitScale(boardSize);
+        fitting = true;
+        scale = fit >= Shared.Settings.View.Swing.levelOfDetailThreshold
+            ? clamp(Math.floor(fit), boardSize)
+            : Shared.Settings.View.Swing.cellToPixelScale;
+        return this;
+    }
+
+    /**
+     * Changes the size of the viewport.
+     * @param viewport The new size of the viewport, in pixels.
+     * @param boardSize The size of the board being viewed.
+     * @return This {@link Camera}.
+     */
+    public Camera resize(Dimension viewport, IntVector2 boardSize)
+    {
+        this.viewport.setSize(Math.max(1, viewport.width), Math.max(1, viewport.height));
+        return fitting ? fit(boardSize) : zoomTo(scale, boardSize);
+    }
+
+    /**
+     * @param boardSize The size of the board being viewed.
+     * @return The zoom level at which the whole board exactly fits into the viewport.
+     */
+    private double fitScale(IntVector2 boardSize)
+    {
+        return Math.min((double)viewport.width / boardSize.getX(), (double)viewport.height / boardSize.getY());
+    }
+
+    /**
+     * @param scale A zoom level.
+     * @param boardSize The size of the board being viewed.
+     * @return The closest zoom level to {@code scale} that is allowed.
+     */
+    private double clamp(double scale, IntVector2 boardSize)
+    {
+        final double min = Math.min(fitScale(boardSize), Shared.Settings.View.Swing.cellToPixelScale);
+        return Math.max(min, Math.min(scale, Shared.Settings.View.Swing.maxZoomScale));
+    }
+
+    /**
+     * Zooms in or out by a number of steps.
+     * @param steps The number of steps; positive zooms in, negative zooms out.
+     * @param boardSize The size of the board being viewed.
+     * @return This {@link Camera}.
+     */
+    public Camera zoomBy(int steps, IntVector2 boardSize)
+    {
+        return zoomTo(scale * Math.pow(Shared.Settings.View.Swing.zoomStep, steps), boardSize);
+    }
+
+    /**
+     * Positions the camera over the board.
+     * @param focus The board position to keep in view.
+     * @param boardSize The size of the board being viewed.
+     * @return This {@link Camera}.
+     */
+    public Camera follow(IntVector2 focus, IntVector2 boardSize)
+    {
+        return follow(focus, boardSize, false);
+    }
+
+    /**
+     * Positions the camera over the board.
+     * @param focus The board position to keep in view.
+     * @param boardSize The size of the board being viewed.
+     * @param wrapping {@code true} if the board wraps around at its edges, so the camera
+     *                 can scroll past them, and shows the other side of the board there.
+     * @return This {@link Camera}.
+     */
+    public Camera follow(IntVector2 focus, IntVector2 boardSize, boolean wrapping)
+    {
+        originX = originFor(focus.getX() + 0.5, boardSize.getX(), viewport.width / scale, wrapping);
+        originY = originFor(focus.getY() + 0.5, boardSize.getY(), viewport.height / scale, wrapping);
+        return this;
+    }
+
+    /**
+     * @param focus The coordinate to keep in view.
+     * @param boardLength The length of the board along this axis, in cells.
+     * @param visibleLength The number of cells that fit into the viewport along this axis.
+     * @param wrapping {@code true} if the board wraps around at its edges.
+     * @return The board coordinate at the start of the viewport.
+     */
+    private static double originFor(double focus, int boardLength, double visibleLength, boolean wrapping)
+    {
+        if (visibleLength >= boardLength)
+        {
+            return (boardLength - visibleLength) / 2;
+        }
+        if (wrapping)
+        {
+            return focus - visibleLength / 2;
+        }
+        return Math.max(0, Math.min(focus - visibleLength / 2, boardLength - visibleLength));
+    }
+
+    /**
+     * @param boardLength The length of the board along the x axis, in cells.
+     * @return {@code true} if fewer cells than that fit across the viewport, so that a board
+     *         wrapping around at its edges shows its seam, and the other side of it.
+     */
+    public boolean isScrollingX(int boardLength)
+    {
+        return viewport.width / scale < boardLength;
+    }
+
+    /**
+     * @param boardLength The length of the board along the y axis, in cells.
+     * @return {@code true} if fewer cells than that fit down the viewport, so that a board
+     *         wrapping around at its edges shows its seam, and the other side of it.
+     */
+    public boolean isScrollingY(int boardLength)
+    {
+        return viewport.height / scale < boardLength;
+    }
+
+    /**
+     * @param cellX A board x coordinate.
+     * @return The pixel x coordinate of the left edge of the cell.
+     */
+    public int cellXToPixelX(int cellX)
+    {
+        return (int)Math.floor((cellX - originX) * scale);
+    }
+
+    /**
+     * @param cellY A board y coordinate.
+     * @return The pixel y coordinate of the top edge of the cell.
+     */
+    public int cellYToPixelY(int cellY)
+    {
+        return top + (int)Math.floor((cellY - originY) * scale);
+    }
+
+    /**
+     * @return The board x coordinate of the leftmost (possibly partially) visible cell.
+     */
+    public int firstVisibleX()
+    {
+        return (int)Math.floor(originX);
+    }
+
+    /**
+     * @return The board y coordinate of the topmost (possibly partially) visible cell.
+     */
+    public int firstVisibleY()
+    {
+        return (int)Math.floor(originY);
+    }
+
+    /**
+     * @return The board x coordinate of the rightmost (possibly partially) visible cell.
+     */
+    public int lastVisibleX()
+    {
+        return (int)Math.ceil(originX + viewport.width / scale) - 1;
+    }
+
+    /**
+     * @return The board y coordinate of the bottommost (possibly partially) visible cell.
+     */
+    public int lastVisibleY()
+    {
+        return (int)Math.ceil(originY + viewport.height / scale) - 1;
+    }
+}
@@ -0,0 +1,68 @@
+package com.thepeoplescoder.snake.view.views.swing;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import com.thepeoplescoder.snake.view.Palette;
+
+/**
+ * Pre-rendered images of single cells, one per {@link Palette} color and size.<p>
+ *
+ * Rendering a cell (with antialiasing) only happens the first time it is
+ * needed at a given size; after that, drawing a cell is a plain image copy.
+ */
+public class CellSprites
+{
+    /** Where the sprites are kept. */
+    private final ScaledImageCache cache;
+
+    /**
+     * @param cache Where the sprites are kept.
+     */
+    public CellSprites(ScaledImageCache cache)
+    {
+        this.cache = cache;
+    }
+
+    /**
+     * @param color The color of the cell.
+     * @param size The width and height of the sprite, in device pixels.
+     * @return The sprite.
+     */
+    public BufferedImage of(Palette color, int size)
+    {
+        return cache.get(color, size, () -> render(color, size));
+    }
+
+    /**
+     * Renders a sprite.  {@link com.thepeoplescoder.snake.cell.Apple}s are round, the
+     * {@link com.thepeoplescoder.snake.state.Snake} has rounded corners, and everything
+     * else fills the entire cell.
+     * @param color The color of the cell.
+     * @param size The width and height of the sprite, in device pixels.
+     * @return The newly rendered sprite.
+     */
+    private static BufferedImage render(Palette color, int size)
+    {
+        final BufferedImage sprite = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D g = sprite.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(SwingShared.Colors.of(color));
+
+        if (color == Palette.APPLE)
+        {
+            g.fillOval(0, 0, size, size);
+        }
+        else if (color == Palette.SNAKE_HEAD || color == Palette.SNAKE_TAIL)
+        {
+            g.fillRoundRect(0, 0, size, size, size / 2, size / 2);
+        }
+        else
+        {
+            g.fillRect(0, 0, size, size);
+        }
+        g.dispose();
+        return sprite;
+    }
+}
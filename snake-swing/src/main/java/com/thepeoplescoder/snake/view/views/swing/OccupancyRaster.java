@@ -0,0 +1,176 @@
+package com.thepeoplescoder.snake.view.views.swing;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.BitSet;
+
+import com.thepeoplescoder.snake.view.Palette;
+import com.thepeoplescoder.snake.cell.Cell;
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.state.GameBoard;
+import com.thepeoplescoder.snake.state.OccupancyPyramid;
+import com.thepeoplescoder.snake.state.OccupancyPyramid.Layer;
+
+/**
+ * An image with one pixel per block of a single {@link OccupancyPyramid} level.<p>
+ *
+ * Pixels are colored by what the block contains: a {@link com.thepeoplescoder.snake.state.Snake}
+ * beats an {@link com.thepeoplescoder.snake.cell.Apple}, which beats
+ * {@link com.thepeoplescoder.snake.cell.Wall}s.  Blocks containing only walls are shaded
+ * by how much of the block is covered by them.<p>
+ *
+ * The raster listens to its {@link GameBoard}, and only the pixels of blocks
+ * that changed since the last {@link #refresh()} get recolored.
+ */
+public class OccupancyRaster implements GameBoard.Listener
+{
+    /** The {@link OccupancyPyramid} this raster is drawn from. */
+    private final OccupancyPyramid occupancy;
+
+    /** The level of the {@link OccupancyPyramid} this raster is drawn from. */
+    private final int level;
+
+    /** The image holding the raster. */
+    private final BufferedImage image;
+
+    /** The pixels of {@link #image}, written to directly. */
+    private final int[] pixels;
+
+    /** log2 of the block size of {@link #level}. */
+    private final int shift;
+
+    /** The indices of the pixels that need to be recolored. */
+    private final BitSet dirty;
+
+    /**
+     * Creates a raster that needs a full {@link #refresh()} before first use.
+     * Remember to {@link GameBoard#addListener(GameBoard.Listener)} it to the
+     * {@link GameBoard} the {@link OccupancyPyramid} belongs to.
+     * @param occupancy The {@link OccupancyPyramid} to draw the raster from.
+     * @param level The level of the {@link OccupancyPyramid} to draw the raster from.
+     */
+    public OccupancyRaster(OccupancyPyramid occupancy, int level)
+    {
+        this.occupancy = occupancy;
+        this.level     = level;
+        this.image     = new BufferedImage(occupancy.getLevelWidth(level), occupancy.getLevelHeight(level),
+                                           BufferedImage.TYPE_INT_RGB);
+        this.pixels    = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+        this.shift     = Integer.numberOfTrailingZeros(occupancy.getBlockSize(level));
+        this.dirty     = new BitSet(pixels.length);
+        this.dirty.set(0, pixels.length);
+    }
+
+    /**
+     * @return The {@link OccupancyPyramid} this raster is drawn from.
+     */
+    public OccupancyPyramid getOccupancy()
+    {
+        return occupancy;
+    }
+
+    /**
+     * @return The level of the {@link OccupancyPyramid} this raster is drawn from.
+     */
+    public int getLevel()
+    {
+        return level;
+    }
+
+    /**
+     * @return The image holding the raster, as of the last {@link #refresh()}.
+     */
+    public BufferedImage getImage()
+    {
+        return image;
+    }
+
+    /**
+     * Recolors the pixels of every block that changed since the last refresh.
+     * @return The up-to-date image.
+     */
+    public BufferedImage refresh()
+    {
+        final int width = image.getWidth();
+        for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1))
+        {
+            pixels[i] = rgbOf(i % width, i / width);
+        }
+        dirty.clear();
+        return image;
+    }
+
+    /**
+     * @param position A position that changed, in {@link GameBoard} coordinates.
+     */
+    private void markDirty(IntVector2 position)
+    {
+        dirty.set((position.getY() >> shift) * image.getWidth() + (position.getX() >> shift));
+    }
+
+    @Override
+    public void cellChanged(IntVector2 position, Cell before, Cell after)
+    {
+        markDirty(position);
+    }
+
+    @Override
+    public void snakeEntered(IntVector2 position)
+    {
+        markDirty(position);
+    }
+
+    @Override
+    public void snakeLeft(IntVector2 position)
+    {
+        markDirty(position);
+    }
+
+    /**
+     * @param x The x coordinate of the block.
+     * @param y The y coordinate of the block.
+     * @return The color of the block, as a packed RGB value.
+     */
+    private int rgbOf(int x, int y)
+    {
+        if (occupancy.getCount(level, x, y, Layer.SNAKE) > 0) { return SNAKE_RGB; }
+        if (occupancy.getCount(level, x, y, Layer.APPLE) > 0) { return APPLE_RGB; }
+
+        final int walls = occupancy.getCount(level, x, y, Layer.WALL);
+        if (walls == 0) { return BACKGROUND_RGB; }
+
+        // Even a single wall should stay visible, so shade from 1/4 up to full intensity.
+        final int blockSize = occupancy.getBlockSize(level);
+        final int alpha = 64 + (191 * walls) / (blockSize * blockSize);
+        return blend(BACKGROUND_RGB, WALL_RGB, Math.min(alpha, 255));
+    }
+
+    /**
+     * @param from The color at {@code alpha == 0}.
+     * @param to The color at {@code alpha == 255}.
+     * @param alpha How far to go from {@code from} to {@code to}, from 0 to 255.
+     * @return The blended color, as a packed RGB value.
+     */
+    private static int blend(int from, int to, int alpha)
+    {
+        final int r = channel(from, 16) + ((channel(to, 16) - channel(from, 16)) * alpha) / 255;
+        final int g = channel(from,  8) + ((channel(to,  8) - channel(from,  8)) * alpha) / 255;
+        final int b = channel(from,  0) + ((channel(to,  0) - channel(from,  0)) * alpha) / 255;
+        return (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * @param rgb A packed RGB value.
+     * @param shift The position of the channel within {@code rgb}.
+     * @return The value of the channel.
+     */
+    private static int channel(int rgb, int shift)
+    {
+        return (rgb >> shift) & 0xFF;
+    }
+
+    private static final int SNAKE_RGB      = Palette.SNAKE_HEAD.getRgb();
+    private static final int APPLE_RGB      = Palette.APPLE.getRgb();
+    private static final int WALL_RGB       = Palette.WALL.getRgb();
+    private static final int BACKGROUND_RGB = Palette.BACKGROUND.getRgb();
+}
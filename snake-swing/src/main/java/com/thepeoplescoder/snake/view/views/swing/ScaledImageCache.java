@@ -0,0 +1,156 @@
+package com.thepeoplescoder.snake.view.views.swing;
+
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * A cache of images that were rendered for a particular scale factor.<p>
+ *
+ * Each image belongs to an owner (e.g. the color of a sprite, or the
+ * {@link com.thepeoplescoder.snake.state.GameBoard} of a layer) and a scale.
+ * The total size of all cached images is capped; when it is exceeded, the
+ * least recently used images (usually those of scales no longer in use)
+ * are evicted first.
+ */
+public class ScaledImageCache
+{
+    /**
+     * The key of a cached image.
+     */
+    private static final class Key
+    {
+        private final Object owner;
+        private final double scale;
+
+        private Key(Object owner, double scale)
+        {
+            this.owner = owner;
+            this.scale = scale;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return System.identityHashCode(owner) * 31 + Double.hashCode(scale);
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof Key
+                && ((Key)other).owner == owner
+                && Double.compare(((Key)other).scale, scale) == 0;
+        }
+    }
+
+    /** The maximum number of bytes all cached images may take up together. */
+    private final long budgetBytes;
+
+    /** The number of bytes all cached images currently take up. */
+    private long usedBytes = 0;
+
+    /** The cached images, in least to most recently used order. */
+    private final LinkedHashMap<Key, BufferedImage> images = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param budgetBytes The maximum number of bytes all cached images may take up together.
+     */
+    public ScaledImageCache(long budgetBytes)
+    {
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * @param width The width of an image, in pixels.
+     * @param height The height of an image, in pixels.
+     * @return {@code true} if an image of this size could be cached at all, otherwise {@code false}.
+     */
+    public boolean fits(int width, int height)
+    {
+        return bytesOf(width, height) <= budgetBytes;
+    }
+
+    /**
+     * Gets a cached image, rendering (and caching) it first if necessary.
+     * @param owner What the image belongs to.  Owners are compared by identity.
+     * @param scale The scale the image was rendered at.
+     * @param render Renders the image, if it isn't cached.
+     * @return The image.
+     */
+    public BufferedImage get(Object owner, double scale, Supplier<BufferedImage> render)
+    {
+        final Key key = new Key(owner, scale);
+        BufferedImage image = images.get(key);
+        if (image == null)
+        {
+            image = render.get();
+            images.put(key, image);
+            usedBytes += bytesOf(image.getWidth(), image.getHeight());
+            evictDownToBudget();
+        }
+        return image;
+    }
+
+    /**
+     * Runs an action on every cached image that belongs to the given owner.
+     * This does not count as using the images.
+     * @param owner The owner.
+     * @param action The action to run on the scale and image of each cached image.
+     */
+    public void forEachOf(Object owner, BiConsumer<Double, BufferedImage> action)
+    {
+        images.entrySet().stream()
+            .filter(e -> e.getKey().owner == owner)
+            .forEach(e -> action.accept(e.getKey().scale, e.getValue()));
+    }
+
+    /**
+     * Evicts every cached image that belongs to the given owner.
+     * @param owner The owner.
+     */
+    public void removeAllOf(Object owner)
+    {
+        images.entrySet().removeIf(e -> {
+            if (e.getKey().owner != owner) { return false; }
+            usedBytes -= bytesOf(e.getValue().getWidth(), e.getValue().getHeight());
+            return true;
+        });
+    }
+
+    /**
+     * @return The number of bytes all cached images currently take up.
+     */
+    public long getUsedBytes()
+    {
+        return usedBytes;
+    }
+
+    /**
+     * Evicts the least recently used images until the cache is within its budget.
+     * The most recently used image is always kept.
+     */
+    private void evictDownToBudget()
+    {
+        final Iterator<Map.Entry<Key, BufferedImage>> eldest = images.entrySet().iterator();
+        while (usedBytes > budgetBytes && images.size() > 1)
+        {
+            final BufferedImage image = eldest.next().getValue();
+            usedBytes -= bytesOf(image.getWidth(), image.getHeight());
+            eldest.remove();
+        }
+    }
+
+    /**
+     * @param width The width of an image, in pixels.
+     * @param height The height of an image, in pixels.
+     * @return The approximate number of bytes an image of this size takes up.
+     */
+    private static long bytesOf(int width, int height)
+    {
+        return 4L * width * height;
+    }
+}
@@ -0,0 +1,543 @@
+package com.thepeoplescoder.snake.view.views.swing;
+
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Shape;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import javax.swing.SwingUtilities;
+
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.Shared;
+import com.thepeoplescoder.snake.cell.Apple;
+import com.thepeoplescoder.snake.cell.Cell;
+import com.thepeoplescoder.snake.cell.Wall;
+import com.thepeoplescoder.snake.input.GameInputEvent;
+import com.thepeoplescoder.snake.state.AppleIndex;
+import com.thepeoplescoder.snake.state.GameBoard;
+import com.thepeoplescoder.snake.state.OccupancyPyramid;
+import com.thepeoplescoder.snake.state.Score;
+import com.thepeoplescoder.snake.state.Snake;
+import com.thepeoplescoder.snake.view.GameView;
+import com.thepeoplescoder.snake.view.IoEngine;
+import com.thepeoplescoder.snake.view.Palette;
+
+public class SwingIoEngine extends IoEngine
+{
+    /**
+     * Use on code to be ran on the Event Dispatch Thread.
+     * @param r The code to run on the Event Dispatch Thread.
+     */
+    public static void runOnEventDispatchThread(Runnable r)
+    {
+        if (SwingUtilities.isEventDispatchThread())
+        {
+            r.run();
+        }
+        else
+        {
+            SwingUtilities.invokeLater(r);
+        }
+    }
+
+    public static final int CELL_TO_PIXEL_SCALE = Shared.Settings.View.Swing.cellToPixelScale;
+    public static final int CELL_WIDTH = Shared.Settings.View.Swing.cellWidth;
+    public static final int CELL_HEIGHT = Shared.Settings.View.Swing.cellHeight;
+    public static final int SCORE_HEIGHT = Shared.Settings.View.Swing.scoreHeight;
+    public static final int MINIMAP_SIZE = Shared.Settings.View.Swing.minimapSize;
+    public static final int MINIMAP_MARGIN = Shared.Settings.View.Swing.minimapMargin;
+    public static final double LOD_THRESHOLD = Shared.Settings.View.Swing.levelOfDetailThreshold;
+
+    /** The {@link GameBoard} that the cached {@link OccupancyRaster}s are listening to. */
+    private GameBoard rasterBoard = null;
+
+    /** Cached {@link OccupancyRaster}s of {@link #rasterBoard}, by {@link OccupancyPyramid} level. */
+    private final Map<Integer, OccupancyRaster> rasters = new HashMap<>();
+
+    /** Images rendered for a particular scale, shared by {@link #sprites} and {@link #wallLayer}. */
+    private final ScaledImageCache scaledImages = new ScaledImageCache(Shared.Settings.View.Swing.scaledImageCacheBytes);
+
+    /** Pre-rendered cells. */
+    private final CellSprites sprites = new CellSprites(scaledImages);
+
+    /** Pre-rendered {@link Wall}s. */
+    private final WallLayer wallLayer = new WallLayer(scaledImages);
+
+    /** The current drawing color. */
+    private Palette color = Palette.BACKGROUND;
+
+    /**
+     * The number of device pixels per pixel of the current graphics context,
+     * e.g. 2 on a HiDPI display scaled to 200%.
+     */
+    private double deviceScale = 1;
+
+    /**
+     * The width of the {@link GameBoard} being drawn, if it wraps around at its edges and the
+     * viewport shows the seam, otherwise {@code 0}.
+     */
+    private int wrapWidth = 0;
+
+    /**
+     * The height of the {@link GameBoard} being drawn, if it wraps around at its edges and the
+     * viewport shows the seam, otherwise {@code 0}.
+     */
+    private int wrapHeight = 0;
+
+    /**
+     * @param view The {@link SwingView} associated with this {@link SwingIoEngine}.
+     */
+    public SwingIoEngine(SwingView view)
+    {
+        super(view);
+    }
+
+    /**
+     * @return The current {@link GameView}.
+     */
+    @Override
+    public SwingView getGameView()
+    {
+        return (SwingView)super.getGameView();
+    }
+
+    /**
+     * @return The current graphics context.
+     */
+    public Graphics getGraphics()
+    {
+        return getGameView().getGraphics();
+    }
+
+    /**
+     * Sets the current drawing color.
+     * @param color The new drawing color to use.
+     * @return This {@link SwingIoEngine}.
+     */
+    public SwingIoEngine setColor(Palette color)
+    {
+        this.color = color;
+        getGraphics().setColor(SwingShared.Colors.of(color));
+        return this;
+    }
+
+    /**
+     * @return The {@link Camera} used to map {@link GameBoard} coordinates to pixels.
+     */
+    public Camera getCamera()
+    {
+        return getGameView().getCamera();
+    }
+
+    /**
+     * Sets the given cell in {@link com.thepeoplescoder.snake.state.GameBoard} coordinates to the current color.
+     * Cells outside of the viewport are skipped.<p>
+     *
+     * On a {@link GameBoard} that wraps around at its edges, the cell is drawn where it shows up
+     * in the viewport, on whichever side of the seam that is: a viewport a little narrower than
+     * the {@link GameBoard} can show a column at both of its edges.
+     * @param pos The position at which to draw the cell.
+     */
+    @Override
+    public void drawCellAt(IntVector2 pos)
+    {
+        drawCellAt(pos.getX(), pos.getY());
+    }
+
+    /**
+     * Sets the given cell in {@link com.thepeoplescoder.snake.state.GameBoard} coordinates to the
+     * current color, the same as {@link #drawCellAt(IntVector2)}.
+     * @param cellX The x coordinate of the cell.
+     * @param cellY The y coordinate of the cell.
+     */
+    @Override
+    public void drawCellAt(int cellX, int cellY)
+    {
+        final Camera camera = getCamera();
+        final int x = wrapX(cellX), y = wrapY(cellY);
+        final boolean twiceAcross = wrapWidth != 0 && x + wrapWidth <= camera.lastVisibleX();
+        final boolean twiceDown = wrapHeight != 0 && y + wrapHeight <= camera.lastVisibleY();
+
+        fillCellInView(x, y);
+        if (twiceAcross)              { fillCellInView(x + wrapWidth, y); }
+        if (twiceDown)                { fillCellInView(x, y + wrapHeight); }
+        if (twiceAcross && twiceDown) { fillCellInView(x + wrapWidth, y + wrapHeight); }
+    }
+
+    /**
+     * @param x A board x coordinate.
+     * @return The first x coordinate in view of the same column, if the {@link GameBoard}
+     *         wraps around and the viewport shows the seam, otherwise {@code x}.
+     */
+    private int wrapX(int x)
+    {
+        if (wrapWidth == 0) { return x; }
+        final int first = getCamera().firstVisibleX();
+        return first + Math.floorMod(x - first, wrapWidth);
+    }
+
+    /**
+     * @param y A board y coordinate.
+     * @return The first y coordinate in view of the same row, if the {@link GameBoard}
+     *         wraps around and the viewport shows the seam, otherwise {@code y}.
+     */
+    private int wrapY(int y)
+    {
+        if (wrapHeight == 0) { return y; }
+        final int first = getCamera().firstVisibleY();
+        return first + Math.floorMod(y - first, wrapHeight);
+    }
+
+    /**
+     * Splits the visible range of coordinates along one axis into the parts of the
+     * {@link GameBoard} that show up in it.
+     * @param first The first visible coordinate.
+     * @param last The last visible coordinate.
+     * @param wrapLength The {@link #wrapWidth} or {@link #wrapHeight}.
+     * @return The parts, each as its first and last board coordinate, and the coordinate in view
+     *         that its first one shows up at; just {@code first} to {@code last} if the
+     *         {@link GameBoard} doesn't wrap around along this axis.
+     */
+    private static int[][] visiblePartsOf(int first, int last, int wrapLength)
+    {
+        if (wrapLength == 0) { return new int[][] { { first, last, first } }; }
+
+        final int start = Math.floorMod(first, wrapLength), end = start + (last - first);
+        if (end < wrapLength) { return new int[][] { { start, end, first } }; }
+        return new int[][] {
+            { start, wrapLength - 1, first },
+            { 0, end - wrapLength, first + wrapLength - start }
+        };
+    }
+
+    /**
+     * Sets a cell in view to the current color, unless it is outside of the viewport.
+     * @param cellX The x coordinate of the cell, which may be past the edge of the {@link GameBoard}.
+     * @param cellY The y coordinate of the cell, which may be past the edge of the {@link GameBoard}.
+     */
+    private void fillCellInView(int cellX, int cellY)
+    {
+        final Camera camera = getCamera();
+        final int x = camera.cellXToPixelX(cellX);
+        final int y = camera.cellYToPixelY(cellY);
+        final int width  = camera.cellXToPixelX(cellX + 1) - x;
+        final int height = camera.cellYToPixelY(cellY + 1) - y;
+
+        if (x + width <= 0 || y + height <= camera.getTop() ||
+            x >= camera.getViewport().width || y >= camera.getTop() + camera.getViewport().height)
+        {
+            return;
+        }
+
+        final BufferedImage sprite = sprites.of(color, (int)Math.ceil(camera.getScale() * deviceScale));
+        if (deviceScale == 1)
+        {
+            getGraphics().drawImage(sprite, x, y, null);
+        }
+        else
+        {
+            getGraphics().drawImage(sprite, x, y, width, height, null);
+        }
+    }
+
+    /**
+     * Draws the playing field through the {@link Camera}.<p>
+     *
+     * When zoomed in, only the visible part of the {@link GameBoard} is drawn cell by cell.
+     * When zoomed out past {@link #LOD_THRESHOLD} pixels per cell, the visible part of a
+     * cached {@link OccupancyRaster} (one pixel per block of cells) is scaled onto the
+     * display instead, so the cost of a frame is bounded by the size of the display.<p>
+     *
+     * Cells and {@link Wall}s are drawn from images pre-rendered at the current scale
+     * (in device pixels, so HiDPI displays stay sharp), so drawing a frame at a scale
+     * that was used recently doesn't render anything from scratch.  With the {@link Wall}s
+     * drawn that way, the only {@link Cell}s left are {@link Apple}s, which are looked up in
+     * the {@link GameBoard}'s {@link AppleIndex}, so thousands of them elsewhere on the
+     * {@link GameBoard} don't slow the frame down.<p>
+     *
+     * A {@link GameBoard} that wraps around at its edges is drawn in up to four parts,
+     * split at the seams, so that the {@link Snake}'s head always stays in the middle.
+     * @param board The {@link GameBoard} to draw.
+     * @param snake The {@link Snake} to draw.
+     */
+    @Override
+    public void drawPlayfield(GameBoard board, Snake snake)
+    {
+        final Camera camera = getCamera().follow(snake.getHead(), board.getSize(), board.isToroidal());
+        wrapWidth  = board.isToroidal() && camera.isScrollingX(board.getWidth())  ? board.getWidth()  : 0;
+        wrapHeight = board.isToroidal() && camera.isScrollingY(board.getHeight()) ? board.getHeight() : 0;
+        final Graphics g = getGraphics();
+        final Shape clip = g.getClip();
+        g.clipRect(0, camera.getTop(), camera.getViewport().width, camera.getViewport().height);
+        deviceScale = g instanceof Graphics2D ? ((Graphics2D)g).getTransform().getScaleX() : 1;
+
+        if (camera.getScale() < LOD_THRESHOLD)
+        {
+            drawAggregated(board, snake);
+        }
+        else
+        {
+            final BufferedImage walls = wallLayer.of(board, camera.getScale() * deviceScale);
+
+            for (int[] columns : visiblePartsOf(camera.firstVisibleX(), camera.lastVisibleX(), wrapWidth))
+            {
+                for (int[] rows : visiblePartsOf(camera.firstVisibleY(), camera.lastVisibleY(), wrapHeight))
+                {
+                    if (walls != null)
+                    {
+                        drawWallLayer(walls, board, columns, rows);
+                        board.getAppleIndex().forEachWithin(columns[0], rows[0], columns[1], rows[1], this::draw);
+                    }
+                    else
+                    {
+                        board.drawRegion(this, columns[0], rows[0], columns[1], rows[1]);
+                    }
+                }
+            }
+            draw(snake);
+            drawGrid();
+        }
+        g.setClip(clip);
+    }
+
+    /**
+     * Copies a visible part of a {@link WallLayer} onto the display.
+     * @param walls The layer, rendered at the current scale.
+     * @param board The {@link GameBoard} the layer was rendered from.
+     * @param columns The part's columns, as returned by {@link #visiblePartsOf(int, int, int)}.
+     * @param rows The part's rows, as returned by {@link #visiblePartsOf(int, int, int)}.
+     */
+    private void drawWallLayer(BufferedImage walls, GameBoard board, int[] columns, int[] rows)
+    {
+        final Camera camera = getCamera();
+        final double scale = camera.getScale() * deviceScale;
+        final int left   = Math.max(0, columns[0]);
+        final int top    = Math.max(0, rows[0]);
+        final int right  = Math.min(board.getWidth(), columns[1] + 1);
+        final int bottom = Math.min(board.getHeight(), rows[1] + 1);
+        final int dx = columns[2] - columns[0], dy = rows[2] - rows[0];
+
+        getGraphics().drawImage(walls,
+            camera.cellXToPixelX(left + dx), camera.cellYToPixelY(top + dy),
+            camera.cellXToPixelX(right + dx), camera.cellYToPixelY(bottom + dy),
+            (int)Math.floor(left * scale), (int)Math.floor(top * scale),
+            (int)Math.floor(right * scale), (int)Math.floor(bottom * scale), null);
+    }
+
+    /**
+     * Draws the visible part of the playing field from a cached {@link OccupancyRaster}.
+     * Only the blocks that changed since the previous frame are recolored.
+     * @param board The {@link GameBoard} to draw.
+     * @param snake The {@link Snake}, whose head is highlighted so it stays easy to find.
+     */
+    private void drawAggregated(GameBoard board, Snake snake)
+    {
+        final Camera camera = getCamera();
+        final OccupancyPyramid occupancy = board.getOccupancy();
+        final int level = occupancy.levelWithBlocksOfAtLeast((int)Math.ceil(1 / camera.getScale()));
+        final int block = occupancy.getBlockSize(level);
+        final BufferedImage image = rasterOf(board, level).refresh();
+
+        for (int[] columns : visiblePartsOf(camera.firstVisibleX(), camera.lastVisibleX(), wrapWidth))
+        {
+            for (int[] rows : visiblePartsOf(camera.firstVisibleY(), camera.lastVisibleY(), wrapHeight))
+            {
+                final int sx0 = Math.max(0, Math.floorDiv(columns[0], block));
+                final int sy0 = Math.max(0, Math.floorDiv(rows[0], block));
+                final int sx1 = Math.min(image.getWidth(),  Math.floorDiv(columns[1], block) + 1);
+                final int sy1 = Math.min(image.getHeight(), Math.floorDiv(rows[1], block) + 1);
+                final int dx = columns[2] - columns[0], dy = rows[2] - rows[0];
+
+                getGraphics().drawImage(image,
+                    camera.cellXToPixelX(sx0 * block + dx), camera.cellYToPixelY(sy0 * block + dy),
+                    camera.cellXToPixelX(sx1 * block + dx), camera.cellYToPixelY(sy1 * block + dy),
+                    sx0, sy0, sx1, sy1, null);
+            }
+        }
+
+        final int markerSize = Shared.Settings.View.Swing.headMarkerSize;
+        final int x = camera.cellXToPixelX(wrapX(snake.getHead().getX()));
+        final int y = camera.cellYToPixelY(wrapY(snake.getHead().getY()));
+        getGraphics().setColor(SwingShared.Colors.of(Palette.SNAKE_HEAD));
+        getGraphics().fillRect(x - markerSize / 2, y - markerSize / 2, markerSize, markerSize);
+    }
+
+    /**
+     * Gets a cached {@link OccupancyRaster} of a {@link GameBoard}, creating it if needed.
+     * Switching to a different {@link GameBoard} drops the rasters of the previous one.
+     * @param board The {@link GameBoard}.
+     * @param level The {@link OccupancyPyramid} level of the raster.
+     * @return The {@link OccupancyRaster}, listening to changes of {@code board}.
+     */
+    private OccupancyRaster rasterOf(GameBoard board, int level)
+    {
+        if (board != rasterBoard)
+        {
+            if (rasterBoard != null)
+            {
+                rasters.values().forEach(rasterBoard::removeListener);
+            }
+            rasters.clear();
+            rasterBoard = board;
+        }
+        return rasters.computeIfAbsent(level, n -> {
+            final OccupancyRaster raster = new OccupancyRaster(board.getOccupancy(), n);
+            board.addListener(raster);
+            return raster;
+        });
+    }
+
+    /**
+     * Draws the score to the display.
+     * @param score The {@link Score} to display.
+     */
+    @Override
+    public void drawScore(Score score)
+    {
+        Graphics g = getGraphics();
+        g.setFont(SwingShared.Fonts.LazyLoaded.score.toFont());
+
+        FontMetrics fm = g.getFontMetrics();
+        g.setColor(SwingShared.Colors.of(Palette.SCORE));
+        g.drawString("Score: ", 0, 20);
+        g.setColor(SwingShared.Colors.of(Palette.SCORE_VALUE));
+        g.drawString(score.toString(), fm.stringWidth("Score: "), 20);
+    }
+
+    /**
+     * Draws the game over screen.
+     */
+    @Override
+    public void drawGameOver()
+    {
+        Graphics g = getGraphics();
+
+        g.setFont(SwingShared.Fonts.LazyLoaded.gameOver.toFont());
+        g.setColor(SwingShared.Colors.of(Palette.GAME_OVER));
+
+        final int bigGameOverY = getGameView().getPixelDimensions().height / 2;
+        drawStringAtCenter(g, Shared.Messages.gameOver, bigGameOverY);
+
+        g.setFont(SwingShared.Fonts.LazyLoaded.littleGameOver.toFont());
+        g.setColor(SwingShared.Colors.of(Palette.LITTLE_GAME_OVER));
+
+        final int littleGameOverY = bigGameOverY + g.getFontMetrics().getHeight();
+        drawStringAtCenter(g, getGameState().getLittleGameOverMessage(), littleGameOverY);
+    }
+
+    /**
+     * Draws a string at the center of the display.
+     * @param g Graphics context of the display.
+     * @param s The string to draw.
+     * @param y The y-coordinate of the string.
+     */
+    private void drawStringAtCenter(Graphics g, String s, int y)
+    {
+        g.drawString(s, (getGameView().getPixelDimensions().width - g.getFontMetrics().stringWidth(s)) / 2, y);
+    }
+
+    /**
+     * Draws the grid over the visible part of the {@link GameBoard}.
+     */
+    @Override
+    public void drawGrid()
+    {
+        if (SwingIoEngine.gridColor == null) { return; }
+
+        final IntVector2 boardSize = getGameBoard().getSize();
+        final Camera camera = getCamera();
+        final Graphics g = getGraphics();
+
+        final int top    = camera.getTop();
+        final int bottom = top + camera.getViewport().height;
+        final int right  = camera.getViewport().width;
+
+        g.setColor(SwingIoEngine.gridColor);
+
+        // Past the seam of a board that wraps around, the other side of it shows, so the grid goes on.
+        IntStream.rangeClosed(wrapWidth != 0 ? camera.firstVisibleX() : Math.max(0, camera.firstVisibleX()),
+                              wrapWidth != 0 ? camera.lastVisibleX()  : Math.min(boardSize.getX() - 1, camera.lastVisibleX()))
+            .map(camera::cellXToPixelX)
+            .forEach(x -> g.drawLine(x, top, x, bottom));
+        IntStream.rangeClosed(wrapHeight != 0 ? camera.firstVisibleY() : Math.max(0, camera.firstVisibleY()),
+                              wrapHeight != 0 ? camera.lastVisibleY()  : Math.min(boardSize.getY() - 1, camera.lastVisibleY()))
+            .map(camera::cellYToPixelY)
+            .forEach(y -> g.drawLine(0, y, right, y));
+    }
+
+    /**
+     * Draws a minimap in the top right corner of the display, if the
+     * {@link com.thepeoplescoder.snake.state.GameBoard} is large enough to need one.
+     * Only the blocks that changed since the previous frame are recolored.
+     * @param board The {@link GameBoard} to draw the minimap of.
+     */
+    @Override
+    public void drawMinimap(GameBoard board)
+    {
+        if (Math.max(board.getWidth(), board.getHeight()) < Shared.Settings.View.minimapMinimumBoardSide) { return; }
+
+        final BufferedImage image = rasterOf(board, board.getOccupancy().levelFitting(MINIMAP_SIZE)).refresh();
+
+        // Fit the level into the minimap area, keeping its aspect ratio.
+        final double scale = Math.min((double)MINIMAP_SIZE / image.getWidth(), (double)MINIMAP_SIZE / image.getHeight());
+        final int width  = (int)Math.round(image.getWidth() * scale);
+        final int height = (int)Math.round(image.getHeight() * scale);
+        final int x = getCamera().getViewport().width - MINIMAP_MARGIN - width;
+        final int y = SCORE_HEIGHT + MINIMAP_MARGIN;
+
+        final Graphics g = getGraphics();
+        g.drawImage(image, x, y, width, height, null);
+        g.setColor(SwingShared.Colors.of(Palette.MINIMAP_BORDER));
+        g.drawRect(x - 1, y - 1, width + 1, height + 1);
+    }
+
+    /**
+     * Creates a {@link KeyListener} to handle input events. (Swing exclusive)
+     * @param v The {@link SwingView} keeping track of the current game state.
+     * @return A {@link KeyListener} to be used for handling input events.
+     */
+    public static final KeyListener newKeyListener(SwingView v)
+    {
+        Map<Integer, GameInputEvent> handlers = new HashMap<>();
+
+        handlers.put(KeyEvent.VK_UP, GameInputEvent.Action.moveUp);
+        handlers.put(KeyEvent.VK_DOWN, GameInputEvent.Action.moveDown);
+        handlers.put(KeyEvent.VK_LEFT, GameInputEvent.Action.moveLeft);
+        handlers.put(KeyEvent.VK_RIGHT, GameInputEvent.Action.moveRight);
+        handlers.put(KeyEvent.VK_P, GameInputEvent.Action.togglePaused);
+        handlers.put(KeyEvent.VK_ENTER, GameInputEvent.Action.playAgain);
+        handlers.put(KeyEvent.VK_ESCAPE, GameInputEvent.Action.quitGame);
+        handlers.put(KeyEvent.VK_Q, GameInputEvent.Action.quitGame);
+
+        // These only change how the game is displayed, so they don't go through the game state.
+        Map<Integer, Runnable> viewActions = new HashMap<>();
+
+        viewActions.put(KeyEvent.VK_EQUALS, () -> v.zoomBy(1));
+        viewActions.put(KeyEvent.VK_PLUS, () -> v.zoomBy(1));
+        viewActions.put(KeyEvent.VK_ADD, () -> v.zoomBy(1));
+        viewActions.put(KeyEvent.VK_MINUS, () -> v.zoomBy(-1));
+        viewActions.put(KeyEvent.VK_SUBTRACT, () -> v.zoomBy(-1));
+        viewActions.put(KeyEvent.VK_0, v::resetZoom);
+
+        return new KeyListener() {
+            @Override public void keyTyped(KeyEvent e) {}
+            @Override public void keyReleased(KeyEvent e) {}
+            @Override public void keyPressed(KeyEvent e)
+            {
+                final long now = System.nanoTime();
+                viewActions.getOrDefault(e.getKeyCode(), () -> {}).run();
+                v.getGameState().queueInputEvent(
+                    handlers.getOrDefault(e.getKeyCode(), GameInputEvent.noAction).capturedAt(now));
+            }
+        };
+    }
+
+    private static final java.awt.Color gridColor = SwingShared.Colors.of(Palette.GRID);
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.thepeoplescoder.snake.view.views.swing;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.thepeoplescoder.snake.view.Palette;
+
+/**
+ * The AWT resources the Swing view draws with.
+ */
+public class SwingShared
+{
+    public static class Colors
+    {
+        /** The AWT {@link Color} of every {@link Palette} entry. */
+        private static final Map<Palette, Color> colors = new EnumMap<>(Palette.class);
+
+        static
+        {
+            for (Palette p : Palette.values())
+            {
+                colors.put(p, new Color(p.getRgb()));
+            }
+        }
+
+        /**
+         * @param p A color of the game's {@link Palette}.
+         * @return The AWT {@link Color} to draw it with.
+         */
+        public static Color of(Palette p)
+        {
+            return colors.get(p);
+        }
+    }
+
+    public static class Fonts
+    {
+        public static class LazyLoaded
+        {
+            // Use LazyFont instead of Font so that the fonts
+            // aren't loaded if they aren't needed.
+
+            public static final LazyFont little =
+                new LazyFont().nameAs("Monospaced").styleAs(Font.PLAIN).sizeAs(20);
+            public static final LazyFont big =
+                new LazyFont().nameAs("Monospaced").styleAs(Font.BOLD).sizeAs(50);
+
+            public static final LazyFont score = little;
+            public static final LazyFont gameOver = big;
+            public static final LazyFont littleGameOver = little;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.thepeoplescoder.snake.view.views.swing;
+
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Toolkit;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+
+import javax.swing.JFrame;
+import javax.swing.JPanel;
+import javax.swing.Timer;
+
+import com.thepeoplescoder.snake.Shared;
+import com.thepeoplescoder.snake.state.GameBoard;
+import com.thepeoplescoder.snake.state.GameState;
+import com.thepeoplescoder.snake.view.GameView;
+import com.thepeoplescoder.snake.view.IoEngine;
+import com.thepeoplescoder.snake.view.Palette;
+
+/**
+ * This class represents a View where the game is played on a Swing window.
+ */
+public class SwingView extends GameView
+{
+    /**
+     * Use on code to be ran on the Event Dispatch Thread.
+     * @param r The code to run on the Event Dispatch Thread.
+     */
+    public static void runOnEventDispatchThread(Runnable r)
+    {
+        SwingIoEngine.runOnEventDispatchThread(r);
+    }
+    
+    /**
+     * The initial size of the area the {@link GameBoard} is displayed in.  The {@link GameBoard}
+     * is displayed at full scale if it fits, otherwise the {@link Camera} scrolls across it.
+     * The window may be resized afterwards.
+     */
+    private final Dimension initialViewportDimensions = new Dimension(
+        Math.min(getGameState().getBoard().getWidth() * CELL_TO_PIXEL_SCALE, Shared.Settings.View.Swing.maxViewportWidth),
+        Math.min(getGameState().getBoard().getHeight() * CELL_TO_PIXEL_SCALE, Shared.Settings.View.Swing.maxViewportHeight));
+
+    /** The current size of the display, including the score. */
+    private final Dimension pixelDimensions =
+        new Dimension(initialViewportDimensions.width, initialViewportDimensions.height + SwingIoEngine.SCORE_HEIGHT);
+
+    public Dimension getPixelDimensions()
+    {
+        return pixelDimensions;
+    }
+
+    /** Maps {@link GameBoard} coordinates to pixels. */
+    private final Camera camera = new Camera(initialViewportDimensions, SwingIoEngine.SCORE_HEIGHT, CELL_TO_PIXEL_SCALE)
+        .fit(getGameState().getBoard().getSize());
+
+    /**
+     * @return The {@link Camera} that maps {@link GameBoard} coordinates to pixels.
+     */
+    public Camera getCamera()
+    {
+        return camera;
+    }
+
+    /**
+     * Zooms the {@link Camera} in or out.
+     * @param steps The number of steps; positive zooms in, negative zooms out.
+     */
+    public void zoomBy(int steps)
+    {
+        camera.zoomBy(steps, getGameState().getBoard().getSize());
+    }
+
+    /**
+     * Returns the {@link Camera} to the zoom level that best fits the display.
+     */
+    public void resetZoom()
+    {
+        camera.fit(getGameState().getBoard().getSize());
+    }
+
+    /**
+     * Adapts the display to a new size.
+     * @param size The new size of the display, including the score.
+     */
+    public void resizeTo(Dimension size)
+    {
+        pixelDimensions.setSize(size);
+        camera.resize(new Dimension(size.width, size.height - SwingIoEngine.SCORE_HEIGHT),
+                      getGameState().getBoard().getSize());
+    }
+
+    /**
+     * Sets the associated {@link GameState}, fitting the {@link Camera} to its {@link GameBoard}
+     * again if that is a different size, e.g. once the next level is loaded from a file.
+     * @param state The {@link SwingView}'s new state.
+     */
+    @Override
+    public void setGameState(GameState state)
+    {
+        final GameState before = getGameState();
+        super.setGameState(state);
+
+        // The camera is null while the superclass constructor sets the initial state.
+        if (camera != null && before != null && !before.getBoard().getSize().equals(state.getBoard().getSize()))
+        {
+            camera.fit(state.getBoard().getSize());
+        }
+    }
+
+    /**
+     * The current graphics context of this {@link SwingView}.
+     */
+    private Graphics graphics = null;
+    
+    /**
+     * @return The current graphics context of this {@link SwingView}.
+     */
+    public Graphics getGraphics()
+    {
+        return graphics;
+    }
+    
+    /**
+     * Draws the associated {@link GameState} onto the given graphics context, as one frame.
+     * This is what the game's window does whenever it is painted, but the graphics context
+     * may as well be an offscreen image's, e.g. for benchmarking without a display.
+     * @param g The graphics context to draw on.
+     */
+    public void drawCurrentStateOn(Graphics g)
+    {
+        graphics = g;    // Required by the I/O engine.
+        drawCurrentState();
+    }
+
+    /**
+     * Constructor for a {@link SwingView}.
+     * @param initialState The initial {@link GameState}.
+     */
+    public SwingView(GameState initialState)
+    {
+        super(initialState);
+        ioEngine = new SwingIoEngine(this);
+    }
+    private final SwingIoEngine ioEngine;
+
+    /**
+     * @return the {@link IoEngine} associated with this {@link SwingView}.
+     * @see SwingIoEngine
+     */
+    public SwingIoEngine getIoEngine()
+    {
+        return ioEngine;
+    }
+    
+    /**
+     * Displays the sequence of {@link GameState}s, starting with a given initial {@link GameState}.
+     * @param initialState The initial {@link GameState}.
+     */
+    public void displayStateSequence()
+    {
+        if (isPrintingStatisticsOnExit())
+        {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> printStatistics(System.err)));
+        }
+        runOnEventDispatchThread(GameFrame::new);
+    }
+    
+    /**
+     * The JFrame containing the game display.
+     */
+    @SuppressWarnings("serial")
+    private class GameFrame extends JFrame
+    {
+        public GameFrame()
+        {
+            this.add(new GamePanel());
+            this.setTitle("Snake");
+            this.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            this.setResizable(true);
+            this.pack();
+            this.setLocationRelativeTo(null);
+            this.setVisible(true);
+        }
+    }
+
+    /**
+     * The JPanel of the game display.
+     */
+    @SuppressWarnings("serial")
+    private class GamePanel extends JPanel
+    {
+        public GamePanel()
+        {
+            this.setPreferredSize(getPixelDimensions());
+            this.setBackground(SwingShared.Colors.of(Palette.BACKGROUND));
+            this.setFocusable(true);
+
+            this.addKeyListener(SwingIoEngine.newKeyListener(SwingView.this));
+            this.addMouseWheelListener(e -> { zoomBy(-e.getWheelRotation()); repaint(); });
+            this.addComponentListener(new ComponentAdapter() {
+                @Override public void componentResized(ComponentEvent e) { resizeTo(getSize()); }
+            });
+
+            final Runnable repainter = Shared.System.isRunningLinux ? () -> {
+                repaint();
+                Toolkit.getDefaultToolkit().sync();
+            } : this::repaint;
+
+            gameLoop(repainter).start();
+        }
+
+        private Timer gameLoop(Runnable repainter)
+        {
+            final Timer t = new Timer(Shared.Settings.Game.delayMillis, null);
+            t.addActionListener(e -> {
+                if (getGameState().isDone())
+                {
+                    t.stop();
+                    System.exit(0);
+                }
+                advance();
+                repainter.run();
+            });
+            repainter.run();
+            return t;
+        }
+
+        public void paintComponent(Graphics g)
+        {
+            super.paintComponent(g);
+            drawCurrentStateOn(g);
+        }
+    }
+    
+    private static final int CELL_TO_PIXEL_SCALE = SwingIoEngine.CELL_TO_PIXEL_SCALE;
+}
@@ -0,0 +1,110 @@
+package com.thepeoplescoder.snake.view.views.swing;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import com.thepeoplescoder.snake.view.Palette;
+import com.thepeoplescoder.snake.cell.Cell;
+import com.thepeoplescoder.snake.cell.Wall;
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.state.GameBoard;
+
+/**
+ * Pre-rendered images of all {@link Wall}s of a {@link GameBoard}, one per scale.<p>
+ *
+ * {@link Wall}s rarely change, so instead of drawing each of them every frame,
+ * the visible part of the layer is copied onto the display in one operation.
+ * When a {@link Wall} does change, only its cell is redrawn in each cached layer.
+ */
+public class WallLayer implements GameBoard.Listener
+{
+    /** Where the layers are kept. */
+    private final ScaledImageCache cache;
+
+    /** The {@link GameBoard} that the layers are drawn from. */
+    private GameBoard board = null;
+
+    /**
+     * @param cache Where the layers are kept.
+     */
+    public WallLayer(ScaledImageCache cache)
+    {
+        this.cache = cache;
+    }
+
+    /**
+     * Gets the layer of a {@link GameBoard} at the given scale, rendering it if needed.
+     * Switching to a different {@link GameBoard} drops the layers of the previous one.
+     * @param board The {@link GameBoard}.
+     * @param scale The scale, in device pixels per cell.
+     * @return The layer, or {@code null} if a layer at this scale would be too large to cache.
+     */
+    public BufferedImage of(GameBoard board, double scale)
+    {
+        final int width  = (int)Math.ceil(board.getWidth() * scale);
+        final int height = (int)Math.ceil(board.getHeight() * scale);
+        if (!cache.fits(width, height)) { return null; }
+
+        if (board != this.board)
+        {
+            if (this.board != null)
+            {
+                this.board.removeListener(this);
+                cache.removeAllOf(this.board);
+            }
+            this.board = board;
+            board.addListener(this);
+        }
+        return cache.get(board, scale, () -> render(board, scale, width, height));
+    }
+
+    /**
+     * @param board The {@link GameBoard}.
+     * @param scale The scale, in device pixels per cell.
+     * @param width The width of the layer, in device pixels.
+     * @param height The height of the layer, in device pixels.
+     * @return A newly rendered layer.
+     */
+    private static BufferedImage render(GameBoard board, double scale, int width, int height)
+    {
+        final BufferedImage layer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D g = layer.createGraphics();
+        g.setColor(SwingShared.Colors.of(Palette.WALL));
+        board.forEachWall((x, y) -> fillCell(g, x, y, scale));
+        g.dispose();
+        return layer;
+    }
+
+    /**
+     * @param g The graphics context of a layer.
+     * @param cellX The x coordinate of the cell.
+     * @param cellY The y coordinate of the cell.
+     * @param scale The scale of the layer, in device pixels per cell.
+     */
+    private static void fillCell(Graphics2D g, int cellX, int cellY, double scale)
+    {
+        final int x = (int)Math.floor(cellX * scale);
+        final int y = (int)Math.floor(cellY * scale);
+        g.fillRect(x, y, (int)Math.floor((cellX + 1) * scale) - x, (int)Math.floor((cellY + 1) * scale) - y);
+    }
+
+    @Override
+    public void cellChanged(IntVector2 position, Cell before, Cell after)
+    {
+        if (!(before instanceof Wall) && !(after instanceof Wall)) { return; }
+
+        cache.forEachOf(board, (scale, layer) -> {
+            final Graphics2D g = layer.createGraphics();
+            g.setComposite(AlphaComposite.Clear);
+            fillCell(g, position.getX(), position.getY(), scale);
+            if (after instanceof Wall)
+            {
+                g.setComposite(AlphaComposite.Src);
+                g.setColor(SwingShared.Colors.of(Palette.WALL));
+                fillCell(g, position.getX(), position.getY(), scale);
+            }
+            g.dispose();
+        });
+    }
+}
@@ -0,0 +1,126 @@
+package com.thepeoplescoder.snake.view.views.terminal;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Ways of turning packed RGB values into the parameters of an ANSI
+ * "select graphic rendition" escape sequence.<p>
+ *
+ * Colors are first {@link #quantize(int) quantized} into whatever the terminal can
+ * actually show, so that colors which would look the same are also treated as
+ * the same by {@link TerminalScreen}, and share a single escape sequence.
+ */
+public enum ColorEncoder
+{
+    /**
+     * 24-bit color, i.e. {@code 38;2;r;g;b} and {@code 48;2;r;g;b}.
+     */
+    TRUE_COLOR
+    {
+        @Override
+        void put(ByteBuffer buffer, int selector, int rgb)
+        {
+            TerminalScreen.putDecimal(buffer, selector);
+            buffer.put((byte)';').put((byte)'2').put((byte)';');
+            TerminalScreen.putDecimal(buffer, (rgb >> 16) & 0xFF);
+            buffer.put((byte)';');
+            TerminalScreen.putDecimal(buffer, (rgb >> 8) & 0xFF);
+            buffer.put((byte)';');
+            TerminalScreen.putDecimal(buffer, rgb & 0xFF);
+        }
+    },
+
+    /**
+     * The xterm 256-color palette, i.e. {@code 38;5;n} and {@code 48;5;n}.
+     * Colors are mapped to the nearest entry of the 6x6x6 color cube or the grayscale ramp.
+     */
+    PALETTE_256
+    {
+        /** The intensities of the six levels of each channel of the color cube. */
+        private final int[] cubeLevels = { 0x00, 0x5F, 0x87, 0xAF, 0xD7, 0xFF };
+
+        @Override
+        public int quantize(int rgb)
+        {
+            final int r = (rgb >> 16) & 0xFF;
+            final int g = (rgb >> 8) & 0xFF;
+            final int b = rgb & 0xFF;
+
+            final int cr = cubeIndexOf(r);
+            final int cg = cubeIndexOf(g);
+            final int cb = cubeIndexOf(b);
+            final int cubeDistance = distance(r, g, b, cubeLevels[cr], cubeLevels[cg], cubeLevels[cb]);
+
+            // The grayscale ramp goes from 8 to 238 in steps of 10.
+            final int gray = Math.min(23, Math.max(0, ((r + g + b) / 3 - 3) / 10));
+            final int grayLevel = 8 + gray * 10;
+            final int grayDistance = distance(r, g, b, grayLevel, grayLevel, grayLevel);
+
+            return grayDistance < cubeDistance ? 232 + gray : 16 + cr * 36 + cg * 6 + cb;
+        }
+
+        /**
+         * @param c The intensity of a channel.
+         * @return The index of the nearest level of the color cube.
+         */
+        private int cubeIndexOf(int c)
+        {
+            return c < 0x30 ? 0 : c < 0x73 ? 1 : (c - 0x23) / 0x28;
+        }
+
+        /**
+         * @return The squared distance between two colors.
+         */
+        private int distance(int r1, int g1, int b1, int r2, int g2, int b2)
+        {
+            return (r1 - r2) * (r1 - r2) + (g1 - g2) * (g1 - g2) + (b1 - b2) * (b1 - b2);
+        }
+
+        @Override
+        void put(ByteBuffer buffer, int selector, int index)
+        {
+            TerminalScreen.putDecimal(buffer, selector);
+            buffer.put((byte)';').put((byte)'5').put((byte)';');
+            TerminalScreen.putDecimal(buffer, index);
+        }
+    };
+
+    /**
+     * Converts a color into the form this encoder emits.  Two colors that the terminal
+     * would show the same way are quantized to the same value.
+     * @param rgb The color, as a packed RGB value.
+     * @return The quantized color.
+     */
+    public int quantize(int rgb)
+    {
+        return rgb;
+    }
+
+    /**
+     * Emits the parameters that select a color.
+     * @param buffer The buffer to emit the parameters into.
+     * @param selector {@code 38} for a foreground color, {@code 48} for a background color.
+     * @param color The color, as {@link #quantize(int) quantized} by this encoder.
+     */
+    abstract void put(ByteBuffer buffer, int selector, int color);
+
+    /**
+     * Emits the parameters that select a foreground color.
+     * @param buffer The buffer to emit the parameters into.
+     * @param color The color, as {@link #quantize(int) quantized} by this encoder.
+     */
+    public void putForeground(ByteBuffer buffer, int color)
+    {
+        put(buffer, 38, color);
+    }
+
+    /**
+     * Emits the parameters that select a background color.
+     * @param buffer The buffer to emit the parameters into.
+     * @param color The color, as {@link #quantize(int) quantized} by this encoder.
+     */
+    public void putBackground(ByteBuffer buffer, int color)
+    {
+        put(buffer, 48, color);
+    }
+}
@@ -0,0 +1,64 @@
+package com.thepeoplescoder.snake.view.views.terminal;
+
+/**
+ * Keeps track of how many bytes each frame sent to the terminal, compared to
+ * how many it would have taken to send every cell on its own.
+ *
+ * @see TerminalScreen#naiveFrameBytes()
+ */
+public class FrameStatistics
+{
+    /** The number of frames recorded. */
+    private long frames = 0;
+    /** The total number of bytes actually written. */
+    private long bytes = 0;
+    /** The total number of bytes that naive per-cell output would have written. */
+    private long naiveBytes = 0;
+    /** The largest number of bytes written for a single frame. */
+    private int largestFrame = 0;
+
+    /**
+     * Records a frame.
+     * @param bytes The number of bytes actually written.
+     * @param naiveBytes The number of bytes that naive per-cell output would have written.
+     */
+    public synchronized void record(int bytes, int naiveBytes)
+    {
+        this.frames++;
+        this.bytes += bytes;
+        this.naiveBytes += naiveBytes;
+        this.largestFrame = Math.max(largestFrame, bytes);
+    }
+
+    /**
+     * @return The number of frames recorded.
+     */
+    public synchronized long getFrames()
+    {
+        return frames;
+    }
+
+    /**
+     * @return The average number of bytes actually written per frame.
+     */
+    public synchronized double getAverageBytes()
+    {
+        return frames == 0 ? 0 : (double)bytes / frames;
+    }
+
+    /**
+     * @return The average number of bytes per frame that naive per-cell output would have written.
+     */
+    public synchronized double getAverageNaiveBytes()
+    {
+        return frames == 0 ? 0 : (double)naiveBytes / frames;
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        return String.format("%d frames, %.1f bytes/frame (largest %d), naive per-cell output %.1f bytes/frame (%.1f%% saved)",
+            frames, getAverageBytes(), largestFrame, getAverageNaiveBytes(),
+            naiveBytes == 0 ? 0.0 : 100.0 * (naiveBytes - bytes) / naiveBytes);
+    }
+}
@@ -0,0 +1,212 @@
+package com.thepeoplescoder.snake.view.views.terminal;
+
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Scanner;
+
+import com.thepeoplescoder.snake.input.GameInputEvent;
+import com.thepeoplescoder.snake.math.IntVector2;
+
+/**
+ * Reads key presses from the terminal, and queues the matching {@link GameInputEvent}s.<p>
+ *
+ * The terminal is switched to raw mode with non-blocking reads ({@code stty -icanon
+ * -echo min 0 time 0}), so that keys arrive as soon as they are pressed, aren't echoed,
+ * and reading when nothing was pressed returns immediately.  Instead of a thread
+ * blocking on every keystroke, {@link #poll()} is called once per tick on the game
+ * loop's thread, and drains everything that arrived since the last tick.  A key
+ * pressed during a tick is therefore seen by the very next one, and a burst of keys
+ * is queued in full.<p>
+ *
+ * Since the terminal is only read once per tick, input is stamped with the time it
+ * was read, not the (unknowable) time the key was pressed; the difference is at
+ * most one tick.
+ */
+public class TerminalInput
+{
+    /** The terminal device, which {@code stty} is pointed at. */
+    private static final File TTY = new File("/dev/tty");
+
+    /** Standard input, read without going through {@link System#in}'s buffering. */
+    private final FileChannel stdin = new FileInputStream(FileDescriptor.in).getChannel();
+
+    /** The buffer that input is read into. */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+
+    /** The view whose {@link com.thepeoplescoder.snake.state.GameState} receives the input. */
+    private final TerminalView view;
+
+    /** Maps key codes from {@link TerminalKeyDecoder} to what they do. */
+    private final Map<Integer, GameInputEvent> handlers = new HashMap<>();
+
+    /** Turns the raw input into key codes. */
+    private final TerminalKeyDecoder decoder = new TerminalKeyDecoder(this::keyPressed);
+
+    /** The terminal's settings before raw mode, as saved by {@code stty -g}, or {@code null}. */
+    private String savedSettings = null;
+
+    /** When the input being decoded was read, as a {@link System#nanoTime()} value. */
+    private long capturedAt = GameInputEvent.NOT_CAPTURED;
+
+    /**
+     * @param view The view whose {@link com.thepeoplescoder.snake.state.GameState} receives the input.
+     */
+    public TerminalInput(TerminalView view)
+    {
+        this.view = view;
+
+        handlers.put(TerminalKeyDecoder.KEY_UP, GameInputEvent.Action.moveUp);
+        handlers.put(TerminalKeyDecoder.KEY_DOWN, GameInputEvent.Action.moveDown);
+        handlers.put(TerminalKeyDecoder.KEY_LEFT, GameInputEvent.Action.moveLeft);
+        handlers.put(TerminalKeyDecoder.KEY_RIGHT, GameInputEvent.Action.moveRight);
+        handlers.put((int)'p', GameInputEvent.Action.togglePaused);
+        handlers.put((int)'P', GameInputEvent.Action.togglePaused);
+        handlers.put((int)'\r', GameInputEvent.Action.playAgain);
+        handlers.put((int)'\n', GameInputEvent.Action.playAgain);
+        handlers.put(TerminalKeyDecoder.KEY_ESCAPE, GameInputEvent.Action.quitGame);
+        handlers.put((int)'q', GameInputEvent.Action.quitGame);
+        handlers.put((int)'Q', GameInputEvent.Action.quitGame);
+    }
+
+    /**
+     * Switches the terminal to raw mode.  If standard input isn't a terminal, nothing happens,
+     * and the game simply gets no input.
+     */
+    public synchronized void open()
+    {
+        try
+        {
+            savedSettings = stty("-g").trim();
+            stty("-icanon", "-echo", "min", "0", "time", "0");
+        }
+        catch (IOException e)
+        {
+            savedSettings = null;
+        }
+    }
+
+    /**
+     * Puts the terminal back the way it was before {@link #open()}.
+     */
+    public synchronized void close()
+    {
+        if (savedSettings == null) { return; }
+
+        try
+        {
+            stty(savedSettings);
+        }
+        catch (IOException e)
+        {
+            // Nothing sensible left to do; the terminal is probably gone.
+        }
+        savedSettings = null;
+    }
+
+    /**
+     * Asks the terminal how big it is ({@code stty size}).
+     * @return The width and height of the terminal, in character cells, or {@code null} if
+     *         standard input isn't a terminal, or the terminal doesn't know its size.
+     */
+    public IntVector2 getTerminalSize()
+    {
+        try
+        {
+            final String[] rowsAndColumns = stty("size").trim().split("\\s+");
+            final int rows    = Integer.parseInt(rowsAndColumns[0]);
+            final int columns = Integer.parseInt(rowsAndColumns[1]);
+            return rows > 0 && columns > 0 ? IntVector2.of(columns, rows) : null;
+        }
+        catch (IOException | RuntimeException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Reads everything that was typed since the last call, without waiting,
+     * and queues the matching {@link GameInputEvent}s.
+     */
+    public void poll()
+    {
+        if (savedSettings == null) { return; }
+
+        int total = 0;
+        try
+        {
+            int read;
+            while ((read = stdin.read(buffer)) > 0)
+            {
+                capturedAt = System.nanoTime();
+                buffer.flip();
+                while (buffer.hasRemaining())
+                {
+                    decoder.accept(buffer.get());
+                }
+                buffer.clear();
+                total += read;
+            }
+        }
+        catch (IOException e)
+        {
+            return;
+        }
+
+        // A whole tick without anything following an ESC means the escape key itself was pressed.
+        if (total == 0)
+        {
+            decoder.endOfInput();
+        }
+    }
+
+    /**
+     * @param key A key code from {@link TerminalKeyDecoder}.
+     */
+    private void keyPressed(int key)
+    {
+        view.getGameState().queueInputEvent(handlers.getOrDefault(key, GameInputEvent.noAction).capturedAt(capturedAt));
+    }
+
+    /**
+     * Runs {@code stty} on the terminal.
+     * @param args The arguments to {@code stty}.
+     * @return What {@code stty} printed.
+     * @throws IOException If {@code stty} couldn't be run, or failed.
+     */
+    private static String stty(String... args) throws IOException
+    {
+        final String[] command = new String[args.length + 1];
+        command[0] = "stty";
+        System.arraycopy(args, 0, command, 1, args.length);
+
+        final Process process = new ProcessBuilder(command)
+            .redirectInput(TTY)
+            .redirectError(ProcessBuilder.Redirect.to(new File("/dev/null")))
+            .start();
+        final String output;
+        try (Scanner scanner = new Scanner(process.getInputStream(), StandardCharsets.UTF_8.name()))
+        {
+            output = scanner.useDelimiter("\\A").hasNext() ? scanner.next() : "";
+        }
+        try
+        {
+            if (process.waitFor() != 0)
+            {
+                throw new IOException("stty " + String.join(" ", args) + " failed.");
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while running stty.", e);
+        }
+        return output;
+    }
+}
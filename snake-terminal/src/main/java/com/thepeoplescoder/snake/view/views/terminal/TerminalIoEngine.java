@@ -0,0 +1,400 @@
+package com.thepeoplescoder.snake.view.views.terminal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import com.thepeoplescoder.snake.Shared;
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.state.GameBoard;
+import com.thepeoplescoder.snake.state.Score;
+import com.thepeoplescoder.snake.state.Snake;
+import com.thepeoplescoder.snake.view.IoEngine;
+import com.thepeoplescoder.snake.view.Palette;
+
+/**
+ * An {@link IoEngine} that draws the game onto an ANSI terminal through a {@link TerminalScreen}.<p>
+ *
+ * The first row of the terminal holds the score.  Below it, the {@link GameBoard}
+ * is drawn according to a {@link Layout}.
+ */
+public class TerminalIoEngine extends IoEngine
+{
+    public static final int COLUMNS_PER_CELL = Shared.Settings.View.Terminal.columnsPerCell;
+    public static final int SCORE_ROWS = 1;
+
+    /**
+     * Ways of fitting the cells of a {@link GameBoard} onto character cells.
+     */
+    public enum Layout
+    {
+        /**
+         * Every cell is {@link Shared.Settings.View.Terminal#columnsPerCell} character cells
+         * wide, so that cells look roughly square.
+         */
+        FULL_CELLS
+        {
+            @Override
+            public int columnsFor(IntVector2 boardSize)
+            {
+                return boardSize.getX() * COLUMNS_PER_CELL;
+            }
+
+            @Override
+            public int rowsFor(IntVector2 boardSize)
+            {
+                return boardSize.getY() + SCORE_ROWS;
+            }
+
+            @Override
+            public int cellsAcross(int columns)
+            {
+                return columns / COLUMNS_PER_CELL;
+            }
+
+            @Override
+            public int cellsDown(int rows)
+            {
+                return rows - SCORE_ROWS;
+            }
+        },
+
+        /**
+         * Every character cell shows two cells, one above the other, using the upper and
+         * lower half blocks.  A 40x40 {@link GameBoard} fits in 40x20 character cells.
+         */
+        HALF_BLOCKS
+        {
+            @Override
+            public int columnsFor(IntVector2 boardSize)
+            {
+                return boardSize.getX();
+            }
+
+            @Override
+            public int rowsFor(IntVector2 boardSize)
+            {
+                return (boardSize.getY() + 1) / 2 + SCORE_ROWS;
+            }
+
+            @Override
+            public int cellsAcross(int columns)
+            {
+                return columns;
+            }
+
+            @Override
+            public int cellsDown(int rows)
+            {
+                return (rows - SCORE_ROWS) * 2;
+            }
+        };
+
+        /**
+         * @param boardSize The size of a {@link GameBoard}.
+         * @return The number of columns needed to show it.
+         */
+        public abstract int columnsFor(IntVector2 boardSize);
+
+        /**
+         * @param boardSize The size of a {@link GameBoard}.
+         * @return The number of rows needed to show it, including the score.
+         */
+        public abstract int rowsFor(IntVector2 boardSize);
+
+        /**
+         * @param columns A number of columns.
+         * @return The number of cells of a {@link GameBoard} that fit across them.
+         */
+        public abstract int cellsAcross(int columns);
+
+        /**
+         * @param rows A number of rows, including the score.
+         * @return The number of cells of a {@link GameBoard} that fit down them.
+         */
+        public abstract int cellsDown(int rows);
+    }
+
+    /** The color cells are drawn in, as a packed RGB value. */
+    private int currentRgb = 0x7F7F7F;
+
+    /** The screen everything is drawn onto. */
+    private final TerminalScreen screen;
+
+    /** How the {@link GameBoard} is fitted onto the screen. */
+    private final Layout layout;
+
+    /** Where the number of bytes per frame is recorded, or {@code null} if it isn't. */
+    private final FrameStatistics statistics;
+
+    /** The most columns the screen may have, i.e. the width of the terminal. */
+    private int maxColumns = Integer.MAX_VALUE;
+    /** The most rows the screen may have, i.e. the height of the terminal. */
+    private int maxRows = Integer.MAX_VALUE;
+
+    /** The size of the {@link GameBoard} the screen was last {@link #fitTo(IntVector2) fitted to}. */
+    private IntVector2 fittedTo = IntVector2.ZERO;
+
+    /** The {@link GameBoard} x coordinate at the left edge of the screen. */
+    private int viewX = 0;
+    /** The {@link GameBoard} y coordinate at the top edge of the playing field. */
+    private int viewY = 0;
+    /** The number of cells across the playing field. */
+    private int viewWidth = 0;
+    /** The number of cells down the playing field. */
+    private int viewHeight = 0;
+
+    /**
+     * The colors of the cells of the playing field, as packed RGB values, in
+     * {@link Layout#HALF_BLOCKS} mode.  They are packed onto the screen two rows
+     * at a time once the playing field has been drawn.
+     */
+    private int[] pixels = new int[0];
+    /** The width of {@link #pixels}. */
+    private int pixelsWidth = 0;
+    /** The height of {@link #pixels}. */
+    private int pixelsHeight = 0;
+
+    /**
+     * @param view The {@link TerminalView} associated with this {@link TerminalIoEngine}.
+     * @param screen The screen to draw onto.  It is {@link TerminalScreen#resize(int, int) resized}
+     *               to fit the {@link GameBoard} once there is one to draw.
+     * @param layout How the {@link GameBoard} is fitted onto the screen.
+     * @param statistics Where the number of bytes per frame is recorded, or {@code null} if it isn't.
+     * @see Layout#columnsFor(IntVector2)
+     * @see Layout#rowsFor(IntVector2)
+     */
+    public TerminalIoEngine(TerminalView view, TerminalScreen screen, Layout layout, FrameStatistics statistics)
+    {
+        super(view);
+        this.screen     = screen;
+        this.layout     = layout;
+        this.statistics = statistics;
+    }
+
+    /**
+     * @return The screen everything is drawn onto.
+     */
+    public TerminalScreen getScreen()
+    {
+        return screen;
+    }
+
+    /**
+     * Keeps the screen within the size of the terminal.  A {@link GameBoard} that doesn't fit
+     * is scrolled, so that the {@link Snake}'s head stays in view.
+     * @param columns The width of the terminal, in character cells.
+     * @param rows The height of the terminal, in character cells.
+     */
+    public void limitTo(int columns, int rows)
+    {
+        maxColumns = columns;
+        maxRows    = rows;
+        refit(fittedTo);
+    }
+
+    /**
+     * Sizes the screen for a {@link GameBoard}, within the limits of the terminal, unless
+     * it already is, e.g. when the next {@link com.thepeoplescoder.snake.state.Level} is a
+     * different size than the last one.
+     * @param boardSize The size of the {@link GameBoard}.
+     */
+    public void fitTo(IntVector2 boardSize)
+    {
+        if (!boardSize.equals(fittedTo))
+        {
+            refit(boardSize);
+        }
+    }
+
+    /**
+     * Sizes the screen for a {@link GameBoard}, within the limits of the terminal.
+     * @param boardSize The size of the {@link GameBoard}.
+     */
+    private void refit(IntVector2 boardSize)
+    {
+        fittedTo = boardSize;
+        final int columns = Math.min(layout.columnsFor(boardSize), maxColumns);
+        final int rows    = Math.min(layout.rowsFor(boardSize), maxRows);
+        screen.resize(columns, rows);
+        viewWidth  = Math.max(0, Math.min(boardSize.getX(), layout.cellsAcross(columns)));
+        viewHeight = Math.max(0, Math.min(boardSize.getY(), layout.cellsDown(rows)));
+    }
+
+    /**
+     * Scrolls the playing field so that a position is in the middle of it, as far as the
+     * edges of the {@link GameBoard} allow.
+     * @param focus The {@link GameBoard} position to keep in view.
+     * @param board The {@link GameBoard}.
+     */
+    private void follow(IntVector2 focus, GameBoard board)
+    {
+        viewX = Math.max(0, Math.min(focus.getX() - viewWidth / 2, board.getWidth() - viewWidth));
+        viewY = Math.max(0, Math.min(focus.getY() - viewHeight / 2, board.getHeight() - viewHeight));
+    }
+
+    /**
+     * @param board A {@link GameBoard}.
+     * @return {@code true} if only part of it fits on the screen.
+     */
+    private boolean isScrolling(GameBoard board)
+    {
+        return viewWidth < board.getWidth() || viewHeight < board.getHeight();
+    }
+
+    public TerminalIoEngine setColor(Palette color)
+    {
+        this.currentRgb = color.getRgb();
+        return this;
+    }
+
+    /**
+     * Starts a new frame by blanking the back buffer of the screen.
+     */
+    public void beginFrame()
+    {
+        screen.clear(Palette.BACKGROUND.getRgb());
+    }
+
+    /**
+     * Shows the frame that was drawn since {@link #beginFrame()}.
+     * @return The number of bytes written to the terminal.
+     */
+    public int endFrame()
+    {
+        try
+        {
+            final int naiveBytes = statistics != null ? screen.naiveFrameBytes() : 0;
+            final int bytes = screen.flush();
+            if (statistics != null)
+            {
+                statistics.record(bytes, naiveBytes);
+            }
+            return bytes;
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Draws the playing field.  In {@link Layout#HALF_BLOCKS} mode, the cells are
+     * first drawn as pixels, and then packed onto the screen two rows at a time.<p>
+     *
+     * A {@link GameBoard} that doesn't fit on the screen is scrolled to keep the
+     * {@link Snake}'s head in the middle, and only the part of it in view is drawn.
+     * @param board The {@link GameBoard} to draw.
+     * @param snake The {@link Snake} to draw.
+     */
+    @Override
+    public void drawPlayfield(GameBoard board, Snake snake)
+    {
+        fitTo(board.getSize());
+        follow(snake.getHead(), board);
+
+        if (layout != Layout.HALF_BLOCKS)
+        {
+            drawVisiblePart(board, snake);
+            return;
+        }
+
+        pixelsWidth  = viewWidth;
+        pixelsHeight = viewHeight;
+        if (pixels.length != pixelsWidth * pixelsHeight)
+        {
+            pixels = new int[pixelsWidth * pixelsHeight];
+        }
+        final int background = Palette.BACKGROUND.getRgb();
+        Arrays.fill(pixels, background);
+
+        drawVisiblePart(board, snake);
+
+        for (int y = 0; y < pixelsHeight; y += 2)
+        {
+            final int row = y / 2 + SCORE_ROWS;
+            for (int x = 0; x < pixelsWidth; x++)
+            {
+                final int top    = pixels[y * pixelsWidth + x];
+                final int bottom = y + 1 < pixelsHeight ? pixels[(y + 1) * pixelsWidth + x] : background;
+                screen.putHalfBlocks(x, row, top, bottom);
+            }
+        }
+    }
+
+    /**
+     * Draws the part of the playing field that is in view.
+     * @param board The {@link GameBoard} to draw.
+     * @param snake The {@link Snake} to draw.
+     */
+    private void drawVisiblePart(GameBoard board, Snake snake)
+    {
+        if (!isScrolling(board))
+        {
+            super.drawPlayfield(board, snake);
+            return;
+        }
+        board.drawRegion(this, viewX, viewY, viewX + viewWidth - 1, viewY + viewHeight - 1);
+        draw(snake);
+        drawGrid();
+    }
+
+    public void drawCellAt(IntVector2 position)
+    {
+        drawCellAt(position.getX(), position.getY());
+    }
+
+    @Override
+    public void drawCellAt(int cellX, int cellY)
+    {
+        final int rgb = currentRgb;
+        final int viewCellX = cellX - viewX;
+        final int viewCellY = cellY - viewY;
+        if (viewCellX < 0 || viewCellY < 0 || viewCellX >= viewWidth || viewCellY >= viewHeight) { return; }
+
+        if (layout == Layout.HALF_BLOCKS)
+        {
+            if (viewCellX < pixelsWidth && viewCellY < pixelsHeight)
+            {
+                pixels[viewCellY * pixelsWidth + viewCellX] = rgb;
+            }
+            return;
+        }
+
+        final int x = viewCellX * COLUMNS_PER_CELL;
+        final int y = viewCellY + SCORE_ROWS;
+        for (int n = 0; n < COLUMNS_PER_CELL; n++)
+        {
+            screen.put(x + n, y, ' ', rgb, rgb);
+        }
+    }
+
+    public void drawScore(Score score)
+    {
+        final String label = "Score: ";
+        screen.print(0, 0, label, Palette.SCORE.getRgb());
+        screen.print(label.length(), 0, score.toString(), Palette.SCORE_VALUE.getRgb());
+    }
+
+    public void drawGrid()
+    {
+    }
+
+    public void drawGameOver()
+    {
+        final int middle = screen.getRows() / 2;
+        drawStringAtCenter(Shared.Messages.gameOver, middle, Palette.GAME_OVER);
+        drawStringAtCenter(getGameState().getLittleGameOverMessage(), middle + 1, Palette.LITTLE_GAME_OVER);
+    }
+
+    /**
+     * Draws a string horizontally centered on the screen.
+     * @param s The string to draw.
+     * @param row The row to draw it on.
+     * @param color The color of the string.
+     */
+    private void drawStringAtCenter(String s, int row, Palette color)
+    {
+        screen.print((screen.getColumns() - s.length()) / 2, row, s, color.getRgb());
+    }
+}
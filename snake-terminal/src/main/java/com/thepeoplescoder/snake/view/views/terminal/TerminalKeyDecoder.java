@@ -0,0 +1,114 @@
+package com.thepeoplescoder.snake.view.views.terminal;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Turns the bytes a terminal sends for key presses into key codes, one byte at a time.<p>
+ *
+ * Keys that send a plain character are reported as that character.  Arrow keys
+ * send escape sequences ({@code ESC [ A}, or {@code ESC O A} in application mode),
+ * which may be split across reads, so the decoder keeps track of how much of a
+ * sequence it has seen so far.  A lone {@code ESC} can't be told apart from the
+ * start of a sequence until more input arrives, so it is only reported as
+ * {@link #KEY_ESCAPE} once {@link #endOfInput()} says nothing else followed it.
+ */
+public class TerminalKeyDecoder
+{
+    /** The key code of the escape key. */
+    public static final int KEY_ESCAPE = 0x1B;
+    /** The key code of the up arrow. */
+    public static final int KEY_UP     = 0x10000 | 'A';
+    /** The key code of the down arrow. */
+    public static final int KEY_DOWN   = 0x10000 | 'B';
+    /** The key code of the right arrow. */
+    public static final int KEY_RIGHT  = 0x10000 | 'C';
+    /** The key code of the left arrow. */
+    public static final int KEY_LEFT   = 0x10000 | 'D';
+
+    /** How far into an escape sequence the decoder is. */
+    private enum State
+    {
+        /** Not in an escape sequence. */
+        GROUND,
+        /** An {@code ESC} was seen. */
+        ESCAPE,
+        /** An {@code ESC [} or {@code ESC O} was seen, possibly followed by parameters. */
+        SEQUENCE
+    }
+
+    /** Where decoded key codes are sent. */
+    private final IntConsumer keys;
+
+    /** How far into an escape sequence the decoder is. */
+    private State state = State.GROUND;
+
+    /**
+     * @param keys Where decoded key codes are sent.
+     */
+    public TerminalKeyDecoder(IntConsumer keys)
+    {
+        this.keys = keys;
+    }
+
+    /**
+     * Decodes the next byte of input.
+     * @param b The byte.
+     */
+    public void accept(byte b)
+    {
+        final int c = b & 0xFF;
+        switch (state)
+        {
+            case GROUND:
+                if (c == KEY_ESCAPE)
+                {
+                    state = State.ESCAPE;
+                }
+                else
+                {
+                    keys.accept(c);
+                }
+                break;
+
+            case ESCAPE:
+                if (c == '[' || c == 'O')
+                {
+                    state = State.SEQUENCE;
+                }
+                else
+                {
+                    // The escape key was pressed on its own, and then another key.
+                    keys.accept(KEY_ESCAPE);
+                    state = State.GROUND;
+                    accept(b);
+                }
+                break;
+
+            case SEQUENCE:
+                // Parameters and intermediates (e.g. the "1;5" of a modified arrow key) are skipped;
+                // anything from '@' to '~' ends the sequence.
+                if (c >= '@' && c <= '~')
+                {
+                    if (c >= 'A' && c <= 'D')
+                    {
+                        keys.accept(0x10000 | c);
+                    }
+                    state = State.GROUND;
+                }
+                break;
+        }
+    }
+
+    /**
+     * Tells the decoder that no more input is available for now, so that a pending
+     * lone {@code ESC} is reported as {@link #KEY_ESCAPE}.
+     */
+    public void endOfInput()
+    {
+        if (state == State.ESCAPE)
+        {
+            keys.accept(KEY_ESCAPE);
+            state = State.GROUND;
+        }
+    }
+}
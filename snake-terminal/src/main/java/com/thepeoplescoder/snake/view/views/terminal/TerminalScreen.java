@@ -0,0 +1,525 @@
+package com.thepeoplescoder.snake.view.views.terminal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * A double-buffered ANSI terminal screen.<p>
+ *
+ * Drawing only touches the back buffer.  {@link #flush()} compares it to the
+ * front buffer (what the terminal is currently showing), and emits only the
+ * cursor movements, color changes and characters needed for the cells that
+ * differ.  The whole frame is encoded into one reusable {@link ByteBuffer} and
+ * handed to the output channel in a single write, which keeps the number of
+ * bytes (and packets, over SSH) per frame as small as possible.<p>
+ *
+ * Colors are only emitted when they differ from the terminal's current ones, so
+ * a run of cells with the same colors shares a single escape sequence.  Cells
+ * set with {@link #putHalfBlocks(int, int, int, int)} show two pixels each, and
+ * are drawn with whichever of the upper and lower half blocks continues the
+ * current run of colors.
+ */
+public class TerminalScreen
+{
+    /** The escape character, which starts every control sequence. */
+    private static final byte ESC = 0x1B;
+
+    /** Marks a color that is unknown, e.g. before anything has been drawn. */
+    private static final int UNKNOWN = -1;
+
+    /** The upper half block, whose foreground color is the top pixel. */
+    public static final char UPPER_HALF_BLOCK = '\u2580';
+    /** The lower half block, whose foreground color is the bottom pixel. */
+    public static final char LOWER_HALF_BLOCK = '\u2584';
+
+    /** The width of the screen, in character cells. */
+    private int columns;
+    /** The height of the screen, in character cells. */
+    private int rows;
+
+    /** The characters of the frame being drawn. */
+    private char[] backGlyphs;
+    /** The foreground colors of the frame being drawn, as quantized by the {@link ColorEncoder}. */
+    private int[] backForegrounds;
+    /** The background colors of the frame being drawn, as quantized by the {@link ColorEncoder}. */
+    private int[] backBackgrounds;
+
+    /** The characters the terminal is showing. */
+    private char[] frontGlyphs;
+    /** The foreground colors the terminal is showing, as quantized by the {@link ColorEncoder}. */
+    private int[] frontForegrounds;
+    /** The background colors the terminal is showing, as quantized by the {@link ColorEncoder}. */
+    private int[] frontBackgrounds;
+
+    /** Where the encoded frames are written to. */
+    private final WritableByteChannel channel;
+    /** Turns colors into escape sequences. */
+    private final ColorEncoder colors;
+    /** The buffer that every frame is encoded into. */
+    private ByteBuffer buffer;
+
+    /** {@code true} if the front buffer can't be trusted, and the next frame must be sent in full. */
+    private boolean fullRedraw = true;
+    /** {@code true} if the screen was resized, and the terminal must be cleared before the next frame. */
+    private boolean clearPending = false;
+    /** The column of the terminal's cursor, or {@link #UNKNOWN}. */
+    private int cursorX = UNKNOWN;
+    /** The row of the terminal's cursor, or {@link #UNKNOWN}. */
+    private int cursorY = UNKNOWN;
+    /** The terminal's current foreground color, or {@link #UNKNOWN}. */
+    private int currentForeground = UNKNOWN;
+    /** The terminal's current background color, or {@link #UNKNOWN}. */
+    private int currentBackground = UNKNOWN;
+
+    /**
+     * @param columns The width of the screen, in character cells.
+     * @param rows The height of the screen, in character cells.
+     * @param channel Where the encoded frames are written to.
+     * @param colors Turns colors into escape sequences.
+     */
+    public TerminalScreen(int columns, int rows, WritableByteChannel channel, ColorEncoder colors)
+    {
+        this.channel = channel;
+        this.colors  = colors;
+        allocate(columns, rows);
+        this.buffer  = ByteBuffer.allocateDirect(columns * rows * 16 + 256);
+    }
+
+    /**
+     * Changes the size of the screen, e.g. for a {@link com.thepeoplescoder.snake.state.GameBoard}
+     * of a different size.  The back buffer is blank afterwards, and the next {@link #flush()}
+     * clears the terminal and sends the frame in full, so nothing of the old size is left behind.
+     * @param columns The new width of the screen, in character cells.
+     * @param rows The new height of the screen, in character cells.
+     */
+    public synchronized void resize(int columns, int rows)
+    {
+        if (columns == this.columns && rows == this.rows) { return; }
+
+        allocate(columns, rows);
+        forgetTerminalState();
+        clearPending = true;
+    }
+
+    /**
+     * Allocates the back and front buffers.
+     * @param columns The width of the screen, in character cells.
+     * @param rows The height of the screen, in character cells.
+     */
+    private void allocate(int columns, int rows)
+    {
+        this.columns          = columns;
+        this.rows             = rows;
+        this.backGlyphs       = new char[columns * rows];
+        this.backForegrounds  = new int[columns * rows];
+        this.backBackgrounds  = new int[columns * rows];
+        this.frontGlyphs      = new char[columns * rows];
+        this.frontForegrounds = new int[columns * rows];
+        this.frontBackgrounds = new int[columns * rows];
+    }
+
+    /**
+     * @return The width of the screen, in character cells.
+     */
+    public int getColumns()
+    {
+        return columns;
+    }
+
+    /**
+     * @return The height of the screen, in character cells.
+     */
+    public int getRows()
+    {
+        return rows;
+    }
+
+    /**
+     * Fills the back buffer with blank cells.
+     * @param background The background color, as a packed RGB value.
+     */
+    public void clear(int background)
+    {
+        final int color = colors.quantize(background);
+        Arrays.fill(backGlyphs, ' ');
+        Arrays.fill(backForegrounds, color);
+        Arrays.fill(backBackgrounds, color);
+    }
+
+    /**
+     * Sets a cell of the back buffer.  Cells outside of the screen are ignored.
+     * @param x The column.
+     * @param y The row.
+     * @param glyph The character to show.
+     * @param foreground The foreground color, as a packed RGB value.
+     * @param background The background color, as a packed RGB value.
+     */
+    public void put(int x, int y, char glyph, int foreground, int background)
+    {
+        if (x < 0 || y < 0 || x >= columns || y >= rows) { return; }
+
+        set(y * columns + x, glyph, colors.quantize(foreground), colors.quantize(background));
+    }
+
+    /**
+     * Sets a cell of the back buffer to show two pixels, one above the other.
+     * Cells outside of the screen are ignored.
+     * @param x The column.
+     * @param y The row.
+     * @param top The color of the top pixel, as a packed RGB value.
+     * @param bottom The color of the bottom pixel, as a packed RGB value.
+     */
+    public void putHalfBlocks(int x, int y, int top, int bottom)
+    {
+        if (x < 0 || y < 0 || x >= columns || y >= rows) { return; }
+
+        final int topColor    = colors.quantize(top);
+        final int bottomColor = colors.quantize(bottom);
+        if (topColor == bottomColor)
+        {
+            set(y * columns + x, ' ', topColor, topColor);
+        }
+        else
+        {
+            set(y * columns + x, UPPER_HALF_BLOCK, topColor, bottomColor);
+        }
+    }
+
+    /**
+     * Sets a cell of the back buffer.
+     * @param i The index of the cell.
+     * @param glyph The character to show.
+     * @param foreground The foreground color, as quantized by the {@link ColorEncoder}.
+     * @param background The background color, as quantized by the {@link ColorEncoder}.
+     */
+    private void set(int i, char glyph, int foreground, int background)
+    {
+        backGlyphs[i]      = glyph;
+        backForegrounds[i] = foreground;
+        backBackgrounds[i] = background;
+    }
+
+    /**
+     * Writes text into the back buffer, keeping the background colors already there.
+     * @param x The column of the first character.
+     * @param y The row.
+     * @param text The text to write.
+     * @param foreground The foreground color, as a packed RGB value.
+     */
+    public void print(int x, int y, String text, int foreground)
+    {
+        if (y < 0 || y >= rows) { return; }
+
+        final int color = colors.quantize(foreground);
+        for (int n = 0; n < text.length(); n++)
+        {
+            if (x + n >= 0 && x + n < columns)
+            {
+                final int i = y * columns + x + n;
+                set(i, text.charAt(n), color, backBackgrounds[i]);
+            }
+        }
+    }
+
+    /**
+     * Makes the terminal show the back buffer, sending only what changed since the last flush.
+     * @return The number of bytes written to the terminal.
+     * @throws IOException If writing to the terminal fails.
+     */
+    public synchronized int flush() throws IOException
+    {
+        buffer.clear();
+        if (clearPending)
+        {
+            putAscii("\u001B[0m\u001B[2J");
+            clearPending = false;
+        }
+        for (int y = 0; y < rows; y++)
+        {
+            for (int x = 0; x < columns; x++)
+            {
+                final int i = y * columns + x;
+
+                // The foreground color of a blank cell can't be seen, so it doesn't count as a change.
+                final boolean blank = backGlyphs[i] == ' ';
+                if (!fullRedraw && backGlyphs[i] == frontGlyphs[i] && backBackgrounds[i] == frontBackgrounds[i] &&
+                    (blank || backForegrounds[i] == frontForegrounds[i]))
+                {
+                    continue;
+                }
+                ensureRoom(64);
+                moveCursorTo(x, y);
+                if (blank)
+                {
+                    setColors(currentForeground != UNKNOWN ? currentForeground : backForegrounds[i], backBackgrounds[i]);
+                    putChar(buffer, ' ');
+                }
+                else if (backGlyphs[i] == UPPER_HALF_BLOCK && swappingContinuesRun(backForegrounds[i], backBackgrounds[i]))
+                {
+                    // The same two pixels, drawn with the colors the other way around.
+                    setColors(backBackgrounds[i], backForegrounds[i]);
+                    putChar(buffer, LOWER_HALF_BLOCK);
+                }
+                else
+                {
+                    setColors(backForegrounds[i], backBackgrounds[i]);
+                    putChar(buffer, backGlyphs[i]);
+                }
+                advanceCursor();
+
+                frontGlyphs[i]      = backGlyphs[i];
+                frontForegrounds[i] = backForegrounds[i];
+                frontBackgrounds[i] = backBackgrounds[i];
+            }
+        }
+        fullRedraw = false;
+        return write();
+    }
+
+    /**
+     * Works out how many bytes the back buffer would take if every cell were sent
+     * on its own, i.e. with a cursor position, both colors, and the character.
+     * This is what {@link #flush()} is measured against.
+     * @return The number of bytes.
+     */
+    public int naiveFrameBytes()
+    {
+        final ByteBuffer scratch = ByteBuffer.allocate(64);
+        int bytes = 0;
+        for (int y = 0; y < rows; y++)
+        {
+            for (int x = 0; x < columns; x++)
+            {
+                final int i = y * columns + x;
+                scratch.clear();
+                putCursorPosition(scratch, x, y);
+                scratch.put(ESC).put((byte)'[');
+                colors.putForeground(scratch, backForegrounds[i]);
+                scratch.put((byte)';');
+                colors.putBackground(scratch, backBackgrounds[i]);
+                scratch.put((byte)'m');
+                putChar(scratch, backGlyphs[i]);
+                bytes += scratch.position();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Prepares the terminal for drawing: switches to the alternate screen, hides the cursor,
+     * and clears the screen.
+     * @throws IOException If writing to the terminal fails.
+     */
+    public synchronized void open() throws IOException
+    {
+        buffer.clear();
+        putAscii("\u001B[?1049h\u001B[?25l\u001B[2J");
+        forgetTerminalState();
+        write();
+    }
+
+    /**
+     * Restores the terminal: resets colors, shows the cursor, and leaves the alternate screen.
+     * @throws IOException If writing to the terminal fails.
+     */
+    public synchronized void close() throws IOException
+    {
+        buffer.clear();
+        putAscii("\u001B[0m\u001B[?25h\u001B[?1049l");
+        forgetTerminalState();
+        write();
+    }
+
+    /**
+     * Forgets everything that is known about the terminal, so that the next frame is sent in full.
+     */
+    private void forgetTerminalState()
+    {
+        fullRedraw = true;
+        cursorX = cursorY = UNKNOWN;
+        currentForeground = currentBackground = UNKNOWN;
+    }
+
+    /**
+     * Writes the contents of {@link #buffer} to the terminal.
+     * @return The number of bytes written.
+     * @throws IOException If writing to the terminal fails.
+     */
+    private int write() throws IOException
+    {
+        buffer.flip();
+        final int bytes = buffer.remaining();
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+        return bytes;
+    }
+
+    /**
+     * Makes sure {@link #buffer} has room for at least the given number of bytes,
+     * growing it (and keeping its contents) if it doesn't.
+     * @param bytes The number of bytes needed.
+     */
+    private void ensureRoom(int bytes)
+    {
+        if (buffer.remaining() >= bytes) { return; }
+
+        final ByteBuffer bigger = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        buffer.flip();
+        bigger.put(buffer);
+        buffer = bigger;
+    }
+
+    /**
+     * Emits the shortest known way of moving the cursor, if it isn't already in place.
+     * @param x The column to move to.
+     * @param y The row to move to.
+     */
+    private void moveCursorTo(int x, int y)
+    {
+        if (x == cursorX && y == cursorY) { return; }
+
+        if (y == cursorY && x > cursorX)
+        {
+            // Cursor forward: ESC [ n C
+            buffer.put(ESC).put((byte)'[');
+            putDecimal(x - cursorX);
+            buffer.put((byte)'C');
+        }
+        else
+        {
+            putCursorPosition(buffer, x, y);
+        }
+        cursorX = x;
+        cursorY = y;
+    }
+
+    /**
+     * Emits an absolute cursor movement.
+     * @param buffer The buffer to emit the movement into.
+     * @param x The column to move to.
+     * @param y The row to move to.
+     */
+    private static void putCursorPosition(ByteBuffer buffer, int x, int y)
+    {
+        // Cursor position (1-based): ESC [ row ; column H
+        buffer.put(ESC).put((byte)'[');
+        putDecimal(buffer, y + 1);
+        buffer.put((byte)';');
+        putDecimal(buffer, x + 1);
+        buffer.put((byte)'H');
+    }
+
+    /**
+     * Accounts for the cursor moving one cell to the right after a character was written.
+     * Writing into the last column leaves the cursor in a terminal-dependent state, so
+     * its position is forgotten instead.
+     */
+    private void advanceCursor()
+    {
+        cursorX = cursorX + 1 < columns ? cursorX + 1 : UNKNOWN;
+    }
+
+    /**
+     * @param top The color of the top pixel of a half block cell.
+     * @param bottom The color of the bottom pixel of a half block cell.
+     * @return {@code true} if drawing the cell as a {@link #LOWER_HALF_BLOCK} needs fewer
+     *         color changes than drawing it as an {@link #UPPER_HALF_BLOCK}.
+     */
+    private boolean swappingContinuesRun(int top, int bottom)
+    {
+        final int upperChanges = (top != currentForeground ? 1 : 0) + (bottom != currentBackground ? 1 : 0);
+        final int lowerChanges = (bottom != currentForeground ? 1 : 0) + (top != currentBackground ? 1 : 0);
+        return lowerChanges < upperChanges;
+    }
+
+    /**
+     * Emits a single escape sequence for whichever colors differ from the terminal's current ones.
+     * @param foreground The foreground color, as quantized by the {@link ColorEncoder}.
+     * @param background The background color, as quantized by the {@link ColorEncoder}.
+     */
+    private void setColors(int foreground, int background)
+    {
+        final boolean foregroundChanged = foreground != currentForeground;
+        final boolean backgroundChanged = background != currentBackground;
+        if (!foregroundChanged && !backgroundChanged) { return; }
+
+        buffer.put(ESC).put((byte)'[');
+        if (foregroundChanged)
+        {
+            colors.putForeground(buffer, foreground);
+        }
+        if (foregroundChanged && backgroundChanged)
+        {
+            buffer.put((byte)';');
+        }
+        if (backgroundChanged)
+        {
+            colors.putBackground(buffer, background);
+        }
+        buffer.put((byte)'m');
+
+        currentForeground = foreground;
+        currentBackground = background;
+    }
+
+    /**
+     * Emits a character, encoded as UTF-8.
+     * @param buffer The buffer to emit the character into.
+     * @param c The character.
+     */
+    private static void putChar(ByteBuffer buffer, char c)
+    {
+        if (c < 0x80)
+        {
+            buffer.put((byte)c);
+        }
+        else if (c < 0x800)
+        {
+            buffer.put((byte)(0xC0 | (c >> 6)))
+                  .put((byte)(0x80 | (c & 0x3F)));
+        }
+        else
+        {
+            buffer.put((byte)(0xE0 | (c >> 12)))
+                  .put((byte)(0x80 | ((c >> 6) & 0x3F)))
+                  .put((byte)(0x80 | (c & 0x3F)));
+        }
+    }
+
+    /**
+     * Emits a string consisting only of ASCII characters.
+     * @param s The string.
+     */
+    private void putAscii(String s)
+    {
+        ensureRoom(s.length());
+        s.chars().forEach(c -> buffer.put((byte)c));
+    }
+
+    /**
+     * Emits a non-negative number in decimal, without allocating a string for it.
+     * @param n The number.
+     */
+    private void putDecimal(int n)
+    {
+        putDecimal(buffer, n);
+    }
+
+    /**
+     * Emits a non-negative number in decimal, without allocating a string for it.
+     * @param buffer The buffer to emit the number into.
+     * @param n The number.
+     */
+    static void putDecimal(ByteBuffer buffer, int n)
+    {
+        if (n >= 10)
+        {
+            putDecimal(buffer, n / 10);
+        }
+        buffer.put((byte)('0' + n % 10));
+    }
+}
@@ -0,0 +1,206 @@
+package com.thepeoplescoder.snake.view.views.terminal;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.thepeoplescoder.snake.Shared;
+import com.thepeoplescoder.snake.math.IntVector2;
+import com.thepeoplescoder.snake.state.GameState;
+import com.thepeoplescoder.snake.view.GameView;
+
+/**
+ * This class represents a View where the game is played on an ANSI terminal.<p>
+ *
+ * All game logic, input and drawing happens on a single thread, once every
+ * {@link Shared.Settings.Game#delayMillis} milliseconds.  Each tick first drains
+ * the keys pressed since the previous one (see {@link TerminalInput}), so input
+ * is never more than one tick old when it is handled.
+ */
+public class TerminalView extends GameView
+{
+    /** The {@link TerminalIoEngine.Layout} picked by {@link Shared.Settings.View.Terminal#halfBlocks}. */
+    public static final TerminalIoEngine.Layout DEFAULT_LAYOUT = Shared.Settings.View.Terminal.halfBlocks
+        ? TerminalIoEngine.Layout.HALF_BLOCKS
+        : TerminalIoEngine.Layout.FULL_CELLS;
+
+    /** The {@link ColorEncoder} picked by {@link Shared.Settings.View.Terminal#trueColor}. */
+    public static final ColorEncoder DEFAULT_COLORS = Shared.Settings.View.Terminal.trueColor
+        ? ColorEncoder.TRUE_COLOR
+        : ColorEncoder.PALETTE_256;
+
+    /** Standard output, written to without going through {@link System#out}'s buffering. */
+    private final FileChannel stdout = new FileOutputStream(FileDescriptor.out).getChannel();
+
+    private final TerminalIoEngine ioEngine;
+
+    /** {@code true} once the terminal has been restored. */
+    private final AtomicBoolean restored = new AtomicBoolean(false);
+
+    /** Reads key presses from the terminal. */
+    private final TerminalInput input = new TerminalInput(this);
+
+    /** Where the number of bytes per frame is recorded, or {@code null} if it isn't. */
+    private final FrameStatistics statistics;
+
+    /** Runs the game loop. */
+    private final ScheduledExecutorService gameLoop = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread t = new Thread(r, "snake-game-loop");
+        t.setDaemon(false);
+        return t;
+    });
+
+    /**
+     * Constructor for a {@link TerminalView}.
+     * @param initialState The initial {@link GameState}.
+     */
+    public TerminalView(GameState initialState)
+    {
+        this(initialState, DEFAULT_LAYOUT, DEFAULT_COLORS, false);
+    }
+
+    /**
+     * Constructor for a {@link TerminalView}.
+     * @param initialState The initial {@link GameState}.
+     * @param layout How the {@link com.thepeoplescoder.snake.state.GameBoard} is fitted onto the terminal.
+     * @param colors How colors are sent to the terminal.
+     * @param measureOutput {@code true} to report the number of bytes sent per frame when the game ends.
+     */
+    public TerminalView(GameState initialState, TerminalIoEngine.Layout layout, ColorEncoder colors, boolean measureOutput)
+    {
+        super(initialState);
+        final IntVector2 boardSize = initialState.getBoard().getSize();
+        statistics = measureOutput ? new FrameStatistics() : null;
+        ioEngine = new TerminalIoEngine(this, new TerminalScreen(0, 0, stdout, colors), layout, statistics);
+
+        // The screen is kept within the terminal before it is sized, as a big board would need a huge one.
+        final IntVector2 terminalSize = input.getTerminalSize();
+        if (terminalSize != null)
+        {
+            ioEngine.limitTo(terminalSize.getX(), terminalSize.getY());
+        }
+        ioEngine.fitTo(boardSize);
+    }
+
+    /**
+     * Sets the associated {@link GameState}, fitting the screen to its
+     * {@link com.thepeoplescoder.snake.state.GameBoard} again if that is a different size,
+     * e.g. once the next level is loaded from a file.
+     * @param state The {@link TerminalView}'s new state.
+     */
+    @Override
+    public void setGameState(GameState state)
+    {
+        super.setGameState(state);
+
+        // The I/O engine is null while the superclass constructor sets the initial state.
+        if (ioEngine != null)
+        {
+            ioEngine.fitTo(state.getBoard().getSize());
+        }
+    }
+
+    /**
+     * @return the {@link TerminalIoEngine} associated with this {@link TerminalView}.
+     */
+    public TerminalIoEngine getIoEngine()
+    {
+        return ioEngine;
+    }
+
+    /**
+     * Starts a frame by blanking the back buffer of the terminal.
+     */
+    @Override
+    protected void beginFrame()
+    {
+        ioEngine.beginFrame();
+    }
+
+    /**
+     * Shows the frame, by sending what changed to the terminal.
+     */
+    @Override
+    protected void endFrame()
+    {
+        ioEngine.endFrame();
+    }
+
+    /**
+     * Displays the sequence of {@link GameState}s, until the game is done.
+     */
+    public void displayStateSequence()
+    {
+        try
+        {
+            ioEngine.getScreen().open();
+            input.open();
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException("could not set up the terminal.", e);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(this::restoreTerminal));
+
+        drawCurrentState();
+        gameLoop.scheduleAtFixedRate(this::tick,
+            Shared.Settings.Game.delayMillis, Shared.Settings.Game.delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Handles the keys pressed since the last tick, advances the game by one step, and draws the result.
+     */
+    private void tick()
+    {
+        try
+        {
+            input.poll();
+            if (getGameState().isDone())
+            {
+                gameLoop.shutdown();
+                System.exit(0);
+            }
+            advance();
+            drawCurrentState();
+        }
+        catch (RuntimeException e)
+        {
+            // An exception would silently cancel the scheduled task, leaving a frozen screen.
+            restoreTerminal();
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Puts the terminal back the way it was before the game started, and reports
+     * what was measured if asked to.  Only the first call does anything.
+     */
+    private void restoreTerminal()
+    {
+        if (!restored.compareAndSet(false, true)) { return; }
+
+        input.close();
+        try
+        {
+            ioEngine.getScreen().close();
+        }
+        catch (IOException e)
+        {
+            // Nothing sensible left to do; the terminal is probably gone.
+        }
+        if (statistics != null)
+        {
+            System.err.println(statistics);
+        }
+        if (isPrintingStatisticsOnExit())
+        {
+            printStatistics(System.err);
+        }
+    }
+}